@@ -0,0 +1,39 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.comm;
+
+/**
+ * Priority of a message waiting to be published. Higher priority messages are published
+ * first, though a lower priority message is published after a burst of higher priority
+ * messages, so that it is not starved. Constants are in order of decreasing priority.
+ */
+public enum MessagePriority {
+
+    /**
+     * Urgent messages, such as state changes and undeployments.
+     */
+    HIGH,
+
+    /**
+     * Other messages, such as deployments and registration updates.
+     */
+    NORMAL
+}
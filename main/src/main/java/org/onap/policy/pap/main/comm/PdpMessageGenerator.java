@@ -39,6 +39,7 @@ import org.onap.policy.pap.main.notification.DeploymentStatus;
 import org.onap.policy.pap.main.notification.PolicyNotifier;
 import org.onap.policy.pap.main.parameters.PapParameterGroup;
 import org.onap.policy.pap.main.service.PolicyStatusService;
+import org.onap.policy.pap.main.service.SubGroupPolicyCache;
 import org.onap.policy.pap.main.service.ToscaServiceTemplateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +74,9 @@ public class PdpMessageGenerator {
     @Autowired
     private ToscaServiceTemplateService toscaService;
 
+    @Autowired
+    private SubGroupPolicyCache policyCache;
+
     @Autowired
     private PolicyStatusService policyStatusService;
 
@@ -145,6 +149,31 @@ public class PdpMessageGenerator {
         return policies;
     }
 
+    /**
+     * Method to return a list of policies, using previously resolved policies if the
+     * subgroup's policy list has not changed since they were resolved. The policies are
+     * cached without their metadataSet, which is populated each time, as the node
+     * templates supplying it may be changed without changing the policies.
+     *
+     * @param pdpGroupName name of the group containing the subgroup
+     * @param subGroup PdpSubGroup to retrieve policies from
+     * @return a list of ToscaPolicy
+     **/
+    public List<ToscaPolicy> getToscaPolicies(final String pdpGroupName, final PdpSubGroup subGroup) {
+        List<ToscaPolicy> policies = policyCache.getPolicies(pdpGroupName, subGroup, this::resolveToscaPolicies);
+        return toscaService.withMetadataSet(policies);
+    }
+
+    private List<ToscaPolicy> resolveToscaPolicies(final PdpSubGroup subGroup) {
+        final List<ToscaPolicy> policies = new LinkedList<>();
+        for (final ToscaConceptIdentifier policyIdentifier : subGroup.getPolicies()) {
+            policies.addAll(
+                toscaService.getPolicyList(policyIdentifier.getName(), policyIdentifier.getVersion(), false));
+        }
+
+        return policies;
+    }
+
     protected PdpStateChange createPdpStateChangeMessage(final String pdpGroupName, final PdpSubGroup subGroup,
                                                          final String pdpInstanceId, final PdpState pdpState) {
 
@@ -171,8 +200,11 @@ public class PdpMessageGenerator {
      */
     protected void updateDeploymentStatus(final String pdpGroupName, final String pdpType, final String pdpInstanceId,
                                           PdpState pdpState, List<ToscaPolicy> policies) {
+        // don't interleave with the processing of PDP responses
+        policyNotifier.awaitIdle();
+
         var deploymentStatus = new DeploymentStatus(policyStatusService);
-        deploymentStatus.loadByGroup(pdpGroupName);
+        deploymentStatus.loadByPdp(pdpGroupName, pdpInstanceId);
         if (pdpState.equals(PdpState.PASSIVE)) {
             deploymentStatus.deleteDeployment(pdpInstanceId);
         } else if (pdpState.equals(PdpState.ACTIVE)) {
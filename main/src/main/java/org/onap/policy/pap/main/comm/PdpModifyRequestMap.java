@@ -282,8 +282,7 @@ public class PdpModifyRequestMap {
                 PdpGroupFilter filter = PdpGroupFilter.builder().groupState(PdpState.ACTIVE).build();
                 List<PdpGroup> groups = pdpGroupService.getFilteredPdpGroups(filter);
                 List<PdpGroup> updates = new ArrayList<>(1);
-
-                var status = new DeploymentStatus(policyStatusService);
+                Map<String, Set<String>> expired = new HashMap<>();
 
                 Instant minAge = Instant.now().minusMillis(params.getMaxPdpAgeMs());
 
@@ -291,16 +290,21 @@ public class PdpModifyRequestMap {
                     Set<String> pdps = removeFromGroup(minAge, group);
                     if (!pdps.isEmpty()) {
                         updates.add(group);
-                        status.loadByGroup(group.getName());
-                        pdps.forEach(status::deleteDeployment);
+                        expired.put(group.getName(), pdps);
                     }
                 }
 
                 if (!updates.isEmpty()) {
                     pdpGroupService.updatePdpGroups(updates);
+                    expired.values().forEach(pdpStatusMessageHandler::forgetPdps);
+
+                    // don't interleave with the processing of PDP responses
+                    policyNotifier.awaitIdle();
 
+                    // delete the PDPs' status records in bulk, rather than one at a time
+                    var status = new DeploymentStatus(policyStatusService);
                     var notification = new PolicyNotification();
-                    status.flush(notification);
+                    expired.forEach((groupName, pdps) -> status.deletePdps(groupName, pdps, notification));
 
                     policyNotifier.publish(notification);
                 }
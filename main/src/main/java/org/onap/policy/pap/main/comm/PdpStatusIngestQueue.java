@@ -0,0 +1,267 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.comm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.onap.policy.models.pdp.concepts.PdpStatus;
+import org.onap.policy.pap.main.parameters.HeartbeatDropPolicy;
+import org.onap.policy.pap.main.parameters.PdpParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of PDP status messages awaiting processing. Messages are assigned to a
+ * lane by hashing the PDP name; each lane is processed by its own thread, thus messages
+ * from the same PDP are processed in order, while messages from different PDPs may be
+ * processed in parallel. Only the latest message from a given PDP is retained: a new
+ * message replaces any message from the same PDP that has not been processed yet,
+ * keeping its place in the queue. When a lane is full, a message is discarded as per
+ * the configured {@link HeartbeatDropPolicy}.
+ *
+ * <p/>If the number of lanes is zero, then messages are processed by the thread that
+ * offers them.
+ */
+public class PdpStatusIngestQueue {
+    private static final Logger logger = LoggerFactory.getLogger(PdpStatusIngestQueue.class);
+
+    private static final String DROPPED_METRIC = "pap_heartbeat_dropped";
+    private static final String REASON_TAG = "reason";
+
+    private final Consumer<PdpStatus> processor;
+    private final HeartbeatDropPolicy dropPolicy;
+    private final Lane[] lanes;
+
+    /**
+     * Number of messages currently queued, across all lanes.
+     */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /**
+     * Age, in milliseconds, of the last message that was taken from the queue.
+     */
+    private final AtomicLong lagMs = new AtomicLong();
+
+    private final Counter coalescedCounter;
+    private final Counter overflowCounter;
+
+    /**
+     * Constructs the object and starts the lane threads.
+     *
+     * @param name name of the queue, used to name the lane threads
+     * @param params PDP parameters
+     * @param meterRegistry registry with which the metrics are registered
+     * @param processor function that processes each message
+     */
+    public PdpStatusIngestQueue(String name, PdpParameters params, MeterRegistry meterRegistry,
+                                Consumer<PdpStatus> processor) {
+        this.processor = processor;
+        this.dropPolicy = params.getHeartbeatDropPolicy();
+
+        int nlanes = params.getHeartbeatLanes();
+        int laneCapacity = Math.max(1, (nlanes == 0 ? 0 : params.getHeartbeatQueueCapacity() / nlanes));
+
+        Gauge.builder("pap_heartbeat_queue_depth", depth, AtomicInteger::get)
+            .description("Number of PDP status messages waiting to be processed").register(meterRegistry);
+        Gauge.builder("pap_heartbeat_ingest_lag_ms", lagMs, AtomicLong::get)
+            .description("Age of the last PDP status message when it was taken from the queue")
+            .register(meterRegistry);
+
+        coalescedCounter = Counter.builder(DROPPED_METRIC).tag(REASON_TAG, "superseded")
+            .description("PDP status messages discarded without being processed").register(meterRegistry);
+        overflowCounter = Counter.builder(DROPPED_METRIC).tag(REASON_TAG, "overflow")
+            .description("PDP status messages discarded without being processed").register(meterRegistry);
+
+        this.lanes = new Lane[nlanes];
+        for (var index = 0; index < nlanes; ++index) {
+            lanes[index] = new Lane(laneCapacity);
+            startThread(name + "-" + index, lanes[index]);
+        }
+    }
+
+    /**
+     * Gets the number of messages currently queued.
+     *
+     * @return the number of queued messages
+     */
+    public int size() {
+        return depth.get();
+    }
+
+    /**
+     * Offers a message for processing.
+     *
+     * @param message message to be processed
+     */
+    public void offer(PdpStatus message) {
+        if (lanes.length == 0) {
+            lagMs.set(currentTimeMs() - message.getTimestampMs());
+            processor.accept(message);
+            return;
+        }
+
+        String pdpName = message.getName();
+        int hash = (pdpName == null ? 0 : pdpName.hashCode());
+        lanes[Math.floorMod(hash, lanes.length)].offer(message);
+    }
+
+    /**
+     * Stops the lane threads. Messages that are still queued are discarded.
+     */
+    public void stop() {
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+    }
+
+    // these may be overridden by junit tests
+
+    protected void startThread(String threadName, Runnable runner) {
+        final var thread = new Thread(runner, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * A single lane of the queue, holding the latest message from each PDP, in the order
+     * in which the PDPs were first queued.
+     */
+    private class Lane implements Runnable {
+        private final int capacity;
+        private final Map<String, PdpStatus> pending = new LinkedHashMap<>();
+        private boolean stopped = false;
+
+        public Lane(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Adds a message to the lane.
+         *
+         * @param message message to be added
+         */
+        public synchronized void offer(PdpStatus message) {
+            if (stopped) {
+                logger.warn("discarded status message from {} - queue is stopped", message.getName());
+                return;
+            }
+
+            if (pending.put(message.getName(), message) != null) {
+                // replaced an older message from the same PDP
+                coalescedCounter.increment();
+                return;
+            }
+
+            if (pending.size() > capacity) {
+                overflowCounter.increment();
+
+                if (dropPolicy == HeartbeatDropPolicy.DROP_NEWEST) {
+                    pending.remove(message.getName());
+                    logger.warn("discarded status message from {} - queue is full", message.getName());
+                    return;
+                }
+
+                PdpStatus oldest = removeFirst();
+                logger.warn("discarded status message from {} - queue is full", oldest.getName());
+
+            } else {
+                depth.incrementAndGet();
+            }
+
+            notifyAll();
+        }
+
+        /**
+         * Stops the lane.
+         */
+        public synchronized void stop() {
+            stopped = true;
+            depth.addAndGet(-pending.size());
+            pending.clear();
+            notifyAll();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (;;) {
+                    PdpStatus message = take();
+                    if (message == null) {
+                        return;
+                    }
+
+                    lagMs.set(currentTimeMs() - message.getTimestampMs());
+                    process(message);
+                }
+
+            } catch (InterruptedException e) {
+                logger.warn("status message processing interrupted");
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Takes the next message from the lane, waiting for one to arrive.
+         *
+         * @return the next message, or {@code null} if the lane was stopped
+         * @throws InterruptedException if the thread is interrupted
+         */
+        private synchronized PdpStatus take() throws InterruptedException {
+            while (pending.isEmpty() && !stopped) {
+                wait();
+            }
+
+            if (stopped) {
+                return null;
+            }
+
+            depth.decrementAndGet();
+            return removeFirst();
+        }
+
+        private PdpStatus removeFirst() {
+            Iterator<PdpStatus> iter = pending.values().iterator();
+            PdpStatus message = iter.next();
+            iter.remove();
+            return message;
+        }
+
+        private void process(PdpStatus message) {
+            try {
+                processor.accept(message);
+
+            } catch (RuntimeException e) {
+                logger.warn("failed to process status message from {}", message.getName(), e);
+            }
+        }
+    }
+}
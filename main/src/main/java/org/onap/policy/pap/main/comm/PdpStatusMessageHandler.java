@@ -22,23 +22,27 @@
 
 package org.onap.policy.pap.main.comm;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.onap.policy.models.pdp.concepts.Pdp;
-import org.onap.policy.models.pdp.concepts.PdpGroup;
-import org.onap.policy.models.pdp.concepts.PdpGroupFilter;
 import org.onap.policy.models.pdp.concepts.PdpStatus;
 import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpHealthStatus;
 import org.onap.policy.models.pdp.enums.PdpState;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
@@ -46,6 +50,8 @@ import org.onap.policy.pap.main.PolicyPapException;
 import org.onap.policy.pap.main.parameters.PapParameterGroup;
 import org.onap.policy.pap.main.parameters.PdpParameters;
 import org.onap.policy.pap.main.service.PdpGroupService;
+import org.onap.policy.pap.main.service.PdpGroupTopologyCache.SubGroupEntry;
+import org.onap.policy.pap.main.service.PdpLivenessBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -65,31 +71,53 @@ public class PdpStatusMessageHandler extends PdpMessageGenerator {
 
     private final PdpGroupService pdpGroupService;
 
-    /**
-     * List to store policies present in db.
-     */
-    List<ToscaPolicy> policies = new LinkedList<>();
+    private final PdpLivenessBuffer livenessBuffer;
 
     /**
-     * List to store policies to be deployed (heartbeat).
+     * Fingerprint of the last heartbeat that was fully reconciled, keyed by PDP name.
      */
-    Map<ToscaConceptIdentifier, ToscaPolicy> policiesToBeDeployed = new HashMap<>();
+    private final Map<String, HeartbeatFingerprint> fingerprints = new ConcurrentHashMap<>();
 
     /**
-     * List to store policies to be undeployed (heartbeat).
+     * Queue of status messages awaiting processing. Messages from the same PDP are
+     * processed in order, while messages from different PDPs may be processed in
+     * parallel.
      */
-    List<ToscaConceptIdentifier> policiesToBeUndeployed = new LinkedList<>();
+    private final PdpStatusIngestQueue ingestQueue;
 
     /**
      * Constructs the object.
      *
      * @param parameterGroup  the parameterGroup
      * @param pdpGroupService the pdpGroupService
+     * @param livenessBuffer  the livenessBuffer
+     * @param meterRegistry   the meterRegistry
      */
-    public PdpStatusMessageHandler(PapParameterGroup parameterGroup, PdpGroupService pdpGroupService) {
+    public PdpStatusMessageHandler(PapParameterGroup parameterGroup, PdpGroupService pdpGroupService,
+                                   PdpLivenessBuffer livenessBuffer, MeterRegistry meterRegistry) {
         super(true);
         this.params = parameterGroup.getPdpParameters();
         this.pdpGroupService = pdpGroupService;
+        this.livenessBuffer = livenessBuffer;
+        this.ingestQueue = new PdpStatusIngestQueue("pdp-heartbeat", params, meterRegistry, this::processPdpStatus);
+    }
+
+    /**
+     * Stops processing queued status messages.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ingestQueue.stop();
+    }
+
+    /**
+     * Forgets the heartbeat fingerprints of PDPs that have been removed from their
+     * groups, so that the fingerprints of departed PDPs do not accumulate.
+     *
+     * @param pdpNames names of the PDPs that were removed
+     */
+    public void forgetPdps(final Collection<String> pdpNames) {
+        pdpNames.forEach(fingerprints::remove);
     }
 
     /**
@@ -102,35 +130,63 @@ public class PdpStatusMessageHandler extends PdpMessageGenerator {
             message.setPolicies(Collections.emptyList());
         }
 
+        if (!isExpired(message)) {
+            ingestQueue.offer(message);
+        }
+    }
+
+    /**
+     * Determines if a message is too old to be processed, logging it if so.
+     *
+     * @param message the PdpStatus message
+     * @return {@code true} if the message should be discarded
+     */
+    private boolean isExpired(final PdpStatus message) {
         long diffms = System.currentTimeMillis() - message.getTimestampMs();
         if (diffms > params.getMaxMessageAgeMs()) {
             long diffsec = TimeUnit.SECONDS.convert(diffms, TimeUnit.MILLISECONDS);
             LOGGER.info("discarding status message from {} age {}s", message.getName(), diffsec);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Processes a PdpStatus message, on the lane associated with its PDP. The update lock
+     * is only held while the PDP's group or deployment status may be modified, which
+     * does not occur for a PDP whose heartbeat is in sync with its group.
+     *
+     * @param message the PdpStatus message
+     */
+    private void processPdpStatus(final PdpStatus message) {
+        if (isExpired(message)) {
+            // aged while it was queued
             return;
         }
 
-        synchronized (updateLock) {
-            try {
-                if (message.getPdpSubgroup() == null) {
+        try {
+            if (message.getPdpSubgroup() == null) {
+                synchronized (updateLock) {
                     handlePdpRegistration(message);
-                } else {
-                    handlePdpHeartbeat(message);
-                }
-            } catch (final PolicyPapException exp) {
-                LOGGER.error("Operation Failed", exp);
-            } catch (final Exception exp) {
-                if (isDuplicateKeyException(exp, Exception.class)) {
-                    /*
-                     * this is to be expected, if multiple PAPs are processing the same
-                     * heartbeat at a time, thus we log the exception at a trace level
-                     * instead of an error level.
-                     */
-                    LOGGER.info("Failed updating PDP information for {} - may have been added by another PAP",
-                        message.getName());
-                    LOGGER.trace("Failed updating PDP information for {}", message.getName(), exp);
-                } else {
-                    LOGGER.error("Failed connecting to database provider", exp);
                 }
+            } else {
+                handlePdpHeartbeat(message);
+            }
+        } catch (final PolicyPapException exp) {
+            LOGGER.error("Operation Failed", exp);
+        } catch (final Exception exp) {
+            if (isDuplicateKeyException(exp, Exception.class)) {
+                /*
+                 * this is to be expected, if multiple PAPs are processing the same
+                 * heartbeat at a time, thus we log the exception at a trace level
+                 * instead of an error level.
+                 */
+                LOGGER.info("Failed updating PDP information for {} - may have been added by another PAP",
+                    message.getName());
+                LOGGER.trace("Failed updating PDP information for {}", message.getName(), exp);
+            } else {
+                LOGGER.error("Failed connecting to database provider", exp);
             }
         }
     }
@@ -167,42 +223,29 @@ public class PdpStatusMessageHandler extends PdpMessageGenerator {
     }
 
     private boolean findAndUpdatePdpGroup(final PdpStatus message) {
-        var pdpGroupFound = false;
-        final PdpGroupFilter filter =
-            PdpGroupFilter.builder().name(message.getPdpGroup()).groupState(PdpState.ACTIVE).build();
-
-        final List<PdpGroup> pdpGroups = pdpGroupService.getFilteredPdpGroups(filter);
-        if (!pdpGroups.isEmpty()) {
-            pdpGroupFound = registerPdp(message, pdpGroups.get(0));
-        }
-        return pdpGroupFound;
+        // registrations always work on the latest copy of the group
+        final SubGroupEntry subGroup =
+            pdpGroupService.refreshActivePdpSubGroup(message.getPdpGroup(), message.getPdpType());
+        return (subGroup != null && registerPdp(message, subGroup));
     }
 
-    private boolean registerPdp(final PdpStatus message, final PdpGroup finalizedPdpGroup) {
-        Optional<PdpSubGroup> subGroup;
-        var pdpGroupFound = false;
-        subGroup = findPdpSubGroup(message, finalizedPdpGroup);
-
-        if (subGroup.isPresent()) {
-            policies = getToscaPolicies(subGroup.get());
-            policiesToBeDeployed = policies.stream().collect(Collectors
-                .toMap(ToscaPolicy::getIdentifier, policy -> policy));
-            policiesToBeUndeployed = null;
-
-            LOGGER.debug("Found pdpGroup - {}, going for registration of PDP - {}", finalizedPdpGroup, message);
-            Optional<Pdp> pdp = findPdpInstance(message, subGroup.get());
-            if (pdp.isPresent()) {
-                updatePdpHealthStatus(message, subGroup.get(), pdp.get(), finalizedPdpGroup);
-            } else {
-                updatePdpSubGroup(finalizedPdpGroup, subGroup.get(), message);
-            }
-            sendPdpMessage(finalizedPdpGroup.getName(), subGroup.get(), message.getName(), null);
-            pdpGroupFound = true;
+    private boolean registerPdp(final PdpStatus message, final SubGroupEntry subGroup) {
+        final List<ToscaPolicy> policiesToBeDeployed =
+            getToscaPolicies(subGroup.getGroupName(), subGroup.getSubGroup());
+
+        LOGGER.debug("Found pdpGroup - {}, going for registration of PDP - {}", subGroup.getGroupName(), message);
+        final Pdp pdp = subGroup.getPdp(message.getName());
+        if (pdp != null) {
+            updatePdpHealthStatus(message, subGroup, pdp);
+        } else {
+            updatePdpSubGroup(subGroup, message);
         }
-        return pdpGroupFound;
+        sendPdpMessage(subGroup.getGroupName(), subGroup.getSubGroup(), message.getName(), null,
+            policiesToBeDeployed, null);
+        return true;
     }
 
-    private void updatePdpSubGroup(final PdpGroup pdpGroup, final PdpSubGroup pdpSubGroup, final PdpStatus message) {
+    private void updatePdpSubGroup(final SubGroupEntry subGroup, final PdpStatus message) {
 
         final var pdpInstance = new Pdp();
         pdpInstance.setInstanceId(message.getName());
@@ -210,126 +253,165 @@ public class PdpStatusMessageHandler extends PdpMessageGenerator {
         pdpInstance.setHealthy(message.getHealthy());
         pdpInstance.setMessage(message.getDescription());
         pdpInstance.setLastUpdate(Instant.now());
-        pdpSubGroup.getPdpInstances().add(pdpInstance);
 
+        final PdpSubGroup pdpSubGroup = subGroup.toSubGroup();
+        pdpSubGroup.getPdpInstances().add(pdpInstance);
         pdpSubGroup.setCurrentInstanceCount(pdpSubGroup.getCurrentInstanceCount() + 1);
 
-        pdpGroupService.updatePdpSubGroup(pdpGroup.getName(), pdpSubGroup);
+        pdpGroupService.updatePdpSubGroup(subGroup.getGroupName(), pdpSubGroup);
 
-        LOGGER.debug("Updated PdpSubGroup in DB - {} belonging to PdpGroup - {}", pdpSubGroup, pdpGroup.getName());
+        LOGGER.debug("Updated PdpSubGroup in DB - {} belonging to PdpGroup - {}", pdpSubGroup,
+            subGroup.getGroupName());
     }
 
     private void handlePdpHeartbeat(final PdpStatus message) {
 
-        final PdpGroupFilter filter =
-            PdpGroupFilter.builder().name(message.getPdpGroup()).groupState(PdpState.ACTIVE).build();
-        final List<PdpGroup> pdpGroups = pdpGroupService.getFilteredPdpGroups(filter);
-        if (!pdpGroups.isEmpty()) {
-            var pdpGroup = pdpGroups.get(0);
-            Optional<PdpSubGroup> pdpSubgroup = findPdpSubGroup(message, pdpGroup);
-            if (pdpSubgroup.isPresent()) {
-                Optional<Pdp> pdpInstance = findPdpInstance(message, pdpSubgroup.get());
-                if (pdpInstance.isPresent()) {
-                    processPdpDetails(message, pdpSubgroup.get(), pdpInstance.get(), pdpGroup);
-                } else {
-                    LOGGER.debug("PdpInstance not Found in DB. Sending Pdp for registration - {}", message);
-                    registerPdp(message, pdpGroup);
-                }
-            }
+        SubGroupEntry subGroup = pdpGroupService.getActivePdpSubGroup(message.getPdpGroup(), message.getPdpType());
+        Pdp pdpInstance = (subGroup == null ? null : subGroup.getPdp(message.getName()));
+
+        if (pdpInstance != null && handleUnchangedHeartbeat(message, subGroup, pdpInstance)) {
+            return;
         }
-    }
 
-    private Optional<PdpSubGroup> findPdpSubGroup(final PdpStatus message, final PdpGroup pdpGroup) {
-        PdpSubGroup pdpSubgroup = null;
-        for (final PdpSubGroup subGroup : pdpGroup.getPdpSubgroups()) {
-            if (message.getPdpType().equals(subGroup.getPdpType())) {
-                pdpSubgroup = subGroup;
-                break;
-            }
+        // full reconcile - forget the fingerprint until the PDP is found to be in sync again
+        fingerprints.remove(message.getName());
+
+        if (pdpInstance != null && !PdpState.TERMINATED.equals(message.getState())
+            && validatePdpDetails(message, subGroup, pdpInstance)) {
+            // in sync with the cache - only its liveness data need be updated
+            processPdpInSync(message, subGroup, pdpInstance);
+            return;
         }
-        return Optional.ofNullable(pdpSubgroup);
-    }
 
-    private Optional<Pdp> findPdpInstance(final PdpStatus message, final PdpSubGroup subGroup) {
-        Pdp pdpInstance = null;
-        for (final Pdp pdpInstanceDetails : subGroup.getPdpInstances()) {
-            if (pdpInstanceDetails.getInstanceId().equals(message.getName())) {
-                pdpInstance = pdpInstanceDetails;
-                break;
+        synchronized (updateLock) {
+            // unknown or out of sync with the cache - check against the DB before acting on it
+            subGroup = pdpGroupService.refreshActivePdpSubGroup(message.getPdpGroup(), message.getPdpType());
+            if (subGroup == null) {
+                return;
+            }
+
+            pdpInstance = subGroup.getPdp(message.getName());
+            if (pdpInstance != null) {
+                processPdpDetails(message, subGroup, pdpInstance);
+            } else {
+                LOGGER.debug("PdpInstance not Found in DB. Sending Pdp for registration - {}", message);
+                registerPdp(message, subGroup);
             }
         }
-        return Optional.ofNullable(pdpInstance);
     }
 
-    private void processPdpDetails(final PdpStatus message, final PdpSubGroup pdpSubGroup, final Pdp pdpInstance,
-                                   final PdpGroup pdpGroup) {
-        // all policies
-        policies = getToscaPolicies(pdpSubGroup);
+    private void processPdpDetails(final PdpStatus message, final SubGroupEntry subGroup, final Pdp pdpInstance) {
+        final PdpSubGroup pdpSubGroup = subGroup.getSubGroup();
 
-        Map<ToscaConceptIdentifier, ToscaPolicy> policyMap =
-            policies.stream().collect(Collectors.toMap(ToscaPolicy::getIdentifier, policy -> policy));
+        if (PdpState.TERMINATED.equals(message.getState())) {
+            processPdpTermination(subGroup, pdpInstance);
+            return;
+        }
+
+        if (validatePdpDetails(message, subGroup, pdpInstance)) {
+            processPdpInSync(message, subGroup, pdpInstance);
+            return;
+        }
+
+        // all policies
+        final Map<ToscaConceptIdentifier, ToscaPolicy> policyMap =
+            getToscaPolicies(subGroup.getGroupName(), pdpSubGroup).stream()
+                .collect(Collectors.toMap(ToscaPolicy::getIdentifier, policy -> policy));
 
         // policies that the PDP already has (-) all
-        policiesToBeUndeployed = message.getPolicies().stream()
+        final List<ToscaConceptIdentifier> policiesToBeUndeployed = message.getPolicies().stream()
             .filter(policyId -> !policyMap.containsKey(policyId)).toList();
 
         // all (-) policies that the PDP already has
-        policiesToBeDeployed = policyMap;
-        message.getPolicies().forEach(policiesToBeDeployed.keySet()::remove);
+        message.getPolicies().forEach(policyMap.keySet()::remove);
+
+        LOGGER.debug("PdpInstance details are not correct. Sending PdpUpdate message - {}", pdpInstance);
+        LOGGER.debug("Policy list in DB - {}. Policy list in heartbeat - {}", pdpSubGroup.getPolicies(),
+            message.getPolicies());
+        updatePdpHealthStatus(message, subGroup, pdpInstance);
+        sendPdpMessage(subGroup.getGroupName(), pdpSubGroup, pdpInstance.getInstanceId(),
+            pdpInstance.getPdpState(), new LinkedList<>(policyMap.values()), policiesToBeUndeployed);
+    }
 
-        if (PdpState.TERMINATED.equals(message.getState())) {
-            processPdpTermination(pdpSubGroup, pdpInstance, pdpGroup);
-        } else if (validatePdpDetails(message, pdpGroup, pdpSubGroup, pdpInstance)) {
-            LOGGER.debug("PdpInstance details are correct. Saving current state in DB - {}", pdpInstance);
-            updatePdpHealthStatus(message, pdpSubGroup, pdpInstance, pdpGroup);
-        } else {
-            LOGGER.debug("PdpInstance details are not correct. Sending PdpUpdate message - {}", pdpInstance);
-            LOGGER.debug("Policy list in DB - {}. Policy list in heartbeat - {}", pdpSubGroup.getPolicies(),
-                message.getPolicies());
-            updatePdpHealthStatus(message, pdpSubGroup, pdpInstance, pdpGroup);
-            sendPdpMessage(pdpGroup.getName(), pdpSubGroup, pdpInstance.getInstanceId(), pdpInstance.getPdpState());
+    private void processPdpInSync(final PdpStatus message, final SubGroupEntry subGroup, final Pdp pdpInstance) {
+        LOGGER.debug("PdpInstance details are correct. Saving current state in DB - {}", pdpInstance);
+        updatePdpHealthStatus(message, subGroup, pdpInstance);
+        fingerprints.put(message.getName(), new HeartbeatFingerprint(message, subGroup, System.currentTimeMillis()));
+    }
+
+    /**
+     * Handles a heartbeat that matches the fingerprint of the last heartbeat that was
+     * fully reconciled, against the same cached subgroup. Such a heartbeat requires no
+     * messages to be sent to the PDP; at most, its last update time is written to the
+     * DB, once per heartbeat interval, so that it is not considered expired.
+     *
+     * @param message the heartbeat
+     * @param subGroup the cached subgroup of the PDP
+     * @param pdpInstance the cached PDP
+     * @return {@code true} if the heartbeat was handled, {@code false} if it must be
+     *         fully reconciled
+     */
+    private boolean handleUnchangedHeartbeat(final PdpStatus message, final SubGroupEntry subGroup,
+                                             final Pdp pdpInstance) {
+        final HeartbeatFingerprint fingerprint = fingerprints.get(message.getName());
+        if (fingerprint == null || !fingerprint.matches(message, subGroup, pdpInstance)) {
+            return false;
         }
+
+        // write again if a flush has failed since the last write was buffered
+        final long now = System.currentTimeMillis();
+        if (now - fingerprint.lastWrittenMs >= params.getHeartBeatMs()
+            || fingerprint.lastWrittenMs <= livenessBuffer.getLastFailureMs()) {
+            updatePdpHealthStatus(message, subGroup, pdpInstance);
+            fingerprint.lastWrittenMs = now;
+        }
+
+        return true;
     }
 
-    private void processPdpTermination(final PdpSubGroup pdpSubGroup, final Pdp pdpInstance, final PdpGroup pdpGroup) {
-        pdpSubGroup.getPdpInstances().remove(pdpInstance);
+    private void processPdpTermination(final SubGroupEntry subGroup, final Pdp pdpInstance) {
+        final PdpSubGroup pdpSubGroup = subGroup.toSubGroup();
+        pdpSubGroup.getPdpInstances().removeIf(pdp -> pdp.getInstanceId().equals(pdpInstance.getInstanceId()));
         pdpSubGroup.setCurrentInstanceCount(pdpSubGroup.getCurrentInstanceCount() - 1);
-        pdpGroupService.updatePdpSubGroup(pdpGroup.getName(), pdpSubGroup);
+        pdpGroupService.updatePdpSubGroup(subGroup.getGroupName(), pdpSubGroup);
+        fingerprints.remove(pdpInstance.getInstanceId());
 
         LOGGER.debug("Deleted PdpInstance - {} belonging to PdpSubGroup - {} and PdpGroup - {}", pdpInstance,
-            pdpSubGroup, pdpGroup);
+            pdpSubGroup, subGroup.getGroupName());
     }
 
-    private boolean validatePdpDetails(final PdpStatus message, final PdpGroup pdpGroup, final PdpSubGroup subGroup,
+    private boolean validatePdpDetails(final PdpStatus message, final SubGroupEntry subGroup,
                                        final Pdp pdpInstanceDetails) {
+        final PdpSubGroup pdpSubGroup = subGroup.getSubGroup();
+
         /*
          * "EqualsBuilder" is a bit of a misnomer, as it uses containsAll() to check policies. Nevertheless, it does the
          * job and provides a convenient way to build a bunch of comparisons.
          */
-        return new EqualsBuilder().append(message.getPdpGroup(), pdpGroup.getName())
-            .append(message.getPdpSubgroup(), subGroup.getPdpType())
-            .append(message.getPdpType(), subGroup.getPdpType())
+        return new EqualsBuilder().append(message.getPdpGroup(), subGroup.getGroupName())
+            .append(message.getPdpSubgroup(), pdpSubGroup.getPdpType())
+            .append(message.getPdpType(), pdpSubGroup.getPdpType())
             .append(message.getState(), pdpInstanceDetails.getPdpState())
-            .append(new HashSet<>(message.getPolicies()).containsAll(subGroup.getPolicies()), true)
-            .append(new HashSet<>(subGroup.getPolicies()).containsAll(message.getPolicies()), true).build();
+            .append(new HashSet<>(message.getPolicies()).containsAll(pdpSubGroup.getPolicies()), true)
+            .append(new HashSet<>(pdpSubGroup.getPolicies()).containsAll(message.getPolicies()), true).build();
     }
 
-    private void updatePdpHealthStatus(final PdpStatus message, final PdpSubGroup pdpSubgroup, final Pdp pdpInstance,
-                                       final PdpGroup pdpGroup) {
-        pdpInstance.setHealthy(message.getHealthy());
-        pdpInstance.setMessage(message.getDescription());
-        pdpInstance.setLastUpdate(Instant.now());
-        pdpGroupService.updatePdp(pdpGroup.getName(), pdpSubgroup.getPdpType(), pdpInstance);
+    private void updatePdpHealthStatus(final PdpStatus message, final SubGroupEntry subGroup, final Pdp pdpInstance) {
+        final var pdp = new Pdp(pdpInstance);
+        pdp.setHealthy(message.getHealthy());
+        pdp.setMessage(message.getDescription());
+        pdp.setLastUpdate(Instant.now());
+        livenessBuffer.add(subGroup.getGroupName(), subGroup.getSubGroup().getPdpType(), pdp);
 
-        LOGGER.debug("Updated Pdp in DB - {}", pdpInstance);
+        LOGGER.debug("Buffered Pdp liveness update - {}", pdp);
     }
 
     private void sendPdpMessage(final String pdpGroupName, final PdpSubGroup subGroup, final String pdpInstanceId,
-                                final PdpState pdpState) {
-        final List<ToscaPolicy> polsToBeDeployed = new LinkedList<>(policiesToBeDeployed.values());
+                                final PdpState pdpState, final List<ToscaPolicy> policiesToBeDeployed,
+                                final List<ToscaConceptIdentifier> policiesToBeUndeployed) {
         final var pdpUpdatemessage =
             createPdpUpdateMessage(pdpGroupName, subGroup, pdpInstanceId,
-                polsToBeDeployed, policiesToBeUndeployed);
+                policiesToBeDeployed, policiesToBeUndeployed);
         final var pdpStateChangeMessage =
             createPdpStateChangeMessage(pdpGroupName, subGroup, pdpInstanceId, pdpState);
         updateDeploymentStatus(pdpGroupName, subGroup.getPdpType(), pdpInstanceId, pdpStateChangeMessage.getState(),
@@ -339,4 +421,66 @@ public class PdpStatusMessageHandler extends PdpMessageGenerator {
         LOGGER.debug("Sent PdpUpdate message - {}", pdpUpdatemessage);
         LOGGER.debug("Sent PdpStateChange message - {}", pdpStateChangeMessage);
     }
+
+    /**
+     * Fingerprint of a heartbeat whose details were found to match the PDP's subgroup.
+     * The subgroup is compared by identity, as the topology cache replaces a subgroup
+     * entry whenever the subgroup is changed or reloaded, thus any change on the PAP
+     * side forces a full reconcile. The policies are compared as a set, as their order
+     * is irrelevant; however, as PDPs normally report their policies in the same order,
+     * they are first compared as a list, which avoids building a set for each heartbeat.
+     */
+    private static final class HeartbeatFingerprint {
+        private final SubGroupEntry subGroup;
+        private final String pdpGroup;
+        private final String pdpSubgroup;
+        private final String pdpType;
+        private final PdpState state;
+        private final PdpHealthStatus healthy;
+        private final String description;
+        private final List<ToscaConceptIdentifier> policyList;
+        private final Set<ToscaConceptIdentifier> policies;
+
+        /**
+         * Time, in milliseconds, when the PDP's liveness data was last buffered.
+         */
+        private volatile long lastWrittenMs;
+
+        private HeartbeatFingerprint(final PdpStatus message, final SubGroupEntry subGroup, final long writtenMs) {
+            this.subGroup = subGroup;
+            this.pdpGroup = message.getPdpGroup();
+            this.pdpSubgroup = message.getPdpSubgroup();
+            this.pdpType = message.getPdpType();
+            this.state = message.getState();
+            this.healthy = message.getHealthy();
+            this.description = message.getDescription();
+            this.policyList = Collections.unmodifiableList(new ArrayList<>(message.getPolicies()));
+            this.policies = Collections.unmodifiableSet(new HashSet<>(policyList));
+            this.lastWrittenMs = writtenMs;
+        }
+
+        private boolean matches(final PdpStatus message, final SubGroupEntry subGroup, final Pdp pdpInstance) {
+            return this.subGroup == subGroup && state == pdpInstance.getPdpState() && state == message.getState()
+                && healthy == message.getHealthy() && Objects.equals(pdpGroup, message.getPdpGroup())
+                && Objects.equals(pdpSubgroup, message.getPdpSubgroup())
+                && Objects.equals(pdpType, message.getPdpType())
+                && Objects.equals(description, message.getDescription())
+                && samePolicies(message.getPolicies());
+        }
+
+        private boolean samePolicies(final List<ToscaConceptIdentifier> incoming) {
+            if (incoming.equals(policyList)) {
+                return true;
+            }
+
+            // order differs - only build a set if every policy is known
+            for (ToscaConceptIdentifier policy : incoming) {
+                if (!policies.contains(policy)) {
+                    return false;
+                }
+            }
+
+            return policies.equals(new HashSet<>(incoming));
+        }
+    }
 }
@@ -21,8 +21,19 @@
 
 package org.onap.policy.pap.main.comm;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.onap.policy.common.message.bus.event.client.TopicSinkClient;
 import org.onap.policy.common.message.bus.event.client.TopicSinkClientException;
 import org.onap.policy.common.utils.coder.StandardCoder;
@@ -37,6 +48,21 @@ import org.slf4j.LoggerFactory;
  * {@link null}, clients are free to atomically update the reference to new values, thus
  * maintaining their place in the queue.
  *
+ * <p>The queue may be divided into several lanes, each published by its own thread. A
+ * message is assigned to a lane by hashing its key, thus messages having the same key are
+ * published in order, while messages having different keys may be published in parallel.
+ * Each lane takes whatever references have accumulated in its queue, up to a maximum
+ * batch size, at once. {@link #run()} publishes the first lane and starts a thread for
+ * each of the others.
+ *
+ * <p>Within a lane, references are taken in order of their {@link MessagePriority}, and
+ * in the order in which they were enqueued within a given priority. To prevent
+ * starvation, after {@link #HIGH_PRIORITY_BURST} high priority references have been taken
+ * in a row, a lower priority reference is taken, if one is waiting. Once a batch's first
+ * lower priority reference has been published, if a high priority reference has arrived
+ * in the meantime, then the rest of the batch is put back, so that the high priority
+ * reference need not wait for the whole batch to be published.
+ *
  * <p>This class has not been tested for multiple threads invoking {@link #run()}
  * simultaneously.
  *
@@ -45,15 +71,49 @@ import org.slf4j.LoggerFactory;
 public class Publisher<T> implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Publisher.class);
 
+    private static final String TOPIC_TAG = "topic";
+
+    /**
+     * Maximum number of high priority references taken from a lane in a row, while lower
+     * priority references are waiting.
+     */
+    public static final int HIGH_PRIORITY_BURST = 8;
+
+    /**
+     * Default maximum number of references taken from a lane's queue at once.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
     /**
      * Used to send to the topic.
      */
     private final TopicSinkClient client;
 
     /**
-     * Request queue. The references may contain {@code null}.
+     * Name of the topic, used to name the lane threads.
+     */
+    private final String topic;
+
+    /**
+     * Extracts the key of a message, used to assign it to a lane. May return
+     * {@code null}.
      */
-    private final BlockingQueue<QueueToken<T>> queue = new LinkedBlockingQueue<>();
+    private final Function<T, String> keyExtractor;
+
+    private final int maxBatchSize;
+
+    /**
+     * Request queues of each lane. The references may contain {@code null}.
+     */
+    private final List<Lane> lanes = new ArrayList<>();
+
+    /**
+     * Time references spend in a lane's queue, by priority.
+     */
+    private final Map<MessagePriority, Timer> waitTimers = new EnumMap<>(MessagePriority.class);
+
+    private final Timer sendTimer;
+    private final DistributionSummary batchSizeSummary;
 
     /**
      * Set to {@code true} to cause the publisher to stop running.
@@ -61,17 +121,56 @@ public class Publisher<T> implements Runnable {
     private volatile boolean stopNow = false;
 
     /**
-     * Constructs the object.
+     * Constructs the object, with a single lane.
      *
      * @param topic name of the topic to which to publish
      * @throws PolicyPapException if the topic sink does not exist
      */
     public Publisher(String topic) throws PolicyPapException {
+        this(topic, 1, message -> null, DEFAULT_MAX_BATCH_SIZE, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param topic name of the topic to which to publish
+     * @param nlanes number of lanes on which messages are published
+     * @param keyExtractor extracts the key of a message, used to assign it to a lane
+     * @param maxBatchSize maximum number of references taken from a lane's queue at once
+     * @param meterRegistry registry with which the metrics are registered
+     * @throws PolicyPapException if the topic sink does not exist
+     */
+    public Publisher(String topic, int nlanes, Function<T, String> keyExtractor, int maxBatchSize,
+                    MeterRegistry meterRegistry) throws PolicyPapException {
         try {
             this.client = new TopicSinkClient(topic);
         } catch (TopicSinkClientException e) {
             throw new PolicyPapException(e);
         }
+
+        this.topic = topic;
+        this.keyExtractor = keyExtractor;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+
+        for (var index = Math.max(1, nlanes); index > 0; --index) {
+            lanes.add(new Lane());
+        }
+
+        Gauge.builder("pap_publisher_queue_depth", lanes, list -> list.stream().mapToInt(Lane::size).sum())
+            .tag(TOPIC_TAG, topic).description("Number of messages waiting to be published")
+            .register(meterRegistry);
+
+        for (MessagePriority priority : MessagePriority.values()) {
+            waitTimers.put(priority, Timer.builder("pap_publisher_wait_time").tag(TOPIC_TAG, topic)
+                .tag("priority", priority.name()).description("Time messages wait to be published")
+                .publishPercentileHistogram().register(meterRegistry));
+        }
+
+        sendTimer = Timer.builder("pap_publisher_send_latency").tag(TOPIC_TAG, topic)
+            .description("Time taken to send a message to the topic").register(meterRegistry);
+
+        batchSizeSummary = DistributionSummary.builder("pap_publisher_batch_size").tag(TOPIC_TAG, topic)
+            .description("Number of messages taken from a lane's queue at once").register(meterRegistry);
     }
 
     /**
@@ -80,57 +179,227 @@ public class Publisher<T> implements Runnable {
     public void stop() {
         stopNow = true;
 
-        // add an empty reference so the thread doesn't block on the queue
-        queue.add(new QueueToken<>(null));
+        // add an empty reference so the threads don't block on the queues
+        wakeLanes();
     }
 
     /**
      * Adds an item to the queue. The referenced objects are assumed to be POJOs and will
-     * be converted to JSON via the {@link StandardCoder} prior to publishing.
+     * be converted to JSON via the {@link StandardCoder} prior to publishing. The item is
+     * assigned to a lane based on its key; thus any item with which it is later replaced
+     * must have the same key. Within the lane, it is published as per the token's
+     * priority.
      *
      * @param ref reference to the message to be published
      */
     public void enqueue(QueueToken<T> ref) {
-        queue.add(ref);
+        lanes.get(getLane(ref.get())).add(ref);
+    }
+
+    private int getLane(T item) {
+        if (lanes.size() == 1 || item == null) {
+            return 0;
+        }
+
+        String key = keyExtractor.apply(item);
+        return (key == null ? 0 : Math.floorMod(key.hashCode(), lanes.size()));
     }
 
     /**
-     * Continuously publishes items in the queue until {@link #stop()} is invoked.
+     * Continuously publishes items in the queue until {@link #stop()} is invoked. The
+     * first lane is published by the invoking thread, while the others are published by
+     * threads started by this method.
      */
     @Override
     public void run() {
+        for (var index = 1; index < lanes.size(); ++index) {
+            Lane lane = lanes.get(index);
+            startThread(topic + "-publisher-" + index, () -> runLane(lane));
+        }
+
+        runLane(lanes.get(0));
+    }
+
+    /**
+     * Continuously publishes items in a lane's queue until {@link #stop()} is invoked.
+     *
+     * @param lane the lane
+     */
+    private void runLane(Lane lane) {
+        List<Entry> batch = new ArrayList<>(maxBatchSize);
+
         for (;;) {
-            QueueToken<T> token = getNext();
+            getNext(lane, batch);
+            batchSizeSummary.record(batch.size());
 
-            if (stopNow) {
-                // unblock any other publisher threads
-                queue.add(new QueueToken<>(null));
-                break;
-            }
+            var sentLower = false;
+
+            for (var index = 0; index < batch.size(); ++index) {
+                if (stopNow) {
+                    // unblock any other publisher threads
+                    wakeLanes();
+                    return;
+                }
+
+                Entry entry = batch.get(index);
+                QueueToken<T> token = entry.token;
+
+                if (token.getPriority() != MessagePriority.HIGH) {
+                    if (sentLower && lane.hasHighPriority()) {
+                        // let the high priority references overtake the rest of the batch
+                        lane.putBack(batch.subList(index, batch.size()));
+                        break;
+                    }
 
-            var data = token.replaceItem(null);
-            if (data != null) {
-                client.send(data);
+                    sentLower = true;
+                }
+
+                var data = token.replaceItem(null);
+                if (data != null) {
+                    waitTimers.get(token.getPriority()).record(System.nanoTime() - entry.enqueuedNs,
+                        TimeUnit.NANOSECONDS);
+                    sendTimer.record(() -> client.send(data));
+                }
             }
+
+            batch.clear();
         }
     }
 
     /**
-     * Gets the next item from the queue. If the thread is interrupted, then it sets
-     * {@link #stopNow}.
+     * Gets the next items from a lane, waiting until at least one is available. If the
+     * thread is interrupted, then it sets {@link #stopNow}.
      *
-     * @return the next item, or a reference containing {@code null} if this is
-     *         interrupted
+     * @param lane lane from which to take the items
+     * @param batch list to which to add the items; a reference containing {@code null}
+     *        is added if this is interrupted
      */
-    private QueueToken<T> getNext() {
+    private void getNext(Lane lane, List<Entry> batch) {
         try {
-            return queue.take();
+            lane.take(batch);
 
         } catch (InterruptedException e) {
             logger.warn("Publisher stopping due to interrupt");
             stopNow = true;
             Thread.currentThread().interrupt();
-            return new QueueToken<>(null);
+            batch.add(new Entry(new QueueToken<>(null), System.nanoTime()));
         }
     }
+
+    private void wakeLanes() {
+        lanes.forEach(lane -> lane.add(new QueueToken<>(null, MessagePriority.HIGH)));
+    }
+
+
+    /**
+     * A lane's queue, holding a FIFO for each priority.
+     */
+    private class Lane {
+        private final Map<MessagePriority, Deque<Entry>> queues = new EnumMap<>(MessagePriority.class);
+
+        /**
+         * Number of high priority references taken in a row.
+         */
+        private int burst = 0;
+
+        private int size = 0;
+
+        public Lane() {
+            for (MessagePriority priority : MessagePriority.values()) {
+                queues.put(priority, new ArrayDeque<>());
+            }
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        public synchronized void add(QueueToken<T> token) {
+            queues.get(token.getPriority()).add(new Entry(token, System.nanoTime()));
+            ++size;
+            notifyAll();
+        }
+
+        /**
+         * Takes up to the maximum batch size of references, waiting until at least
+         * one is available.
+         *
+         * @param batch list to which to add the references
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        public synchronized void take(List<Entry> batch) throws InterruptedException {
+            while (size == 0) {
+                wait();
+            }
+
+            while (size > 0 && batch.size() < maxBatchSize) {
+                batch.add(poll());
+                --size;
+            }
+        }
+
+        /**
+         * Determines if a high priority reference is waiting.
+         *
+         * @return {@code true} if a high priority reference is waiting
+         */
+        public synchronized boolean hasHighPriority() {
+            return !queues.get(MessagePriority.HIGH).isEmpty();
+        }
+
+        /**
+         * Puts back references that were taken but not published, at the front of their
+         * queues, so that they retain their places.
+         *
+         * @param entries entries to be put back, in the order in which they were taken
+         */
+        public synchronized void putBack(List<Entry> entries) {
+            for (var index = entries.size() - 1; index >= 0; --index) {
+                Entry entry = entries.get(index);
+                queues.get(entry.token.getPriority()).addFirst(entry);
+                ++size;
+            }
+        }
+
+        private Entry poll() {
+            Deque<Entry> high = queues.get(MessagePriority.HIGH);
+
+            if (!high.isEmpty() && (burst < HIGH_PRIORITY_BURST || size == high.size())) {
+                ++burst;
+                return high.remove();
+            }
+
+            // give the lower priorities a turn
+            burst = 0;
+            for (Deque<Entry> queue : queues.values()) {
+                if (queue != high && !queue.isEmpty()) {
+                    return queue.remove();
+                }
+            }
+
+            return high.remove();
+        }
+    }
+
+    /**
+     * A reference in a lane's queue, along with the time at which it was enqueued.
+     */
+    private class Entry {
+        private final QueueToken<T> token;
+        private final long enqueuedNs;
+
+        public Entry(QueueToken<T> token, long enqueuedNs) {
+            this.token = token;
+            this.enqueuedNs = enqueuedNs;
+        }
+    }
+
+
+    // this may be overridden by junit tests
+
+    protected void startThread(String threadName, Runnable runner) {
+        final var thread = new Thread(runner, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
 }
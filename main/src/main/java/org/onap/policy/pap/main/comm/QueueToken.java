@@ -25,7 +25,8 @@ import java.util.concurrent.atomic.AtomicReference;
 /**
  * Token that can be placed within a publisher's queue. The item that a token references
  * may be replaced any time up until it is set to {@code null}. Once it has been set to
- * {@code null}, it cannot be replaced.
+ * {@code null}, it cannot be replaced. The token's priority determines how soon the
+ * publisher gets to it.
  *
  * @param <T> type of object referenced by the token
  */
@@ -37,12 +38,28 @@ public class QueueToken<T> {
     private final AtomicReference<T> ref;
 
     /**
-     * Constructs the object.
+     * Priority with which the token is to be published.
+     */
+    private final MessagePriority priority;
+
+    /**
+     * Constructs the object, with {@link MessagePriority#NORMAL} priority.
      *
      * @param item initial token item
      */
     public QueueToken(T item) {
+        this(item, MessagePriority.NORMAL);
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param item initial token item
+     * @param priority priority of the token
+     */
+    public QueueToken(T item, MessagePriority priority) {
         ref = new AtomicReference<>(item);
+        this.priority = priority;
     }
 
     /**
@@ -54,6 +71,15 @@ public class QueueToken<T> {
         return ref.get();
     }
 
+    /**
+     * Gets the priority with which this token is to be published.
+     *
+     * @return the token's priority
+     */
+    public final MessagePriority getPriority() {
+        return priority;
+    }
+
     /**
      * Replaces the token's item. If the current item is {@code null}, then it is left
      * unchanged.
@@ -33,6 +33,7 @@ import org.onap.policy.common.utils.services.ServiceManager;
 import org.onap.policy.models.pdp.concepts.PdpMessage;
 import org.onap.policy.models.pdp.concepts.PdpStatus;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.pap.main.comm.MessagePriority;
 import org.onap.policy.pap.main.comm.QueueToken;
 import org.onap.policy.pap.main.comm.TimerManager;
 import org.onap.policy.pap.main.notification.PolicyNotifier;
@@ -204,16 +205,32 @@ public abstract class RequestImpl implements Request {
      * if possible. Otherwise, it adds a new token to the queue.
      */
     private void enqueue() {
-        if (token != null && token.replaceItem(message) != null) {
-            // took the other's place in the queue - continue using the token
-            return;
+        MessagePriority priority = getPriority();
+
+        if (token != null) {
+            if (token.getPriority() == priority && token.replaceItem(message) != null) {
+                // took the other's place in the queue - continue using the token
+                return;
+            }
+
+            // priority has changed - the old token must not be published
+            token.replaceItem(null);
         }
 
         // couldn't take the other's place - add our own token to the queue
-        token = new QueueToken<>(message);
+        token = new QueueToken<>(message, priority);
         params.getPdpPublisher().enqueue(token);
     }
 
+    /**
+     * Gets the priority with which the current message is to be published.
+     *
+     * @return the priority of the current message
+     */
+    protected MessagePriority getPriority() {
+        return MessagePriority.NORMAL;
+    }
+
     /**
      * Resets the retry count.
      */
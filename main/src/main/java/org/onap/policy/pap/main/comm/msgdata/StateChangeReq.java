@@ -24,6 +24,7 @@ import org.onap.policy.models.pdp.concepts.PdpMessage;
 import org.onap.policy.models.pdp.concepts.PdpStateChange;
 import org.onap.policy.models.pdp.concepts.PdpStatus;
 import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.pap.main.comm.MessagePriority;
 import org.onap.policy.pap.main.parameters.RequestParams;
 
 /**
@@ -87,4 +88,12 @@ public class StateChangeReq extends RequestImpl {
         reconfigure2(newMessage);
         return true;
     }
+
+    /**
+     * State changes are urgent, as they may take a PDP out of service.
+     */
+    @Override
+    protected MessagePriority getPriority() {
+        return MessagePriority.HIGH;
+    }
 }
@@ -37,6 +37,7 @@ import org.onap.policy.models.pdp.concepts.PdpStatus;
 import org.onap.policy.models.pdp.concepts.PdpUpdate;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.pap.main.comm.MessagePriority;
 import org.onap.policy.pap.main.parameters.RequestParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -166,6 +167,21 @@ public class UpdateReq extends RequestImpl {
         return true;
     }
 
+    /**
+     * Updates that only undeploy policies are urgent, as they may be undoing a failed
+     * deployment, while deployments and registration updates are not.
+     */
+    @Override
+    protected MessagePriority getPriority() {
+        PdpUpdate message = getMessage();
+        if (alwaysList(message.getPoliciesToBeDeployed()).isEmpty()
+            && !alwaysList(message.getPoliciesToBeUndeployed()).isEmpty()) {
+            return MessagePriority.HIGH;
+        }
+
+        return MessagePriority.NORMAL;
+    }
+
     protected final boolean isSameContent(PdpUpdate second) {
         PdpUpdate first = getMessage();
 
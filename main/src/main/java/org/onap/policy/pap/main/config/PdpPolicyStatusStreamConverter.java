@@ -0,0 +1,81 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.config;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+import org.onap.policy.pap.main.rest.PdpPolicyStatusStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes a {@link PdpPolicyStatusStream} as a JSON array, one record at a time, so that
+ * the records need not all be held in memory.
+ */
+public class PdpPolicyStatusStreamConverter extends AbstractHttpMessageConverter<PdpPolicyStatusStream> {
+    private final Gson gson;
+
+    /**
+     * Constructs the object.
+     *
+     * @param gson used to write each record
+     */
+    public PdpPolicyStatusStreamConverter(Gson gson) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+        this.gson = gson;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PdpPolicyStatusStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PdpPolicyStatusStream readInternal(Class<? extends PdpPolicyStatusStream> clazz,
+                    HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("status streams cannot be read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PdpPolicyStatusStream statusStream, HttpOutputMessage outputMessage)
+                    throws IOException {
+
+        JsonWriter writer = gson.newJsonWriter(new OutputStreamWriter(outputMessage.getBody(), StandardCharsets.UTF_8));
+        writer.beginArray();
+
+        statusStream.forEach(status -> gson.toJson(status, PdpPolicyStatus.class, writer));
+
+        writer.endArray();
+        writer.flush();
+    }
+}
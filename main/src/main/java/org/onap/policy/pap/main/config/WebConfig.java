@@ -21,7 +21,9 @@
 
 package org.onap.policy.pap.main.config;
 
+import com.google.gson.Gson;
 import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.onap.policy.common.spring.utils.YamlHttpMessageConverter;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
@@ -32,12 +34,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Register custom converters to Spring configuration.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+    private final Gson gson;
 
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         var yamlConverter = new YamlHttpMessageConverter();
         yamlConverter.setSupportedMediaTypes(List.of(MediaType.parseMediaType("application/yaml")));
         converters.add(yamlConverter);
+
+        // must precede the JSON converter, which would otherwise write the stream object itself
+        converters.add(0, new PdpPolicyStatusStreamConverter(gson));
     }
 }
\ No newline at end of file
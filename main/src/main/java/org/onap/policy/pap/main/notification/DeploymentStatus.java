@@ -29,9 +29,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -49,7 +48,7 @@ import org.onap.policy.pap.main.service.PolicyStatusService;
  * Collection of Policy Deployment Status records. The sequence of method invocations
  * should be as follows:
  * <ol>
- * <li>{@link #loadByGroup(String)}</li>
+ * <li>{@link #loadByGroup(String)} or {@link #loadByPdp(String, String)}</li>
  * <li>various other methods</li>
  * <li>repeat the previous steps as appropriate</li>
  * <li>{@link #flush(PolicyNotification)}</li>
@@ -63,16 +62,30 @@ public class DeploymentStatus {
     private final Set<String> pdpGroupLoaded = new HashSet<>();
 
     /**
-     * Records, mapped by PDP/Policy pair.
+     * Maps a group to the PDPs whose records have been loaded, for groups that have only
+     * been partially loaded.
+     */
+    private final Map<String, Set<String>> pdpLoaded = new HashMap<>();
+
+    /**
+     * Counts of the records of the other PDPs of partially loaded groups, by policy.
+     * These are included when tracking policy status, so that notifications reflect the
+     * whole group, but they are never changed.
+     */
+    private final Map<ToscaConceptIdentifier, Map<PdpPolicyStatus, Long>> otherPdpCounts = new HashMap<>();
+
+    /**
+     * Records, mapped by PDP/Policy pair, and indexed by PDP and by policy.
      */
     @Getter(AccessLevel.PROTECTED)
-    private final Map<StatusKey, StatusAction> recordMap = new HashMap<>();
+    private final StatusRecordMap recordMap = new StatusRecordMap();
 
     /**
      * Records the policy status so that notifications can be generated. When
-     * {@link #loadByGroup(String)} is invoked, records are added to this. Other than
-     * that, this is not updated until {@link #addNotifications(PolicyNotification)} is
-     * invoked.
+     * {@link #loadByGroup(String)} or {@link #loadByPdp(String, String)} is invoked,
+     * records are added to this. Other than that, this is not updated until
+     * {@link #addNotifications(PolicyNotification)} is invoked, at which point the status
+     * of the policies whose records have changed is replaced.
      */
     private DeploymentTracker tracker = new DeploymentTracker();
 
@@ -119,12 +132,16 @@ public class DeploymentStatus {
      * @param notif notification to which to add policy status
      */
     protected void addNotifications(PolicyNotification notif) {
-        var newTracker = new DeploymentTracker();
-        recordMap.values().forEach(newTracker::add);
+        Set<ToscaConceptIdentifier> policies = recordMap.getChangedPolicies();
 
-        tracker.addNotifications(notif, newTracker);
+        var newTracker = new DeploymentTracker();
+        for (ToscaConceptIdentifier policy : policies) {
+            recordMap.getPolicyKeys(policy).forEach(key -> newTracker.add(recordMap.get(key)));
+            otherPdpCounts.getOrDefault(policy, Map.of())
+                .forEach((status, count) -> newTracker.add(status, Math.toIntExact(count)));
+        }
 
-        tracker = newTracker;
+        tracker.addNotifications(notif, newTracker, policies);
     }
 
     /**
@@ -137,11 +154,86 @@ public class DeploymentStatus {
             return;
         }
 
+        if (pdpLoaded.containsKey(pdpGroup)) {
+            throw new IllegalStateException("group " + pdpGroup + " was already loaded for some of its PDPs");
+        }
+
         pdpGroupLoaded.add(pdpGroup);
 
-        for (PdpPolicyStatus status : policyStatusService.getGroupPolicyStatus(pdpGroup)) {
+        addRecords(policyStatusService.getGroupPolicyStatus(pdpGroup));
+    }
+
+    /**
+     * Loads policy deployment status associated with one PDP of a PDP group. Only the
+     * PDP's records are loaded; the records of the group's other PDPs are merely counted,
+     * so that notifications still reflect the whole group. Thereafter, only the PDP's
+     * records may be changed. As completing an undeployment affects the records of every
+     * PDP in the group, the whole group is loaded if the PDP has any undeployment records.
+     *
+     * @param pdpGroup group containing the PDP
+     * @param pdpId PDP whose records are to be loaded
+     */
+    public void loadByPdp(String pdpGroup, String pdpId) {
+        loadByPdps(pdpGroup, Set.of(pdpId));
+    }
+
+    /**
+     * Loads policy deployment status associated with some of the PDPs of a PDP group.
+     * Behaves like {@link #loadByPdp(String, String)}, except that the records of all of
+     * the given PDPs are loaded, and only the records of the group's remaining PDPs are
+     * counted.
+     *
+     * @param pdpGroup group containing the PDPs
+     * @param pdpIds PDPs whose records are to be loaded
+     */
+    public void loadByPdps(String pdpGroup, Set<String> pdpIds) {
+        if (pdpGroupLoaded.contains(pdpGroup)) {
+            return;
+        }
+
+        Set<String> loadedPdpIds = pdpLoaded.get(pdpGroup);
+        if (loadedPdpIds != null) {
+            if (loadedPdpIds.containsAll(pdpIds)) {
+                return;
+            }
+
+            throw new IllegalStateException("group " + pdpGroup + " was already loaded for PDPs " + loadedPdpIds);
+        }
+
+        // a single PDP is excluded with a simpler query
+        String pdpId = (pdpIds.size() == 1 ? pdpIds.iterator().next() : null);
+
+        List<PdpPolicyStatus> records = (pdpId != null ? policyStatusService.getPdpPolicyStatus(pdpGroup, pdpId)
+            : policyStatusService.getPdpPolicyStatus(pdpGroup, pdpIds));
+        if (records.stream().anyMatch(status -> !status.isDeploy())) {
+            loadByGroup(pdpGroup);
+            return;
+        }
+
+        pdpLoaded.put(pdpGroup, Set.copyOf(pdpIds));
+
+        addRecords(records);
+
+        Map<PdpPolicyStatus, Long> counts = (pdpId != null
+            ? policyStatusService.countOtherPdpPolicyStatus(pdpGroup, pdpId)
+            : policyStatusService.countOtherPdpPolicyStatus(pdpGroup, pdpIds));
+        counts.forEach((status, count) -> {
+            tracker.add(status, Math.toIntExact(count));
+            otherPdpCounts.computeIfAbsent(status.getPolicy(), key -> new HashMap<>()).put(status, count);
+        });
+    }
+
+    /**
+     * Adds records, as loaded from the DB. Their policies are not marked as changed, thus
+     * only the policies whose records are subsequently changed are examined by
+     * {@link #flush(PolicyNotification)}.
+     *
+     * @param records records to be added
+     */
+    private void addRecords(List<PdpPolicyStatus> records) {
+        for (PdpPolicyStatus status : records) {
             var status2 = new StatusAction(Action.UNCHANGED, status);
-            recordMap.put(new StatusKey(status), status2);
+            recordMap.putUnchanged(new StatusKey(status), status2);
             tracker.add(status2);
         }
     }
@@ -188,9 +280,12 @@ public class DeploymentStatus {
 
         /*
          * update the records to indicate everything is now unchanged (i.e., matches what
-         * is in the DB)
+         * is in the DB). Removing the deleted records marks their policies as changed
+         * again, so that they are dropped from the tracker by the next flush
          */
 
+        recordMap.clearChanged();
+
         Iterator<StatusAction> iter = recordMap.values().iterator();
         while (iter.hasNext()) {
             StatusAction status = iter.next();
@@ -216,22 +311,27 @@ public class DeploymentStatus {
     }
 
     /**
-     * Deletes records for any policies that have been completely undeployed.
+     * Deletes records for any policies that have been completely undeployed. All loaded
+     * policies are examined, not just those whose records have changed, so that
+     * completed undeployments that were left behind (e.g., by a PAP that failed before
+     * deleting them) are also cleaned up.
      */
     protected void deleteUndeployments() {
-        // identify the incomplete policies
-
-        // @formatter:off
-        Set<ToscaConceptIdentifier> incomplete = recordMap.values().stream()
-            .filter(status -> status.getAction() != Action.DELETED)
-            .map(StatusAction::getStatus)
-            .filter(status -> status.getState() == State.WAITING)
-            .map(PdpPolicyStatus::getPolicy)
-            .collect(Collectors.toSet());
-        // @formatter:on
-
-        // delete if UNDEPLOYED and not incomplete
-        deleteDeployment((key, status) -> !status.getStatus().isDeploy() && !incomplete.contains(key.getPolicy()));
+        for (ToscaConceptIdentifier policy : recordMap.getPolicies()) {
+            List<StatusKey> keys = recordMap.getPolicyKeys(policy);
+
+            // @formatter:off
+            boolean incomplete = keys.stream()
+                .map(recordMap::get)
+                .filter(status -> status.getAction() != Action.DELETED)
+                .anyMatch(status -> status.getStatus().getState() == State.WAITING);
+            // @formatter:on
+
+            // delete if UNDEPLOYED and not incomplete
+            if (!incomplete) {
+                deleteDeployment(keys, status -> !status.getStatus().isDeploy());
+            }
+        }
     }
 
     /**
@@ -240,7 +340,62 @@ public class DeploymentStatus {
      * @param pdpId PDP whose records are to be deleted
      */
     public void deleteDeployment(String pdpId) {
-        deleteDeployment((key, status) -> key.getPdpId().equals(pdpId));
+        deleteDeployment(recordMap.getPdpKeys(pdpId), status -> true);
+    }
+
+    /**
+     * Deletes all deployment records of some of the PDPs of a group directly from the DB,
+     * without loading the records, adding policy status to the notification. The status
+     * of the affected policies is computed from record counts taken before and after the
+     * deletion. Undeployment records of policies that are thereby complete are deleted,
+     * too. As the records are not loaded, this must not be combined with the other
+     * methods for the same group.
+     *
+     * @param pdpGroup group containing the PDPs
+     * @param pdpIds PDPs whose records are to be deleted
+     * @param notif notification to which to add policy status
+     */
+    public void deletePdps(String pdpGroup, Set<String> pdpIds, PolicyNotification notif) {
+        Map<PdpPolicyStatus, Long> before = policyStatusService.countGroupPolicyStatus(pdpGroup);
+        Map<PdpPolicyStatus, Long> removed = policyStatusService.countPdpPolicyStatus(pdpGroup, pdpIds);
+
+        policyStatusService.deletePdpPolicyStatus(pdpGroup, pdpIds, removed);
+
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        Map<PdpPolicyStatus, Long> after = new HashMap<>(before);
+        removed.forEach((status, count) -> after.computeIfPresent(status,
+            (key, value) -> (value > count ? value - count : null)));
+
+        Set<ToscaConceptIdentifier> policies =
+            removed.keySet().stream().map(PdpPolicyStatus::getPolicy).collect(Collectors.toSet());
+
+        makeTracker(before).addNotifications(notif, makeTracker(after), policies);
+
+        // delete undeployments that are now complete
+        for (ToscaConceptIdentifier policy : policies) {
+            Map<PdpPolicyStatus, Long> remaining = new HashMap<>();
+            after.forEach((status, count) -> {
+                if (status.getPolicy().equals(policy)) {
+                    remaining.put(status, count);
+                }
+            });
+
+            if (remaining.keySet().stream().anyMatch(status -> !status.isDeploy())
+                && remaining.keySet().stream().noneMatch(status -> status.getState() == State.WAITING)) {
+                // only the undeployment records remain to be deleted
+                remaining.keySet().removeIf(PdpPolicyStatus::isDeploy);
+                policyStatusService.deleteUndeploymentPolicyStatus(pdpGroup, policy, remaining);
+            }
+        }
+    }
+
+    private static DeploymentTracker makeTracker(Map<PdpPolicyStatus, Long> counts) {
+        var newTracker = new DeploymentTracker();
+        counts.forEach((status, count) -> newTracker.add(status, Math.toIntExact(count)));
+        return newTracker;
     }
 
     /**
@@ -251,28 +406,27 @@ public class DeploymentStatus {
      *        undeployment records
      */
     public void deleteDeployment(ToscaConceptIdentifier policy, boolean deploy) {
-        deleteDeployment((key, status) -> status.getStatus().isDeploy() == deploy && key.getPolicy().equals(policy));
+        deleteDeployment(recordMap.getPolicyKeys(policy), status -> status.getStatus().isDeploy() == deploy);
     }
 
     /**
-     * Delete deployment records for a policy.
+     * Delete deployment records.
      *
-     * @param filter filter to identify records to be deleted
+     * @param keys keys of the candidate records
+     * @param filter filter to identify which of the candidate records are to be deleted
      */
-    private void deleteDeployment(BiPredicate<StatusKey, StatusAction> filter) {
-        Iterator<Entry<StatusKey, StatusAction>> iter = recordMap.entrySet().iterator();
-        while (iter.hasNext()) {
-            Entry<StatusKey, StatusAction> entry = iter.next();
-            StatusKey key = entry.getKey();
-            StatusAction value = entry.getValue();
+    private void deleteDeployment(List<StatusKey> keys, Predicate<StatusAction> filter) {
+        for (StatusKey key : keys) {
+            StatusAction value = recordMap.get(key);
 
-            if (filter.test(key, value)) {
+            if (filter.test(value)) {
                 if (value.getAction() == Action.CREATED) {
                     // it's a new record - just remove it
-                    iter.remove();
+                    recordMap.remove(key);
                 } else {
                     // it's an existing record - mark it for deletion
                     value.setAction(Action.DELETED);
+                    recordMap.markChanged(key.getPolicy());
                 }
             }
         }
@@ -342,11 +496,11 @@ public class DeploymentStatus {
     public void completeDeploy(String pdpId, Set<ToscaConceptIdentifier> expectedPolicies,
                     Set<ToscaConceptIdentifier> actualPolicies) {
 
-        for (StatusAction status : recordMap.values()) {
+        for (StatusKey key : recordMap.getPdpKeys(pdpId)) {
+            StatusAction status = recordMap.get(key);
             PdpPolicyStatus status2 = status.getStatus();
 
-            if (!status.getStatus().getPdpId().equals(pdpId)
-                            || expectedPolicies.contains(status2.getPolicy()) != status2.isDeploy()) {
+            if (expectedPolicies.contains(status2.getPolicy()) != status2.isDeploy()) {
                 /*
                  * The policy is "expected" to be deployed, but the record is not marked
                  * for deployment (or vice versa), which means the expected policy is out
@@ -365,6 +519,7 @@ public class DeploymentStatus {
             if (status2.getState() != state) {
                 status.setChanged();
                 status2.setState(state);
+                recordMap.markChanged(key.getPolicy());
             }
         }
     }
@@ -71,6 +71,52 @@ public class DeploymentTracker {
         addMissing(notif, newTracker);
     }
 
+    /**
+     * Compares this tracking data with new tracking data, for the given policies only,
+     * adding new policy status to a notification based on the differences. The tracking
+     * data of the given policies is then replaced with the new tracking data, while that
+     * of the other policies is left unchanged.
+     *
+     * @param notif notification to which to add policy status
+     * @param newTracker new tracking data for the given policies
+     * @param policies policies whose tracking data may have changed
+     */
+    public void addNotifications(PolicyNotification notif, DeploymentTracker newTracker,
+                    Collection<ToscaConceptIdentifier> policies) {
+
+        for (ToscaConceptIdentifier policy : policies) {
+            PolicyStatus oldDeploy = deployMap.get(policy);
+            PolicyStatus newDeploy = newTracker.deployMap.get(policy);
+
+            if (newDeploy != null) {
+                if (needNotification(oldDeploy, newDeploy)) {
+                    notif.getAdded().add(newDeploy);
+                }
+
+            } else if (oldDeploy != null && oldDeploy.getIncompleteCount() == 0) {
+                // no longer deployed - see addMissing()
+                notif.getAdded().add(makeMissing(oldDeploy));
+            }
+
+            PolicyStatus newUndeploy = newTracker.undeployMap.get(policy);
+            if (newUndeploy != null && needNotification(undeployMap.get(policy), newUndeploy)) {
+                notif.getDeleted().add(newUndeploy);
+            }
+
+            replace(deployMap, policy, newDeploy);
+            replace(undeployMap, policy, newUndeploy);
+        }
+    }
+
+    private static void replace(Map<ToscaConceptIdentifier, PolicyStatus> map, ToscaConceptIdentifier policy,
+                    PolicyStatus status) {
+        if (status == null) {
+            map.remove(policy);
+        } else {
+            map.put(policy, status);
+        }
+    }
+
     /**
      * Merges original tracking data with new tracking data, adding new policy status to
      * the given list.
@@ -136,15 +182,7 @@ public class DeploymentTracker {
                 continue;
             }
 
-            // no longer deployed
-            PolicyStatus status = entry.getValue();
-
-            // create a status with counts that are all zero
-            var newStatus = new PolicyStatus();
-            newStatus.setPolicyId(status.getPolicyId());
-            newStatus.setPolicyVersion(status.getPolicyVersion());
-            newStatus.setPolicyTypeId(status.getPolicyTypeId());
-            newStatus.setPolicyTypeVersion(status.getPolicyTypeVersion());
+            // no longer deployed - report a status with counts that are all zero
 
             /*
              * Adding the status to the "added" set may be a bit unexpected, but when all
@@ -154,10 +192,25 @@ public class DeploymentTracker {
              * continue on; the client can always undeploy the policy when it receives the
              * notification, if so desired.
              */
-            notif.getAdded().add(newStatus);
+            notif.getAdded().add(makeMissing(entry.getValue()));
         }
     }
 
+    /**
+     * Makes the status of a policy that is no longer deployed.
+     *
+     * @param status the policy's previous status
+     * @return a status with counts that are all zero
+     */
+    private static PolicyStatus makeMissing(PolicyStatus status) {
+        var newStatus = new PolicyStatus();
+        newStatus.setPolicyId(status.getPolicyId());
+        newStatus.setPolicyVersion(status.getPolicyVersion());
+        newStatus.setPolicyTypeId(status.getPolicyTypeId());
+        newStatus.setPolicyTypeVersion(status.getPolicyTypeVersion());
+        return newStatus;
+    }
+
     /**
      * Adds status to the tracking data. Assumes the associated PDP/policy pair has not be
      * added before.
@@ -179,6 +232,17 @@ public class DeploymentTracker {
      * @param status status to be added
      */
     public void add(PdpPolicyStatus status) {
+        add(status, 1);
+    }
+
+    /**
+     * Adds status to the tracking data, as if the status had been added the given number
+     * of times.
+     *
+     * @param status status to be added
+     * @param count number of records represented by the status
+     */
+    public void add(PdpPolicyStatus status, int count) {
 
         ToscaConceptIdentifier policy = status.getPolicy();
 
@@ -197,13 +261,13 @@ public class DeploymentTracker {
         // bump the relevant count
         switch (status.getState()) {
             case SUCCESS:
-                newStat.setSuccessCount(newStat.getSuccessCount() + 1);
+                newStat.setSuccessCount(newStat.getSuccessCount() + count);
                 break;
             case FAILURE:
-                newStat.setFailureCount(newStat.getFailureCount() + 1);
+                newStat.setFailureCount(newStat.getFailureCount() + count);
                 break;
             default:
-                newStat.setIncompleteCount(newStat.getIncompleteCount() + 1);
+                newStat.setIncompleteCount(newStat.getIncompleteCount() + count);
                 break;
         }
     }
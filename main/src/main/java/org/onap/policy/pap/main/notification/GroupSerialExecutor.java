@@ -0,0 +1,226 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes tasks on a pool of threads, serializing the tasks of each group. Tasks of the
+ * same group are executed in the order in which they were submitted, one at a time,
+ * while tasks of different groups may be executed in parallel. A group occupies a thread
+ * only while it has tasks waiting to be executed.
+ */
+class GroupSerialExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(GroupSerialExecutor.class);
+
+    private final ExecutorService executor;
+
+    /**
+     * Maps a group to the tasks that are waiting to be executed. A group appears in the
+     * map only while it is being drained by one of the threads.
+     */
+    private final Map<String, Deque<Runnable>> groups = new HashMap<>();
+
+    /**
+     * Number of tasks waiting to be executed, across all groups.
+     */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /**
+     * Number of tasks that have been submitted, but have not yet completed.
+     */
+    private int incomplete = 0;
+
+    /**
+     * Constructs the object.
+     *
+     * @param name name of the executor, used to name its threads and its metric
+     * @param nthreads number of threads on which tasks are executed
+     * @param meterRegistry registry with which the queue-depth metric is registered
+     */
+    public GroupSerialExecutor(String name, int nthreads, MeterRegistry meterRegistry) {
+        Gauge.builder("pap_" + name.replace('-', '_') + "_queue_depth", depth, AtomicInteger::get)
+            .description("Number of tasks waiting to be executed").register(meterRegistry);
+
+        var threadCount = new AtomicInteger();
+        this.executor = makeExecutor(nthreads, runner -> {
+            var thread = new Thread(runner, name + "-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the number of tasks waiting to be executed.
+     *
+     * @return the number of waiting tasks
+     */
+    public int size() {
+        return depth.get();
+    }
+
+    /**
+     * Submits a task for execution.
+     *
+     * @param group group with which the task is associated
+     * @param task task to be executed
+     */
+    public void execute(String group, Runnable task) {
+        synchronized (this) {
+            ++incomplete;
+            depth.incrementAndGet();
+
+            Deque<Runnable> tasks = groups.get(group);
+            if (tasks != null) {
+                // the group is already being drained
+                tasks.add(task);
+                return;
+            }
+
+            tasks = new ArrayDeque<>();
+            tasks.add(task);
+            groups.put(group, tasks);
+        }
+
+        try {
+            executor.execute(() -> drain(group));
+
+        } catch (RejectedExecutionException e) {
+            logger.warn("discarded task for group {} - executor is stopped", group);
+
+            synchronized (this) {
+                Deque<Runnable> tasks = groups.remove(group);
+                int ndiscarded = (tasks == null ? 0 : tasks.size());
+                depth.addAndGet(-ndiscarded);
+                incomplete = Math.max(0, incomplete - ndiscarded);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every task that has been submitted has completed.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized void awaitIdle() throws InterruptedException {
+        while (incomplete > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Waits, for a bounded time, until every task that has been submitted has completed.
+     *
+     * @param timeoutMs maximum time, in milliseconds, to wait
+     * @return {@code true} if every task has completed, {@code false} if the time
+     *         elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+
+        while (incomplete > 0) {
+            long remainingMs = deadline - System.currentTimeMillis();
+            if (remainingMs <= 0) {
+                return false;
+            }
+
+            wait(remainingMs);
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops the threads. Tasks that have not yet been executed are discarded; use
+     * {@link #awaitIdle(long)} beforehand to let them complete.
+     */
+    public void stop() {
+        executor.shutdownNow();
+
+        synchronized (this) {
+            int ndiscarded = groups.values().stream().mapToInt(Deque::size).sum();
+            groups.clear();
+            depth.addAndGet(-ndiscarded);
+            incomplete = 0;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Executes the tasks of a group until none remain.
+     *
+     * @param group group whose tasks are to be executed
+     */
+    private void drain(String group) {
+        for (;;) {
+            Runnable task;
+
+            synchronized (this) {
+                Deque<Runnable> tasks = groups.get(group);
+                task = (tasks == null ? null : tasks.poll());
+                if (task == null) {
+                    groups.remove(group);
+                    return;
+                }
+
+                depth.decrementAndGet();
+            }
+
+            try {
+                task.run();
+
+            } catch (RuntimeException e) {
+                logger.warn("task failed for group {}", group, e);
+
+            } finally {
+                completed();
+            }
+        }
+    }
+
+    private synchronized void completed() {
+        if (incomplete > 0) {
+            --incomplete;
+        }
+
+        notifyAll();
+    }
+
+    // this may be overridden by junit tests
+
+    protected ExecutorService makeExecutor(int nthreads, ThreadFactory threadFactory) {
+        return Executors.newFixedThreadPool(nthreads, threadFactory);
+    }
+}
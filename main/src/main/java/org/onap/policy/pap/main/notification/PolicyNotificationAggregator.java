@@ -0,0 +1,239 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.onap.policy.models.pap.concepts.PolicyNotification;
+import org.onap.policy.models.pap.concepts.PolicyStatus;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges notifications that are generated in quick succession, so that they can be
+ * published as a single message. The status of a policy in a later notification replaces
+ * its status in an earlier one. The merged notification is published once no notification
+ * has been added for the debounce period, or once the oldest of its notifications has
+ * been waiting for the maximum latency, whichever comes first.
+ */
+class PolicyNotificationAggregator {
+    private static final Logger logger = LoggerFactory.getLogger(PolicyNotificationAggregator.class);
+
+    private final long debounceMs;
+    private final long maxLatencyMs;
+    private final Consumer<PolicyNotification> sink;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Counts notifications that were merged into another, rather than being published
+     * separately.
+     */
+    private final Counter savedCounter;
+
+    /**
+     * Deployment status waiting to be published, by policy, in the order in which the
+     * policies were first added.
+     */
+    private final Map<ToscaConceptIdentifier, PolicyStatus> added = new LinkedHashMap<>();
+
+    /**
+     * Undeployment status waiting to be published, by policy.
+     */
+    private final Map<ToscaConceptIdentifier, PolicyStatus> deleted = new LinkedHashMap<>();
+
+    /**
+     * Time at which the first of the pending notifications was added.
+     */
+    private long firstMs;
+
+    /**
+     * Time at which the most recent of the pending notifications was added.
+     */
+    private long lastMs;
+
+    /**
+     * {@code true} if the timer has been scheduled to publish the pending notification.
+     */
+    private boolean scheduled = false;
+
+    private boolean stopped = false;
+
+    /**
+     * Constructs the object.
+     *
+     * @param debounceMs time, in milliseconds, to wait for further notifications before
+     *        publishing the merged notification
+     * @param maxLatencyMs maximum time, in milliseconds, that a notification may wait
+     *        before it is published
+     * @param meterRegistry registry with which the metrics are registered
+     * @param sink where merged notifications are to be published
+     */
+    public PolicyNotificationAggregator(long debounceMs, long maxLatencyMs, MeterRegistry meterRegistry,
+                    Consumer<PolicyNotification> sink) {
+        this.debounceMs = debounceMs;
+        this.maxLatencyMs = Math.max(debounceMs, maxLatencyMs);
+        this.sink = sink;
+
+        savedCounter = Counter.builder("pap_policy_notifications_saved")
+            .description("Number of notifications merged into another rather than published separately")
+            .register(meterRegistry);
+
+        this.timer = makeTimer();
+    }
+
+    /**
+     * Adds a notification, merging it with any notification that is waiting to be
+     * published. Once stopped, notifications are published immediately.
+     *
+     * @param notification notification to be added
+     */
+    public void add(PolicyNotification notification) {
+        if (notification.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!stopped) {
+                merge(notification);
+                return;
+            }
+        }
+
+        sink.accept(notification);
+    }
+
+    /**
+     * Stops the aggregator, publishing any pending notification.
+     */
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+        }
+
+        timer.shutdownNow();
+        publishPending();
+    }
+
+    private void merge(PolicyNotification notification) {
+        boolean pending = !(added.isEmpty() && deleted.isEmpty());
+
+        notification.getAdded().forEach(status -> added.put(status.getPolicy(), status));
+        notification.getDeleted().forEach(status -> deleted.put(status.getPolicy(), status));
+
+        lastMs = currentTimeMs();
+
+        if (pending) {
+            savedCounter.increment();
+        } else {
+            firstMs = lastMs;
+        }
+
+        if (!scheduled) {
+            schedule(debounceMs);
+        }
+    }
+
+    /**
+     * Schedules the timer to check the pending notification after the given delay.
+     *
+     * @param delayMs delay, in milliseconds
+     */
+    private void schedule(long delayMs) {
+        try {
+            timer.schedule(this::expire, delayMs, TimeUnit.MILLISECONDS);
+            scheduled = true;
+
+        } catch (RejectedExecutionException e) {
+            // only happens once stopped, at which point the pending notification is published
+            logger.warn("cannot schedule publication of notification", e);
+        }
+    }
+
+    /**
+     * Invoked by the timer. Publishes the pending notification, if it is due; otherwise,
+     * re-schedules the timer.
+     */
+    private void expire() {
+        synchronized (this) {
+            scheduled = false;
+
+            long dueMs = Math.min(lastMs + debounceMs, firstMs + maxLatencyMs);
+            long delayMs = dueMs - currentTimeMs();
+            if (delayMs > 0 && !stopped) {
+                schedule(delayMs);
+                return;
+            }
+        }
+
+        publishPending();
+    }
+
+    /**
+     * Publishes the pending notification, if there is one.
+     */
+    private void publishPending() {
+        var notification = new PolicyNotification();
+
+        synchronized (this) {
+            notification.getAdded().addAll(added.values());
+            notification.getDeleted().addAll(deleted.values());
+
+            added.clear();
+            deleted.clear();
+        }
+
+        if (!notification.isEmpty()) {
+            sink.accept(notification);
+        }
+    }
+
+    /**
+     * Gets the number of policies whose status is waiting to be published.
+     *
+     * @return the number of pending policy status entries
+     */
+    public synchronized int size() {
+        return added.size() + deleted.size();
+    }
+
+
+    // these may be overridden by junit tests
+
+    protected ScheduledExecutorService makeTimer() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "policy-notification-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+}
@@ -22,20 +22,38 @@
 
 package org.onap.policy.pap.main.notification;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.Value;
 import org.onap.policy.models.pap.concepts.PolicyNotification;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.pap.main.comm.Publisher;
 import org.onap.policy.pap.main.comm.QueueToken;
+import org.onap.policy.pap.main.parameters.PdpParameters;
 import org.onap.policy.pap.main.service.PolicyStatusService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
- * Notifier for completion of policy updates.
+ * Notifier for completion of policy updates. Once started, responses are processed in
+ * the background, serially for each PDP group, so that the thread delivering a response
+ * need not wait for the deployment status to be updated; responses for different groups
+ * are processed in parallel. A group's responses are collected for a short window and
+ * then applied to its deployment status all at once, with a single flush to the DB. Until
+ * it is started, responses are processed by the thread delivering them. In addition, once
+ * started, notifications generated in quick succession are merged before they are
+ * published.
  */
 @RequiredArgsConstructor
 @Component
@@ -51,7 +69,170 @@ public class PolicyNotifier {
     private Publisher<PolicyNotification> publisher;
 
     /**
-     * Processes a response from a PDP.
+     * Executes the status updates, or {@code null} if responses are to be processed by
+     * the thread delivering them.
+     */
+    private GroupSerialExecutor executor;
+
+    /**
+     * Responses that have been received but not yet applied, by group.
+     */
+    private final Map<String, List<PdpResponse>> batches = new HashMap<>();
+
+    /**
+     * Submits a group's responses once its window expires, or {@code null} if responses
+     * are submitted without waiting.
+     */
+    private ScheduledExecutorService timer;
+
+    private long batchWindowMs;
+    private int maxBatchSize = 1;
+    private long stopTimeoutMs;
+
+    /**
+     * Merges notifications before they are published, or {@code null} if notifications
+     * are to be published immediately.
+     */
+    private PolicyNotificationAggregator aggregator;
+
+    /**
+     * Starts processing responses in the background.
+     *
+     * @param params parameters specifying the number of threads, how responses are
+     *        batched, and how notifications are merged; if the number of threads is zero,
+     *        responses continue to be processed on the thread delivering them
+     * @param meterRegistry registry with which the metrics are registered
+     */
+    public synchronized void start(PdpParameters params, MeterRegistry meterRegistry) {
+        if (params.getNotificationDebounceMs() > 0) {
+            aggregator = makeAggregator(params.getNotificationDebounceMs(), params.getNotificationMaxLatencyMs(),
+                meterRegistry);
+        }
+
+        if (params.getNotifierThreads() <= 0) {
+            return;
+        }
+
+        batchWindowMs = params.getNotifierBatchWindowMs();
+        maxBatchSize = params.getNotifierMaxBatchSize();
+        stopTimeoutMs = params.getNotifierStopTimeoutMs();
+
+        if (batchWindowMs > 0) {
+            timer = makeTimer();
+        }
+
+        executor = makeExecutor(params.getNotifierThreads(), meterRegistry);
+    }
+
+    /**
+     * Stops processing responses in the background. Responses that have been received are
+     * first processed, waiting up to the configured stop timeout for them to complete;
+     * any that remain after that are discarded. Notifications waiting to be merged are
+     * then published.
+     */
+    public void stop() {
+        ScheduledExecutorService tmr;
+        GroupSerialExecutor exec;
+        long timeoutMs;
+        synchronized (this) {
+            tmr = timer;
+            timer = null;
+            exec = executor;
+            timeoutMs = stopTimeoutMs;
+        }
+
+        if (tmr != null) {
+            tmr.shutdownNow();
+        }
+
+        if (exec != null) {
+            // the tasks publish notifications, thus this must not hold the lock
+            submitPending(exec);
+            drain(exec, timeoutMs);
+        }
+
+        PolicyNotificationAggregator agg;
+        synchronized (this) {
+            executor = null;
+            agg = aggregator;
+            aggregator = null;
+        }
+
+        if (exec != null) {
+            exec.stop();
+        }
+
+        synchronized (batches) {
+            int discarded = batches.values().stream().mapToInt(List::size).sum();
+            if (discarded > 0) {
+                logger.warn("discarded {} unprocessed PDP responses", discarded);
+            }
+            batches.clear();
+        }
+
+        if (agg != null) {
+            agg.stop();
+        }
+    }
+
+    /**
+     * Waits, for a bounded time, for the executor's tasks to complete.
+     *
+     * @param exec executor whose tasks are to complete
+     * @param timeoutMs maximum time, in milliseconds, to wait
+     */
+    private void drain(GroupSerialExecutor exec, long timeoutMs) {
+        try {
+            if (!exec.awaitIdle(timeoutMs)) {
+                logger.warn("PDP responses still being processed after {} ms", timeoutMs);
+            }
+
+        } catch (InterruptedException e) {
+            logger.warn("interrupted while waiting for responses to be processed");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until all responses that have been received have been processed. Must be
+     * invoked while holding the PDP modification lock, before the deployment status is
+     * updated, so that those updates don't interleave with the processing of responses.
+     */
+    public void awaitIdle() {
+        GroupSerialExecutor exec = getExecutor();
+        if (exec == null) {
+            return;
+        }
+
+        submitPending(exec);
+
+        try {
+            exec.awaitIdle();
+
+        } catch (InterruptedException e) {
+            logger.warn("interrupted while waiting for responses to be processed");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Submits every pending batch, without waiting for its window to expire.
+     *
+     * @param exec executor to which the batches are to be submitted
+     */
+    private void submitPending(GroupSerialExecutor exec) {
+        List<String> groups;
+        synchronized (batches) {
+            groups = new ArrayList<>(batches.keySet());
+        }
+
+        groups.forEach(group -> submitBatch(exec, group));
+    }
+
+    /**
+     * Processes a response from a PDP. The response is processed in the background, if
+     * the notifier has been started, along with the other responses received for the
+     * same group.
      *
      * @param pdp PDP of interest
      * @param pdpGroup name of the PdpGroup containing the PDP
@@ -59,13 +240,112 @@ public class PolicyNotifier {
      * @param actualPolicies policies that are still active on the PDP, as specified in
      *        the response
      */
-    public synchronized void processResponse(String pdp, String pdpGroup, Set<ToscaConceptIdentifier> expectedPolicies,
+    public void processResponse(String pdp, String pdpGroup, Set<ToscaConceptIdentifier> expectedPolicies,
                     Set<ToscaConceptIdentifier> actualPolicies) {
 
+        var response = new PdpResponse(pdp, expectedPolicies, actualPolicies);
+
+        GroupSerialExecutor exec = getExecutor();
+        if (exec == null) {
+            updateStatus(pdpGroup, List.of(response));
+            return;
+        }
+
+        int maxSize = getMaxBatchSize();
+        List<PdpResponse> full = null;
+        boolean first;
+
+        synchronized (batches) {
+            List<PdpResponse> batch = batches.computeIfAbsent(pdpGroup, key -> new ArrayList<>());
+            batch.add(response);
+            first = (batch.size() == 1);
+
+            if (batch.size() >= maxSize) {
+                full = batches.remove(pdpGroup);
+            }
+        }
+
+        if (full != null) {
+            List<PdpResponse> responses = full;
+            exec.execute(pdpGroup, () -> updateStatus(pdpGroup, responses));
+
+        } else if (first) {
+            scheduleBatch(exec, pdpGroup);
+        }
+    }
+
+    /**
+     * Arranges for a group's batch to be submitted once its window expires.
+     *
+     * @param exec executor to which the batch is to be submitted
+     * @param pdpGroup group whose batch is to be submitted
+     */
+    private void scheduleBatch(GroupSerialExecutor exec, String pdpGroup) {
+        ScheduledExecutorService tmr;
+        long windowMs;
+        synchronized (this) {
+            tmr = timer;
+            windowMs = batchWindowMs;
+        }
+
+        if (tmr == null) {
+            // no window - responses received before the task runs will still be batched
+            submitBatch(exec, pdpGroup);
+            return;
+        }
+
+        try {
+            tmr.schedule(() -> submitBatch(exec, pdpGroup), windowMs, TimeUnit.MILLISECONDS);
+
+        } catch (RuntimeException e) {
+            logger.warn("cannot schedule deployment status update for group {}", pdpGroup, e);
+            submitBatch(exec, pdpGroup);
+        }
+    }
+
+    /**
+     * Submits a task to apply a group's batch. The batch is not removed until the task
+     * runs, thus it includes any responses received while the task is queued.
+     *
+     * @param exec executor to which the task is to be submitted
+     * @param pdpGroup group whose batch is to be applied
+     */
+    private void submitBatch(GroupSerialExecutor exec, String pdpGroup) {
+        exec.execute(pdpGroup, () -> {
+            List<PdpResponse> batch;
+            synchronized (batches) {
+                batch = batches.remove(pdpGroup);
+            }
+
+            if (batch != null) {
+                updateStatus(pdpGroup, batch);
+            }
+        });
+    }
+
+    /**
+     * Updates the deployment status of a group, as per the responses of some of its PDPs.
+     * The responses are applied within a single deployment status session, which loads
+     * the records of the responding PDPs only.
+     *
+     * @param pdpGroup name of the PdpGroup containing the PDPs
+     * @param responses responses to be applied
+     */
+    private void updateStatus(String pdpGroup, List<PdpResponse> responses) {
         try {
             DeploymentStatus status = makeDeploymentTracker();
-            status.loadByGroup(pdpGroup);
-            status.completeDeploy(pdp, expectedPolicies, actualPolicies);
+
+            if (responses.size() == 1) {
+                status.loadByPdp(pdpGroup, responses.get(0).getPdp());
+            } else {
+                status.loadByPdps(pdpGroup,
+                    responses.stream().map(PdpResponse::getPdp).collect(Collectors.toSet()));
+            }
+
+            for (PdpResponse response : responses) {
+                status.completeDeploy(response.getPdp(), response.getExpectedPolicies(),
+                    response.getActualPolicies());
+            }
 
             var notification = new PolicyNotification();
             status.flush(notification);
@@ -78,19 +358,69 @@ public class PolicyNotifier {
     }
 
     /**
-     * Publishes a notification, if it is not empty.
+     * Publishes a notification, if it is not empty. Once started, the notification may be
+     * merged with others before it is published.
      *
      * @param notification notification to be published
      */
-    public synchronized void publish(PolicyNotification notification) {
+    public void publish(PolicyNotification notification) {
+        PolicyNotificationAggregator agg = getAggregator();
+        if (agg == null) {
+            enqueue(notification);
+        } else {
+            agg.add(notification);
+        }
+    }
+
+    private synchronized void enqueue(PolicyNotification notification) {
         if (!notification.isEmpty()) {
             publisher.enqueue(new QueueToken<>(notification));
         }
     }
 
 
+    private synchronized GroupSerialExecutor getExecutor() {
+        return executor;
+    }
+
+    private synchronized PolicyNotificationAggregator getAggregator() {
+        return aggregator;
+    }
+
+    private synchronized int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * A response received from a PDP.
+     */
+    @Value
+    private static class PdpResponse {
+        String pdp;
+        Set<ToscaConceptIdentifier> expectedPolicies;
+        Set<ToscaConceptIdentifier> actualPolicies;
+    }
+
+
     // the following methods may be overridden by junit tests
 
+    protected GroupSerialExecutor makeExecutor(int nthreads, MeterRegistry meterRegistry) {
+        return new GroupSerialExecutor("policy-notifier", nthreads, meterRegistry);
+    }
+
+    protected PolicyNotificationAggregator makeAggregator(long debounceMs, long maxLatencyMs,
+                    MeterRegistry meterRegistry) {
+        return new PolicyNotificationAggregator(debounceMs, maxLatencyMs, meterRegistry, this::enqueue);
+    }
+
+    protected ScheduledExecutorService makeTimer() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "policy-notifier-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     protected DeploymentStatus makeDeploymentTracker() {
         return new DeploymentStatus(policyStatusService);
     }
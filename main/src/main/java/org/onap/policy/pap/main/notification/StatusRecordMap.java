@@ -0,0 +1,230 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.notification;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+/**
+ * Map of status records, indexed by PDP and by policy, so that the records of a given
+ * PDP or policy can be found without scanning every record. The indexes are kept in
+ * sync with the map however it is modified, including via its iterators. In addition,
+ * the map tracks the policies whose records have changed, so that only those need be
+ * examined when the changes are flushed. As records may be modified in place, such
+ * changes must be reported via {@link #markChanged(ToscaConceptIdentifier)}.
+ */
+class StatusRecordMap extends AbstractMap<StatusKey, StatusAction> {
+    private final Map<StatusKey, StatusAction> records = new HashMap<>();
+    private final Map<String, Set<StatusKey>> pdpIndex = new HashMap<>();
+    private final Map<ToscaConceptIdentifier, Set<StatusKey>> policyIndex = new HashMap<>();
+
+    /**
+     * Policies whose records have been added, removed, or changed since
+     * {@link #clearChanged()} was last invoked.
+     */
+    private final Set<ToscaConceptIdentifier> changedPolicies = new HashSet<>();
+
+    private final Set<Entry<StatusKey, StatusAction>> entrySet = new EntrySet();
+
+    /**
+     * Gets the keys of the records of a PDP.
+     *
+     * @param pdpId PDP of interest
+     * @return a new list containing the keys of the PDP's records
+     */
+    public List<StatusKey> getPdpKeys(String pdpId) {
+        return new ArrayList<>(pdpIndex.getOrDefault(pdpId, Collections.emptySet()));
+    }
+
+    /**
+     * Gets the keys of the records of a policy.
+     *
+     * @param policy policy of interest
+     * @return a new list containing the keys of the policy's records
+     */
+    public List<StatusKey> getPolicyKeys(ToscaConceptIdentifier policy) {
+        return new ArrayList<>(policyIndex.getOrDefault(policy, Collections.emptySet()));
+    }
+
+    /**
+     * Gets the policies having records.
+     *
+     * @return a new set containing the policies having records
+     */
+    public Set<ToscaConceptIdentifier> getPolicies() {
+        return new HashSet<>(policyIndex.keySet());
+    }
+
+    /**
+     * Indicates that a record of a policy has changed.
+     *
+     * @param policy policy whose record has changed
+     */
+    public void markChanged(ToscaConceptIdentifier policy) {
+        changedPolicies.add(policy);
+    }
+
+    /**
+     * Gets the policies whose records have changed.
+     *
+     * @return a new set containing the policies whose records have changed
+     */
+    public Set<ToscaConceptIdentifier> getChangedPolicies() {
+        return new HashSet<>(changedPolicies);
+    }
+
+    /**
+     * Clears the set of policies whose records have changed.
+     */
+    public void clearChanged() {
+        changedPolicies.clear();
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return records.containsKey(key);
+    }
+
+    @Override
+    public StatusAction get(Object key) {
+        return records.get(key);
+    }
+
+    /**
+     * Adds a record that matches what is in the DB, without marking its policy as
+     * changed.
+     *
+     * @param key record's key
+     * @param value record to be added
+     * @return the record previously associated with the key, or {@code null}
+     */
+    public StatusAction putUnchanged(StatusKey key, StatusAction value) {
+        StatusAction old = records.put(key, value);
+        if (old == null) {
+            addIndex(pdpIndex, key.getPdpId(), key);
+            addIndex(policyIndex, key.getPolicy(), key);
+        }
+
+        return old;
+    }
+
+    @Override
+    public StatusAction put(StatusKey key, StatusAction value) {
+        changedPolicies.add(key.getPolicy());
+        return putUnchanged(key, value);
+    }
+
+    @Override
+    public StatusAction remove(Object key) {
+        if (!records.containsKey(key)) {
+            return null;
+        }
+
+        var key2 = (StatusKey) key;
+        removeIndex(pdpIndex, key2.getPdpId(), key2);
+        removeIndex(policyIndex, key2.getPolicy(), key2);
+        changedPolicies.add(key2.getPolicy());
+
+        return records.remove(key2);
+    }
+
+    @Override
+    public void clear() {
+        changedPolicies.addAll(policyIndex.keySet());
+        records.clear();
+        pdpIndex.clear();
+        policyIndex.clear();
+    }
+
+    @Override
+    public Set<Entry<StatusKey, StatusAction>> entrySet() {
+        return entrySet;
+    }
+
+    private static <T> void addIndex(Map<T, Set<StatusKey>> index, T indexKey, StatusKey key) {
+        index.computeIfAbsent(indexKey, unused -> new HashSet<>()).add(key);
+    }
+
+    private static <T> void removeIndex(Map<T, Set<StatusKey>> index, T indexKey, StatusKey key) {
+        index.computeIfPresent(indexKey, (unused, keys) -> {
+            keys.remove(key);
+            return (keys.isEmpty() ? null : keys);
+        });
+    }
+
+    /**
+     * Entry set whose iterator removes entries from the indexes, too.
+     */
+    private class EntrySet extends AbstractSet<Entry<StatusKey, StatusAction>> {
+        @Override
+        public int size() {
+            return records.size();
+        }
+
+        @Override
+        public Iterator<Entry<StatusKey, StatusAction>> iterator() {
+            Iterator<Entry<StatusKey, StatusAction>> iter = records.entrySet().iterator();
+
+            return new Iterator<>() {
+                private Entry<StatusKey, StatusAction> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public Entry<StatusKey, StatusAction> next() {
+                    current = iter.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    iter.remove();
+                    StatusKey key = current.getKey();
+                    removeIndex(pdpIndex, key.getPdpId(), key);
+                    removeIndex(policyIndex, key.getPolicy(), key);
+                    changedPolicies.add(key.getPolicy());
+                }
+            };
+        }
+
+        @Override
+        public void clear() {
+            StatusRecordMap.this.clear();
+        }
+    }
+}
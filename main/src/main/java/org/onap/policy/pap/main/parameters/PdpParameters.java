@@ -45,6 +45,98 @@ public class PdpParameters extends ParameterGroupImpl {
      */
     public static final long DEFAULT_MAX_AGE_MS = TimeUnit.MILLISECONDS.convert(10, TimeUnit.MINUTES);
 
+    /**
+     * Default interval, in milliseconds, after which the cached PDP group topology is
+     * reloaded from the DB, so that changes made by other PAP instances are picked up.
+     */
+    public static final long DEFAULT_TOPOLOGY_REFRESH_MS = TimeUnit.MILLISECONDS.convert(30, TimeUnit.SECONDS);
+
+    /**
+     * Default interval, in milliseconds, after which the in-memory deployment status
+     * aggregates are reloaded from the DB, so that changes made by other PAP instances
+     * are picked up.
+     */
+    public static final long DEFAULT_DEPLOYMENT_AGGREGATES_REFRESH_MS =
+        TimeUnit.MILLISECONDS.convert(60, TimeUnit.SECONDS);
+
+    /**
+     * Default interval, in milliseconds, at which buffered PDP liveness updates are
+     * written to the DB.
+     */
+    public static final long DEFAULT_LIVENESS_FLUSH_MS = TimeUnit.MILLISECONDS.convert(1, TimeUnit.SECONDS);
+
+    /**
+     * Default number of lanes on which PDP status messages are processed in parallel.
+     */
+    public static final int DEFAULT_HEARTBEAT_LANES = 4;
+
+    /**
+     * Default maximum number of PDP status messages that may be queued for processing.
+     */
+    public static final int DEFAULT_HEARTBEAT_QUEUE_CAPACITY = 1000;
+
+    /**
+     * Default number of threads on which PDP responses are processed, to update the
+     * deployment status.
+     */
+    public static final int DEFAULT_NOTIFIER_THREADS = 4;
+
+    /**
+     * Default time, in milliseconds, for which PDP responses are collected before the
+     * deployment status of their group is updated.
+     */
+    public static final long DEFAULT_NOTIFIER_BATCH_WINDOW_MS = 100;
+
+    /**
+     * Default maximum time, in milliseconds, to wait for pending PDP responses to be
+     * processed when the notifier is stopped.
+     */
+    public static final long DEFAULT_NOTIFIER_STOP_TIMEOUT_MS = TimeUnit.MILLISECONDS.convert(5, TimeUnit.SECONDS);
+
+    /**
+     * Default maximum number of PDP responses applied to the deployment status at once.
+     */
+    public static final int DEFAULT_NOTIFIER_MAX_BATCH_SIZE = 200;
+
+    /**
+     * Default time, in milliseconds, to wait for further notifications before publishing
+     * the merged notification.
+     */
+    public static final long DEFAULT_NOTIFICATION_DEBOUNCE_MS = 200;
+
+    /**
+     * Default maximum time, in milliseconds, that a notification may be delayed.
+     */
+    public static final long DEFAULT_NOTIFICATION_MAX_LATENCY_MS = 2000;
+
+    /**
+     * Default number of lanes on which messages are published to the PDPs.
+     */
+    public static final int DEFAULT_PDP_PUBLISHER_LANES = 4;
+
+    /**
+     * Default maximum number of messages a publisher lane takes from its queue at once.
+     */
+    public static final int DEFAULT_PUBLISHER_MAX_BATCH_SIZE = 100;
+
+    /**
+     * Default maximum number of node templates retained in the node template cache.
+     */
+    public static final int DEFAULT_NODE_TEMPLATE_CACHE_MAX_ENTRIES = 1000;
+
+    /**
+     * Default time, in milliseconds, after which a cached node template expires.
+     */
+    public static final long DEFAULT_NODE_TEMPLATE_CACHE_EXPIRE_MS =
+        TimeUnit.MILLISECONDS.convert(30, TimeUnit.SECONDS);
+
+    /**
+     * Default age, in milliseconds, beyond which the service template snapshot is
+     * reloaded from the DB.
+     */
+    public static final long DEFAULT_SERVICE_TEMPLATE_SNAPSHOT_MAX_AGE_MS =
+        TimeUnit.MILLISECONDS.convert(30, TimeUnit.SECONDS);
+
 
     @Min(1)
     private long heartBeatMs;
@@ -52,6 +144,115 @@ public class PdpParameters extends ParameterGroupImpl {
     @Min(1)
     private long maxMessageAgeMs =  DEFAULT_MAX_AGE_MS;
 
+    @Min(1)
+    private long topologyRefreshMs = DEFAULT_TOPOLOGY_REFRESH_MS;
+
+    @Min(1)
+    private long livenessFlushMs = DEFAULT_LIVENESS_FLUSH_MS;
+
+    @Min(1)
+    private long deploymentAggregatesRefreshMs = DEFAULT_DEPLOYMENT_AGGREGATES_REFRESH_MS;
+
+    /**
+     * Number of lanes on which PDP status messages are processed, or zero to process
+     * them on the thread that received them.
+     */
+    @Min(0)
+    private int heartbeatLanes = DEFAULT_HEARTBEAT_LANES;
+
+    /**
+     * Maximum number of PDP status messages that may be queued for processing, across
+     * all lanes. Only the latest message from each PDP is queued.
+     */
+    @Min(1)
+    private int heartbeatQueueCapacity = DEFAULT_HEARTBEAT_QUEUE_CAPACITY;
+
+    private HeartbeatDropPolicy heartbeatDropPolicy = HeartbeatDropPolicy.DROP_OLDEST;
+
+    /**
+     * Number of threads on which PDP responses are processed, to update the deployment
+     * status, or zero to process them on the thread that received them. Responses for
+     * the same group are always processed serially.
+     */
+    @Min(0)
+    private int notifierThreads = DEFAULT_NOTIFIER_THREADS;
+
+    /**
+     * Time, in milliseconds, for which PDP responses are collected before the deployment
+     * status of their group is updated with all of them at once, or zero to update it as
+     * soon as a thread is available. Only applies when {@link #notifierThreads} is
+     * non-zero.
+     */
+    @Min(0)
+    private long notifierBatchWindowMs = DEFAULT_NOTIFIER_BATCH_WINDOW_MS;
+
+    /**
+     * Maximum number of PDP responses applied to the deployment status at once. A group's
+     * responses are applied without waiting for the window to expire once this many have
+     * been collected.
+     */
+    @Min(1)
+    private int notifierMaxBatchSize = DEFAULT_NOTIFIER_MAX_BATCH_SIZE;
+
+    /**
+     * Maximum time, in milliseconds, to wait for the PDP responses that have been
+     * received to be processed when the notifier is stopped. Responses that have not
+     * been processed by then are discarded.
+     */
+    @Min(0)
+    private long notifierStopTimeoutMs = DEFAULT_NOTIFIER_STOP_TIMEOUT_MS;
+
+    /**
+     * Time, in milliseconds, to wait for further policy notifications before publishing
+     * them, merged into a single message, or zero to publish each notification
+     * immediately. Within the merged message, a policy's latest status replaces its
+     * earlier status.
+     */
+    @Min(0)
+    private long notificationDebounceMs = DEFAULT_NOTIFICATION_DEBOUNCE_MS;
+
+    /**
+     * Maximum time, in milliseconds, that a policy notification may be delayed while
+     * waiting for further notifications.
+     */
+    @Min(0)
+    private long notificationMaxLatencyMs = DEFAULT_NOTIFICATION_MAX_LATENCY_MS;
+
+    /**
+     * Number of lanes on which messages are published to the PDPs, each with its own
+     * thread. Messages are assigned to a lane by PDP name, thus the messages for a given
+     * PDP are published in order.
+     */
+    @Min(1)
+    private int pdpPublisherLanes = DEFAULT_PDP_PUBLISHER_LANES;
+
+    /**
+     * Maximum number of messages a publisher lane takes from its queue at once.
+     */
+    @Min(1)
+    private int publisherMaxBatchSize = DEFAULT_PUBLISHER_MAX_BATCH_SIZE;
+
+    /**
+     * Maximum number of node templates retained in the node template cache.
+     */
+    @Min(1)
+    private int nodeTemplateCacheMaxEntries = DEFAULT_NODE_TEMPLATE_CACHE_MAX_ENTRIES;
+
+    /**
+     * Time, in milliseconds, after which a cached node template expires, so that
+     * changes made to it by policy-api are picked up.
+     */
+    @Min(0)
+    private long nodeTemplateCacheExpireMs = DEFAULT_NODE_TEMPLATE_CACHE_EXPIRE_MS;
+
+    /**
+     * Age, in milliseconds, beyond which the service template snapshot is reloaded from
+     * the DB, even if the number of policies and policy types in the DB still match
+     * those of the snapshot.
+     */
+    @Min(0)
+    private long serviceTemplateSnapshotMaxAgeMs = DEFAULT_SERVICE_TEMPLATE_SNAPSHOT_MAX_AGE_MS;
+
     @Valid
     private PdpUpdateParameters updateParameters;
     @Valid
@@ -64,4 +265,15 @@ public class PdpParameters extends ParameterGroupImpl {
     public PdpParameters() {
         super(PdpParameters.class.getSimpleName());
     }
+
+    /**
+     * Gets the interval at which buffered PDP liveness updates are written to the DB.
+     * This is never more than half of the heart beat interval, so that the DB never
+     * lags far enough behind for a live PDP to be considered expired.
+     *
+     * @return the flush interval, in milliseconds
+     */
+    public long getEffectiveLivenessFlushMs() {
+        return Math.max(1, Math.min(livenessFlushMs, heartBeatMs / 2));
+    }
 }
@@ -25,10 +25,12 @@ import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.pdp.enums.PdpState;
 import org.onap.policy.models.pdp.persistence.concepts.JpaPdpGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PdpGroupRepository extends JpaRepository<JpaPdpGroup, PfConceptKey> {
+public interface PdpGroupRepository
+    extends JpaRepository<JpaPdpGroup, PfConceptKey>, JpaSpecificationExecutor<JpaPdpGroup> {
 
     List<JpaPdpGroup> findByKeyName(String pdpGroup);
 
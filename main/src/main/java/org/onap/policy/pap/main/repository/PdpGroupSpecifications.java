@@ -0,0 +1,173 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.onap.policy.models.pdp.concepts.PdpGroupFilter;
+import org.onap.policy.models.pdp.persistence.concepts.JpaPdpGroup;
+import org.onap.policy.models.pdp.persistence.concepts.JpaPdpSubGroup;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Translates PDP group filters into JPA specifications, so that the DB only returns the
+ * groups that may match a filter. The specifications may return more groups than the
+ * filter would accept (e.g., when the filter requires an exact match of a subgroup's
+ * policy types), thus the filter must still be applied to the groups that are returned.
+ */
+public final class PdpGroupSpecifications {
+    private static final String KEY = "key";
+    private static final String NAME = "name";
+    private static final String VERSION = "version";
+
+    /**
+     * Characters that, if they appear within a name, might cause it to be treated as a
+     * regular expression by the filter.
+     */
+    private static final String REGEX_CHARS = "\\.[]{}()*+?^$|";
+
+    private PdpGroupSpecifications() {
+        // do nothing
+    }
+
+    /**
+     * Makes a specification that selects the groups that may match a filter. Each
+     * subgroup criterion is applied independently, as it is by the filter, thus they may
+     * be satisfied by different subgroups of the same group.
+     *
+     * @param filter the filter
+     * @return a specification for the groups that may match the filter
+     */
+    public static Specification<JpaPdpGroup> fromFilter(PdpGroupFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getName() != null && isLiteral(filter.getName())) {
+                predicates.add(cb.equal(root.get(KEY).get(NAME), filter.getName()));
+            }
+
+            if (filter.getGroupState() != null) {
+                predicates.add(cb.equal(root.get("pdpGroupState"), filter.getGroupState()));
+            }
+
+            if (filter.getPdpType() != null) {
+                predicates.add(existsSubGroup(root, query, cb,
+                    subGroup -> cb.equal(subGroup.get(KEY).get("localName"), filter.getPdpType())));
+            }
+
+            if (filter.getPolicyTypeList() != null && !filter.getPolicyTypeList().isEmpty()) {
+                predicates.add(existsSubGroup(root, query, cb,
+                    subGroup -> supportsAny(cb, subGroup.join("supportedPolicyTypes"), filter.getPolicyTypeList())));
+            }
+
+            if (filter.getPolicyList() != null && !filter.getPolicyList().isEmpty()) {
+                predicates.add(existsSubGroup(root, query, cb,
+                    subGroup -> matchesAny(cb, subGroup.join("policies"), filter.getPolicyList())));
+            }
+
+            if (filter.getPdpState() != null) {
+                predicates.add(existsSubGroup(root, query, cb,
+                    subGroup -> cb.equal(subGroup.join("pdpInstances").get("pdpState"), filter.getPdpState())));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Makes a predicate that is satisfied if any subgroup of the group satisfies a
+     * condition.
+     *
+     * @param root the group
+     * @param query query to which the predicate will be added
+     * @param cb criteria builder
+     * @param condition function to make the condition that the subgroup must satisfy
+     * @return a new predicate
+     */
+    private static Predicate existsSubGroup(Root<JpaPdpGroup> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                            Function<Join<JpaPdpGroup, JpaPdpSubGroup>, Predicate> condition) {
+
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<JpaPdpGroup> group = subquery.correlate(root);
+        Join<JpaPdpGroup, JpaPdpSubGroup> subGroup = group.join("pdpSubGroups");
+
+        return cb.exists(subquery.select(cb.literal(1)).where(condition.apply(subGroup)));
+    }
+
+    /**
+     * Makes a predicate that is satisfied if a key matches any of the given identifiers.
+     *
+     * @param cb criteria builder
+     * @param key the key, which has a name and a version
+     * @param identifiers identifiers to be matched
+     * @return a new predicate
+     */
+    private static Predicate matchesAny(CriteriaBuilder cb, From<?, ?> key, List<ToscaConceptIdentifier> identifiers) {
+        List<Predicate> predicates = new ArrayList<>(identifiers.size());
+        for (ToscaConceptIdentifier ident : identifiers) {
+            predicates.add(cb.and(cb.equal(key.get(NAME), ident.getName()),
+                cb.equal(key.get(VERSION), ident.getVersion())));
+        }
+
+        return cb.or(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Makes a predicate that is satisfied if a supported policy type matches any of the
+     * given policy types. As with the filter, a supported type whose name ends with
+     * ".*" matches, regardless of version, any type whose name starts with the part
+     * preceding the "*". Such supported types can only have names formed from a prefix
+     * of a given type's name that ends with a ".", thus they are matched against the
+     * set of those names, rather than via LIKE.
+     *
+     * @param cb criteria builder
+     * @param key the supported policy type, which has a name and a version
+     * @param types policy types to be matched
+     * @return a new predicate
+     */
+    private static Predicate supportsAny(CriteriaBuilder cb, From<?, ?> key, List<ToscaConceptIdentifier> types) {
+        Set<String> wildcards = new HashSet<>();
+        for (ToscaConceptIdentifier type : types) {
+            String name = type.getName();
+            for (int index = name.indexOf('.'); index >= 0; index = name.indexOf('.', index + 1)) {
+                wildcards.add(name.substring(0, index + 1) + "*");
+            }
+        }
+
+        Predicate exact = matchesAny(cb, key, types);
+        return (wildcards.isEmpty() ? exact : cb.or(exact, key.get(NAME).in(wildcards)));
+    }
+
+    private static boolean isLiteral(String name) {
+        return name.chars().noneMatch(chr -> REGEX_CHARS.indexOf(chr) >= 0);
+    }
+}
@@ -20,12 +20,32 @@
 
 package org.onap.policy.pap.main.repository;
 
+import java.util.Date;
 import org.onap.policy.models.base.PfReferenceKey;
+import org.onap.policy.models.pdp.enums.PdpHealthStatus;
 import org.onap.policy.models.pdp.persistence.concepts.JpaPdp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PdpRepository extends JpaRepository<JpaPdp, PfReferenceKey> {
 
+    /**
+     * Updates the liveness data of a PDP, without reading it first. PDPs that no longer
+     * exist are left untouched.
+     *
+     * @param key the PDP's key
+     * @param healthy the PDP's health status
+     * @param message the PDP's status message
+     * @param lastUpdate time of the PDP's last heartbeat
+     * @return the number of PDPs that were updated
+     */
+    @Modifying
+    @Query("UPDATE JpaPdp p SET p.healthy = :healthy, p.message = :message, p.lastUpdate = :lastUpdate "
+        + "WHERE p.key = :key")
+    int updateLiveness(@Param("key") PfReferenceKey key, @Param("healthy") PdpHealthStatus healthy,
+        @Param("message") String message, @Param("lastUpdate") Date lastUpdate);
 }
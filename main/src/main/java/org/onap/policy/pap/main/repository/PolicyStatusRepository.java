@@ -20,23 +20,242 @@
 
 package org.onap.policy.pap.main.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.onap.policy.models.base.PfReferenceKey;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus.State;
 import org.onap.policy.models.pdp.persistence.concepts.JpaPdpPolicyStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PolicyStatusRepository extends JpaRepository<JpaPdpPolicyStatus, PfReferenceKey> {
 
+    /**
+     * Condition selecting the records whose key follows a given key.
+     */
+    String AFTER_KEY = "(s.key.parentKeyName > :policyName OR (s.key.parentKeyName = :policyName "
+        + "AND (s.key.parentKeyVersion > :policyVersion OR (s.key.parentKeyVersion = :policyVersion "
+        + "AND s.key.localName > :pdpId))))";
+
+    /**
+     * Condition selecting the records whose policy name matches a LIKE pattern. "!" is
+     * used as the escape character, as a backslash is not treated the same way by every
+     * DB.
+     */
+    String NAME_LIKE = "s.key.parentKeyName LIKE :namePattern ESCAPE '!'";
+
+    /**
+     * Orders records by key.
+     */
+    String KEY_ORDER = " ORDER BY s.key.parentKeyName, s.key.parentKeyVersion, s.key.localName";
+
+    /**
+     * Number of rows fetched at a time when streaming records.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     List<JpaPdpPolicyStatus> findByPdpGroup(String pdpGroup);
 
     List<JpaPdpPolicyStatus> findByPdpGroupAndKeyParentKeyName(String pdpGroup, String policyName);
 
+    List<JpaPdpPolicyStatus> findByPdpGroupAndKeyLocalName(String pdpGroup, String pdpId);
+
+    List<JpaPdpPolicyStatus> findByPdpGroupAndKeyLocalNameIn(String pdpGroup, Collection<String> pdpIds);
+
+    /**
+     * Counts the status records of a group, excluding those of one PDP, by policy,
+     * deployment flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpId the PDP whose records are to be excluded
+     * @return the record counts
+     */
+    @Query("SELECT s.key.parentKeyName AS policyName, s.key.parentKeyVersion AS policyVersion, "
+        + "s.policyType.name AS policyTypeName, s.policyType.version AS policyTypeVersion, "
+        + "s.deploy AS deploy, s.state AS state, COUNT(s) AS count FROM JpaPdpPolicyStatus s "
+        + "WHERE s.pdpGroup = :pdpGroup AND s.key.localName <> :pdpId "
+        + "GROUP BY s.key.parentKeyName, s.key.parentKeyVersion, s.policyType.name, s.policyType.version, "
+        + "s.deploy, s.state")
+    List<PolicyStatusCount> countByPdpGroupExcludingPdp(@Param("pdpGroup") String pdpGroup,
+        @Param("pdpId") String pdpId);
+
+    /**
+     * Counts the status records of a group, excluding those of some of its PDPs, by
+     * policy, deployment flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds the PDPs whose records are to be excluded
+     * @return the record counts
+     */
+    @Query("SELECT s.key.parentKeyName AS policyName, s.key.parentKeyVersion AS policyVersion, "
+        + "s.policyType.name AS policyTypeName, s.policyType.version AS policyTypeVersion, "
+        + "s.deploy AS deploy, s.state AS state, COUNT(s) AS count FROM JpaPdpPolicyStatus s "
+        + "WHERE s.pdpGroup = :pdpGroup AND s.key.localName NOT IN :pdpIds "
+        + "GROUP BY s.key.parentKeyName, s.key.parentKeyVersion, s.policyType.name, s.policyType.version, "
+        + "s.deploy, s.state")
+    List<PolicyStatusCount> countByPdpGroupExcludingPdps(@Param("pdpGroup") String pdpGroup,
+        @Param("pdpIds") Collection<String> pdpIds);
+
+    /**
+     * Counts the status records of a group, by policy, deployment flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @return the record counts
+     */
+    @Query("SELECT s.key.parentKeyName AS policyName, s.key.parentKeyVersion AS policyVersion, "
+        + "s.policyType.name AS policyTypeName, s.policyType.version AS policyTypeVersion, "
+        + "s.deploy AS deploy, s.state AS state, COUNT(s) AS count FROM JpaPdpPolicyStatus s "
+        + "WHERE s.pdpGroup = :pdpGroup "
+        + "GROUP BY s.key.parentKeyName, s.key.parentKeyVersion, s.policyType.name, s.policyType.version, "
+        + "s.deploy, s.state")
+    List<PolicyStatusCount> countByPdpGroup(@Param("pdpGroup") String pdpGroup);
+
+    /**
+     * Counts the status records of some of the PDPs of a group, by policy, deployment
+     * flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds the PDPs whose records are to be counted
+     * @return the record counts
+     */
+    @Query("SELECT s.key.parentKeyName AS policyName, s.key.parentKeyVersion AS policyVersion, "
+        + "s.policyType.name AS policyTypeName, s.policyType.version AS policyTypeVersion, "
+        + "s.deploy AS deploy, s.state AS state, COUNT(s) AS count FROM JpaPdpPolicyStatus s "
+        + "WHERE s.pdpGroup = :pdpGroup AND s.key.localName IN :pdpIds "
+        + "GROUP BY s.key.parentKeyName, s.key.parentKeyVersion, s.policyType.name, s.policyType.version, "
+        + "s.deploy, s.state")
+    List<PolicyStatusCount> countByPdpGroupAndPdps(@Param("pdpGroup") String pdpGroup,
+        @Param("pdpIds") Collection<String> pdpIds);
+
+    /**
+     * Deletes the status records of some of the PDPs of a group, using a single
+     * statement.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds the PDPs whose records are to be deleted
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Query("DELETE FROM JpaPdpPolicyStatus s WHERE s.pdpGroup = :pdpGroup AND s.key.localName IN :pdpIds")
+    int deleteByPdpGroupAndPdps(@Param("pdpGroup") String pdpGroup, @Param("pdpIds") Collection<String> pdpIds);
+
+    /**
+     * Deletes the undeployment records of a policy within a group, using a single
+     * statement.
+     *
+     * @param pdpGroup the group's name
+     * @param policyName the policy's name
+     * @param policyVersion the policy's version
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Query("DELETE FROM JpaPdpPolicyStatus s WHERE s.pdpGroup = :pdpGroup AND s.key.parentKeyName = :policyName "
+        + "AND s.key.parentKeyVersion = :policyVersion AND s.deploy = false")
+    int deleteUndeploymentsByPdpGroupAndPolicy(@Param("pdpGroup") String pdpGroup,
+        @Param("policyName") String policyName, @Param("policyVersion") String policyVersion);
+
+    /**
+     * Gets the status records of a group whose policy names match a LIKE pattern.
+     *
+     * @param pdpGroup the group's name
+     * @param namePattern LIKE pattern, using "!" as the escape character
+     * @return the group's matching records
+     */
+    @Query("SELECT s FROM JpaPdpPolicyStatus s WHERE s.pdpGroup = :pdpGroup AND " + NAME_LIKE)
+    List<JpaPdpPolicyStatus> findByPdpGroupMatching(@Param("pdpGroup") String pdpGroup,
+        @Param("namePattern") String namePattern);
+
+    /**
+     * Gets a page of the status records whose policy names match a LIKE pattern, ordered
+     * by key.
+     *
+     * @param namePattern LIKE pattern, using "!" as the escape character
+     * @param policyName name of the policy of the last record of the previous page
+     * @param policyVersion version of the policy of the last record of the previous page
+     * @param pdpId PDP of the last record of the previous page
+     * @param pageable size of the page
+     * @return the matching records following the given key
+     */
+    @Query("SELECT s FROM JpaPdpPolicyStatus s WHERE " + NAME_LIKE + " AND " + AFTER_KEY + KEY_ORDER)
+    List<JpaPdpPolicyStatus> findPageMatchingAfter(@Param("namePattern") String namePattern,
+        @Param("policyName") String policyName, @Param("policyVersion") String policyVersion,
+        @Param("pdpId") String pdpId, Pageable pageable);
+
+    /**
+     * Gets a page of the status records of a group whose policy names match a LIKE
+     * pattern, ordered by key.
+     *
+     * @param pdpGroup the group's name
+     * @param namePattern LIKE pattern, using "!" as the escape character
+     * @param policyName name of the policy of the last record of the previous page
+     * @param policyVersion version of the policy of the last record of the previous page
+     * @param pdpId PDP of the last record of the previous page
+     * @param pageable size of the page
+     * @return the group's matching records following the given key
+     */
+    @Query("SELECT s FROM JpaPdpPolicyStatus s WHERE s.pdpGroup = :pdpGroup AND " + NAME_LIKE + " AND "
+        + AFTER_KEY + KEY_ORDER)
+    List<JpaPdpPolicyStatus> findPageByPdpGroupMatchingAfter(@Param("pdpGroup") String pdpGroup,
+        @Param("namePattern") String namePattern, @Param("policyName") String policyName,
+        @Param("policyVersion") String policyVersion, @Param("pdpId") String pdpId, Pageable pageable);
+
+    /**
+     * Streams the status records whose policy names match a LIKE pattern, ordered by
+     * key. Must be invoked within a transaction, and the stream must be closed.
+     *
+     * @param namePattern LIKE pattern, using "!" as the escape character
+     * @return a stream of the matching records
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT s FROM JpaPdpPolicyStatus s WHERE " + NAME_LIKE + KEY_ORDER)
+    Stream<JpaPdpPolicyStatus> streamMatching(@Param("namePattern") String namePattern);
+
+    /**
+     * Streams the status records of a group whose policy names match a LIKE pattern,
+     * ordered by key. Must be invoked within a transaction, and the stream must be
+     * closed.
+     *
+     * @param pdpGroup the group's name
+     * @param namePattern LIKE pattern, using "!" as the escape character
+     * @return a stream of the group's matching records
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT s FROM JpaPdpPolicyStatus s WHERE s.pdpGroup = :pdpGroup AND " + NAME_LIKE + KEY_ORDER)
+    Stream<JpaPdpPolicyStatus> streamByPdpGroupMatching(@Param("pdpGroup") String pdpGroup,
+        @Param("namePattern") String namePattern);
+
     List<JpaPdpPolicyStatus> findByPdpGroupAndKeyParentKeyNameAndKeyParentKeyVersion(String pdpGroup, String policyName,
         String policyVersion);
 
     List<JpaPdpPolicyStatus> findByKeyParentKeyName(String policyName);
 
     List<JpaPdpPolicyStatus> findByKeyParentKeyNameAndKeyParentKeyVersion(String policyName, String policyVersion);
+
+    /**
+     * Number of status records having the same policy, deployment flag, and state.
+     */
+    interface PolicyStatusCount {
+        String getPolicyName();
+
+        String getPolicyVersion();
+
+        String getPolicyTypeName();
+
+        String getPolicyTypeVersion();
+
+        boolean isDeploy();
+
+        State getState();
+
+        long getCount();
+    }
 }
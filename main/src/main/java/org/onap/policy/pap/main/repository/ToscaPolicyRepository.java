@@ -0,0 +1,53 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.repository;
+
+import java.util.List;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ToscaPolicyRepository extends JpaRepository<JpaToscaPolicy, PfConceptKey> {
+
+    /**
+     * Finds all versions of a policy.
+     *
+     * @param name the name of the policy
+     * @return the versions of the policy
+     */
+    List<JpaToscaPolicy> findByKeyName(String name);
+
+    /**
+     * Finds the version numbers of a policy, without loading the policy itself.
+     *
+     * @param name the name of the policy
+     * @param versionPrefix prefix that the versions must match, or an empty string to
+     *        match all versions
+     * @return the version numbers of the policy that match the prefix
+     */
+    @Query("SELECT p.key.version FROM JpaToscaPolicy p WHERE p.key.name = :name "
+        + "AND p.key.version LIKE CONCAT(:versionPrefix, '%')")
+    List<String> findVersions(@Param("name") String name, @Param("versionPrefix") String versionPrefix);
+}
@@ -20,11 +20,21 @@
 
 package org.onap.policy.pap.main.rest;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import lombok.Getter;
+import org.onap.policy.models.pdp.concepts.Pdp;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.pap.main.service.PdpGroupChanges;
 
 /**
- * PdpGroup data, only the latest copy of the group is retained.
+ * PdpGroup data, only the latest copy of the group is retained. For an existing group, a
+ * copy of the group, as it was loaded from the DB, is also retained so that the changes
+ * can be determined when the group is written back to the DB.
  */
 public class GroupData {
     @Getter
@@ -39,6 +49,11 @@ public class GroupData {
      */
     private State state;
 
+    /**
+     * Copy of the group as it was loaded from the DB, or {@code null} if this is a new
+     * group.
+     */
+    private final PdpGroup original;
 
     /**
      * Constructs the object, for an existing group.
@@ -58,6 +73,7 @@ public class GroupData {
     public GroupData(PdpGroup group, boolean isNew) {
         this.group = group;
         this.state = (isNew ? State.CREATED : State.UNCHANGED);
+        this.original = (isNew ? null : new PdpGroup(group));
     }
 
     /**
@@ -104,4 +120,83 @@ public class GroupData {
             state = State.UPDATED;
         }
     }
+
+    /**
+     * Determines what has changed in the group since it was loaded from the DB.
+     *
+     * @return the changes made to the group
+     */
+    public PdpGroupChanges getChanges() {
+        if (original == null || !sameGroupFields(original, group)
+            || !subGroupsByType(original).keySet().equals(subGroupsByType(group).keySet())) {
+            return new PdpGroupChanges(group, true);
+        }
+
+        var changes = new PdpGroupChanges(group, false);
+        Map<String, PdpSubGroup> originalSubGroups = subGroupsByType(original);
+
+        for (PdpSubGroup subGroup : listOf(group.getPdpSubgroups())) {
+            PdpSubGroup originalSubGroup = originalSubGroups.get(subGroup.getPdpType());
+            if (subGroup.equals(originalSubGroup)) {
+                continue;
+            }
+
+            Map<String, Pdp> originalPdps = pdpsById(originalSubGroup);
+            if (!pdpIds(subGroup).equals(pdpIds(originalSubGroup))) {
+                changes.getReplacedSubGroups().add(subGroup);
+                continue;
+            }
+
+            if (!sameSubGroupFields(originalSubGroup, subGroup)) {
+                changes.getModifiedSubGroups().add(subGroup);
+            }
+
+            for (Pdp pdp : listOf(subGroup.getPdpInstances())) {
+                if (!pdp.equals(originalPdps.get(pdp.getInstanceId()))) {
+                    changes.addModifiedPdp(subGroup.getPdpType(), pdp);
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    private static boolean sameGroupFields(PdpGroup group1, PdpGroup group2) {
+        return (Objects.equals(group1.getVersion(), group2.getVersion())
+            && Objects.equals(group1.getDescription(), group2.getDescription())
+            && group1.getPdpGroupState() == group2.getPdpGroupState()
+            && Objects.equals(group1.getProperties(), group2.getProperties()));
+    }
+
+    private static boolean sameSubGroupFields(PdpSubGroup subGroup1, PdpSubGroup subGroup2) {
+        return (Objects.equals(subGroup1.getSupportedPolicyTypes(), subGroup2.getSupportedPolicyTypes())
+            && Objects.equals(subGroup1.getPolicies(), subGroup2.getPolicies())
+            && subGroup1.getCurrentInstanceCount() == subGroup2.getCurrentInstanceCount()
+            && subGroup1.getDesiredInstanceCount() == subGroup2.getDesiredInstanceCount()
+            && Objects.equals(subGroup1.getProperties(), subGroup2.getProperties()));
+    }
+
+    private static Map<String, PdpSubGroup> subGroupsByType(PdpGroup group) {
+        Map<String, PdpSubGroup> map = new HashMap<>();
+        for (PdpSubGroup subGroup : listOf(group.getPdpSubgroups())) {
+            map.put(subGroup.getPdpType(), subGroup);
+        }
+        return map;
+    }
+
+    private static Map<String, Pdp> pdpsById(PdpSubGroup subGroup) {
+        Map<String, Pdp> map = new HashMap<>();
+        for (Pdp pdp : listOf(subGroup.getPdpInstances())) {
+            map.put(pdp.getInstanceId(), pdp);
+        }
+        return map;
+    }
+
+    private static List<String> pdpIds(PdpSubGroup subGroup) {
+        return listOf(subGroup.getPdpInstances()).stream().map(Pdp::getInstanceId).toList();
+    }
+
+    private static <T> List<T> listOf(List<T> list) {
+        return (list == null ? Collections.emptyList() : list);
+    }
 }
@@ -25,11 +25,8 @@ package org.onap.policy.pap.main.rest;
 import org.onap.policy.common.utils.network.NetworkUtil;
 import org.onap.policy.common.utils.report.HealthCheckReport;
 import org.onap.policy.common.utils.services.Registry;
-import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.pap.main.PapConstants;
 import org.onap.policy.pap.main.startstop.PapActivator;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -47,8 +44,7 @@ public class HealthCheckProvider {
     private static final String NAME = "Policy PAP";
 
     @Autowired
-    private PolicyStatusProvider policyStatusProvider;
-    private static final Logger LOGGER = LoggerFactory.getLogger(HealthCheckProvider.class);
+    private PapDbHealthIndicator dbHealthIndicator;
 
     /**
      * Performs the health check of PAP service.
@@ -79,12 +75,6 @@ public class HealthCheckProvider {
      * @return boolean signaling the verification result
      */
     private boolean verifyPapDbConnectivity() {
-        try {
-            policyStatusProvider.getPolicyStatus();
-            return true;
-        } catch (PfModelRuntimeException pfModelRuntimeException) {
-            LOGGER.warn("Policy pap to database connection check failed. Details - ", pfModelRuntimeException);
-            return false;
-        }
+        return dbHealthIndicator.isDbUp();
     }
 }
@@ -0,0 +1,109 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.rest;
+
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies the connectivity between PAP and the policy database. The check asks the
+ * driver to validate a connection, which costs the same regardless of the amount of data
+ * in the DB, and is bounded by a timeout. The result is cached for a short time, so that
+ * frequent probes do not each hit the DB.
+ */
+@Component
+public class PapDbHealthIndicator implements HealthIndicator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PapDbHealthIndicator.class);
+
+    private final DataSource dataSource;
+    private final int timeoutSec;
+    private final long cacheMs;
+
+    private Health lastHealth;
+    private long lastCheckMs;
+
+    /**
+     * Constructs the object.
+     *
+     * @param dataSource data source of the policy database
+     * @param timeoutSec maximum time, in seconds, to wait for the DB to respond
+     * @param cacheMs time, in milliseconds, for which a result is reused
+     */
+    public PapDbHealthIndicator(DataSource dataSource, @Value("${pap.dbHealthCheck.timeoutSec:2}") int timeoutSec,
+                                @Value("${pap.dbHealthCheck.cacheMs:5000}") long cacheMs) {
+        this.dataSource = dataSource;
+        this.timeoutSec = timeoutSec;
+        this.cacheMs = cacheMs;
+    }
+
+    /**
+     * Determines if the DB is reachable, using the cached result if it is still fresh.
+     *
+     * @return the health of the DB connection
+     */
+    @Override
+    public synchronized Health health() {
+        long now = currentTimeMs();
+        if (lastHealth == null || now - lastCheckMs >= cacheMs) {
+            lastHealth = checkDb();
+            lastCheckMs = now;
+        }
+
+        return lastHealth;
+    }
+
+    /**
+     * Determines if the DB is reachable.
+     *
+     * @return {@code true} if the DB is reachable, {@code false} otherwise
+     */
+    public boolean isDbUp() {
+        return Status.UP.equals(health().getStatus());
+    }
+
+    private Health checkDb() {
+        try (var conn = dataSource.getConnection()) {
+            if (conn.isValid(timeoutSec)) {
+                return Health.up().build();
+            }
+
+            LOGGER.warn("Policy pap to database connection check failed: connection is not valid");
+            return Health.down().withDetail("error", "connection is not valid").build();
+
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.warn("Policy pap to database connection check failed. Details - ", e);
+            return Health.down(e).build();
+        }
+    }
+
+    // these may be overridden by junit tests
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+}
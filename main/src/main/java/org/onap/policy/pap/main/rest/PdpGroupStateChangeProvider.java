@@ -112,7 +112,7 @@ public class PdpGroupStateChangeProvider extends PdpMessageGenerator {
     private void sendPdpMessage(final PdpGroup pdpGroup, final PdpState pdpState) {
         String pdpGroupName = pdpGroup.getName();
         for (final PdpSubGroup subGroup : pdpGroup.getPdpSubgroups()) {
-            List<ToscaPolicy> policies = getToscaPolicies(subGroup);
+            List<ToscaPolicy> policies = getToscaPolicies(pdpGroupName, subGroup);
             for (final Pdp pdp : subGroup.getPdpInstances()) {
                 String pdpInstanceId = pdp.getInstanceId();
                 final var pdpUpdateMessage =
@@ -0,0 +1,50 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.rest;
+
+import java.util.function.Consumer;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+
+/**
+ * Response body whose status records are produced while the response is being written,
+ * rather than being loaded before the response is sent. Written as a JSON array by
+ * {@link org.onap.policy.pap.main.config.PdpPolicyStatusStreamConverter}.
+ */
+@AllArgsConstructor
+public class PdpPolicyStatusStream {
+
+    /**
+     * Passes each status record to the given consumer.
+     */
+    @NonNull
+    private final Consumer<Consumer<PdpPolicyStatus>> source;
+
+    /**
+     * Passes each status record to a consumer.
+     *
+     * @param consumer consumer to which each record is passed
+     */
+    public void forEach(Consumer<PdpPolicyStatus> consumer) {
+        source.accept(consumer);
+    }
+}
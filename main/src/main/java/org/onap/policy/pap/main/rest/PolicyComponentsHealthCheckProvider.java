@@ -34,12 +34,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.onap.policy.common.endpoints.http.client.HttpClient;
@@ -91,6 +95,33 @@ public class PolicyComponentsHealthCheckProvider {
     @Value("${pap.topic.pdp-pap.name:POLICY-PDP-PAP}")
     private String topicPolicyPdpPap;
 
+    /**
+     * Interval, in milliseconds, at which the health status is refreshed in the
+     * background; if zero, the health status is fetched on every request.
+     */
+    @Value("${pap.componentHealthCheck.refreshMs:5000}")
+    private long refreshMs;
+
+    /**
+     * Age, in milliseconds, beyond which the background snapshot is no longer used.
+     */
+    @Value("${pap.componentHealthCheck.maxAgeMs:30000}")
+    private long maxAgeMs;
+
+    /**
+     * Maximum time, in milliseconds, to wait for the remote components to respond; if
+     * zero, there is no limit.
+     */
+    @Value("${pap.componentHealthCheck.clientTimeoutMs:3000}")
+    private long clientTimeoutMs;
+
+    private ScheduledExecutorService refresher;
+
+    /**
+     * Latest health status of the remote components and PDPs.
+     */
+    private volatile ComponentsHealth snapshot;
+
     /**
      * This method is used to initialize clients and executor.
      */
@@ -109,38 +140,115 @@ public class PolicyComponentsHealthCheckProvider {
      */
     @PreDestroy
     public void cleanup() {
+        synchronized (this) {
+            if (refresher != null) {
+                refresher.shutdown();
+                refresher = null;
+            }
+        }
+
         clients.clear();
         clientHealthCheckExecutorService.shutdown();
     }
 
     /**
-     * Returns health status of all Policy components.
+     * Returns health status of all Policy components. If background refresh is enabled,
+     * then the health of the remote components and PDPs is served from the latest
+     * snapshot, which is refreshed periodically. The snapshot is rebuilt synchronously if
+     * it does not exist yet or is too old.
      *
      * @return a pair containing the status and the response
      */
     public Pair<HttpStatus, Map<String, Object>> fetchPolicyComponentsHealthStatus() {
-        boolean isHealthy;
         Map<String, Object> result;
+        if (refreshMs <= 0) {
+            result = fetchComponentsHealthStatus();
+        } else {
+            startRefresher();
+            result = new HashMap<>(getSnapshot().getResult());
+        }
+
+        // Check PAP itself excluding connectivity to Policy DB
+        HealthCheckReport papReport = new HealthCheckProvider().performHealthCheck(false);
+        papReport
+            .setUrl((isHttps ? "https://" : "http://") + papReport.getUrl() + ":" + port + POLICY_PAP_HEALTHCHECK_URI);
+        result.put(PapConstants.POLICY_PAP, papReport);
+        result.put(HEALTH_STATUS, (Boolean) result.get(HEALTH_STATUS) && papReport.isHealthy());
+
+        LOGGER.debug("Policy Components HealthCheck Response - {}", result);
+        return Pair.of(HttpStatus.OK, result);
+    }
+
+    /**
+     * Refreshes the snapshot of the health of the remote components and PDPs.
+     */
+    public void refresh() {
+        try {
+            snapshot = new ComponentsHealth(fetchComponentsHealthStatus(), currentTimeMs());
+        } catch (RuntimeException e) {
+            LOGGER.warn("failed to refresh policy components health status", e);
+        }
+    }
+
+    private ComponentsHealth getSnapshot() {
+        ComponentsHealth current = snapshot;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+
+        synchronized (this) {
+            // another thread may have refreshed it while we were waiting for the lock
+            if (snapshot == null || isStale(snapshot)) {
+                LOGGER.info("policy components health status is missing or stale, fetching it now");
+                snapshot = new ComponentsHealth(fetchComponentsHealthStatus(), currentTimeMs());
+            }
+            return snapshot;
+        }
+    }
+
+    private boolean isStale(ComponentsHealth health) {
+        return (currentTimeMs() - health.getTimestampMs() > maxAgeMs);
+    }
+
+    /**
+     * Starts the background refresher, if it has not been started yet. This is deferred
+     * until the health status is first requested, so that PAP instances that are never
+     * asked do not probe the components.
+     */
+    private synchronized void startRefresher() {
+        if (refresher == null) {
+            refresher = makeRefresher();
+            refresher.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Fetches the health status of the remote components and of the PDPs.
+     *
+     * @return a map containing the component reports, the PDPs, and the overall health
+     */
+    private Map<String, Object> fetchComponentsHealthStatus() {
+        boolean isHealthy;
+        Map<String, Object> result = new HashMap<>();
 
         // Check remote components
-        List<Callable<Entry<String, Object>>> tasks = new ArrayList<>(clients.size());
+        List<HttpClient> currentClients = new ArrayList<>(clients);
+        List<Callable<Entry<String, Object>>> tasks = new ArrayList<>(currentClients.size());
 
-        for (HttpClient client : clients) {
+        for (HttpClient client : currentClients) {
             tasks.add(() -> new AbstractMap.SimpleEntry<>(client.getName(), fetchPolicyComponentHealthStatus(client)));
         }
 
         try {
-            List<Future<Entry<String, Object>>> futures = clientHealthCheckExecutorService.invokeAll(tasks);
-            result = futures.stream().map(entryFuture -> {
-                try {
-                    return entryFuture.get();
-                } catch (ExecutionException e) {
-                    throw new PfModelRuntimeException(Status.BAD_REQUEST, "Client Health check Failed ", e);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new PfModelRuntimeException(Status.BAD_REQUEST, "Client Health check interrupted ", e);
-                }
-            }).collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+            List<Future<Entry<String, Object>>> futures = (clientTimeoutMs > 0
+                ? clientHealthCheckExecutorService.invokeAll(tasks, clientTimeoutMs, TimeUnit.MILLISECONDS)
+                : clientHealthCheckExecutorService.invokeAll(tasks));
+
+            for (var index = 0; index < futures.size(); ++index) {
+                Entry<String, Object> entry = getClientHealthStatus(currentClients.get(index), futures.get(index));
+                result.put(entry.getKey(), entry.getValue());
+            }
+
             //true when all the clients health status is true
             isHealthy = result.values().stream().allMatch(o -> ((HealthCheckReport) o).isHealthy());
         } catch (InterruptedException exp) {
@@ -148,15 +256,6 @@ public class PolicyComponentsHealthCheckProvider {
             throw new PfModelRuntimeException(Status.BAD_REQUEST, "Client Health check interrupted ", exp);
         }
 
-        // Check PAP itself excluding connectivity to Policy DB
-        HealthCheckReport papReport = new HealthCheckProvider().performHealthCheck(false);
-        papReport
-            .setUrl((isHttps ? "https://" : "http://") + papReport.getUrl() + ":" + port + POLICY_PAP_HEALTHCHECK_URI);
-        if (!papReport.isHealthy()) {
-            isHealthy = false;
-        }
-        result.put(PapConstants.POLICY_PAP, papReport);
-
         // Check PDPs, read status from DB
         try {
             List<PdpGroup> groups = pdpGroupService.getPdpGroups();
@@ -172,8 +271,22 @@ public class PolicyComponentsHealthCheckProvider {
         }
 
         result.put(HEALTH_STATUS, isHealthy);
-        LOGGER.debug("Policy Components HealthCheck Response - {}", result);
-        return Pair.of(HttpStatus.OK, result);
+        return result;
+    }
+
+    private Entry<String, Object> getClientHealthStatus(HttpClient client, Future<Entry<String, Object>> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            LOGGER.warn("{} health check timed out", client.getName());
+            return new AbstractMap.SimpleEntry<>(client.getName(), createHealthCheckReport(client.getName(),
+                client.getBaseUrl(), HttpURLConnection.HTTP_GATEWAY_TIMEOUT, false, "health check timed out"));
+        } catch (ExecutionException e) {
+            throw new PfModelRuntimeException(Status.BAD_REQUEST, "Client Health check Failed ", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PfModelRuntimeException(Status.BAD_REQUEST, "Client Health check interrupted ", e);
+        }
     }
 
     private Map<String, List<Pdp>> fetchPdpsHealthStatus(List<PdpGroup> groups) {
@@ -255,4 +368,20 @@ public class PolicyComponentsHealthCheckProvider {
             topicVerificationStatus, message);
     }
 
+    // these may be overridden by junit tests
+
+    protected ScheduledExecutorService makeRefresher() {
+        return Executors.newSingleThreadScheduledExecutor();
+    }
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ComponentsHealth {
+        private final Map<String, Object> result;
+        private final long timestampMs;
+    }
 }
@@ -29,11 +29,13 @@ import lombok.RequiredArgsConstructor;
 import org.onap.policy.models.pap.concepts.PolicyStatus;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifierOptVersion;
+import org.onap.policy.pap.main.rest.PolicyStatusProvider.StatusPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -47,6 +49,8 @@ public class PolicyStatusControllerV1 extends PapRestControllerV1 implements Pol
     private static final String EMPTY_REGEX_ERROR_MESSAGE = "An empty string passed as a regex is not allowed";
     private static final String EMPTY_REGEX_WARNING = ". Empty string passed as Regex.";
     private static final String GET_DEPLOYMENTS_FAILED = "get deployments failed";
+    private static final String NEXT_CURSOR_NAME = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_LIMIT = 1000;
 
     private static final Logger logger = LoggerFactory.getLogger(PolicyStatusControllerV1.class);
 
@@ -118,13 +122,28 @@ public class PolicyStatusControllerV1 extends PapRestControllerV1 implements Pol
 
 
     /**
-     * Queries status of all policies.
+     * Queries status of all policies. If stream is true, the status is streamed; otherwise,
+     * if cursor or limit is provided, a single page of status is returned.
      *
      * @param requestId request ID used in ONAP logging
+     * @param cursor    cursor returned with the previous page
+     * @param limit     maximum number of status records to return
+     * @param stream    whether to stream the status
      * @return a response
      */
     @Override
-    public ResponseEntity<Object> getStatusOfAllPolicies(UUID requestId) {
+    public ResponseEntity<Object> getStatusOfAllPolicies(UUID requestId, String cursor, Integer limit,
+                                                         Boolean stream) {
+        if (Boolean.TRUE.equals(stream)) {
+            return addLoggingHeaders(addVersionControlHeaders(ResponseEntity.ok()), requestId)
+                .body(provider.streamPolicyStatus(null, null));
+        }
+
+        if (cursor != null || limit != null) {
+            StatusPage page = provider.getPolicyStatusPage(null, null, cursor, getPageLimit(limit));
+            return makePageResponse(requestId, page);
+        }
+
         return addLoggingHeaders(addVersionControlHeaders(ResponseEntity.ok()), requestId)
             .body(provider.getPolicyStatus());
     }
@@ -136,16 +155,29 @@ public class PolicyStatusControllerV1 extends PapRestControllerV1 implements Pol
      * @param pdpGroupName name of the PdpGroup
      * @param requestId    request ID used in ONAP logging
      * @param regex        regex for a policy name
+     * @param cursor       cursor returned with the previous page
+     * @param limit        maximum number of status records to return
+     * @param stream       whether to stream the status
      * @return a response
      */
     @Override
-    public ResponseEntity<Object> getStatusOfPoliciesByGroup(String pdpGroupName, UUID requestId, String regex) {
+    public ResponseEntity<Object> getStatusOfPoliciesByGroup(String pdpGroupName, UUID requestId, String regex,
+                                                             String cursor, Integer limit, Boolean stream) {
         try {
             final Collection<PdpPolicyStatus> result;
-            if (regex == null) {
-                result = provider.getPolicyStatus(pdpGroupName);
-            } else if (regex.isBlank()) {
+            if (regex != null && regex.isBlank()) {
                 return makeRegexNotFoundResponse(requestId);
+            } else if (Boolean.TRUE.equals(stream)) {
+                return addLoggingHeaders(addVersionControlHeaders(ResponseEntity.ok()), requestId)
+                    .body(provider.streamPolicyStatus(pdpGroupName, regex));
+            } else if (cursor != null || limit != null) {
+                StatusPage page = provider.getPolicyStatusPage(pdpGroupName, regex, cursor, getPageLimit(limit));
+                if (page.getStatuses().isEmpty() && page.getNextCursor() == null) {
+                    return makeNotFoundResponse(requestId);
+                }
+                return makePageResponse(requestId, page);
+            } else if (regex == null) {
+                result = provider.getPolicyStatus(pdpGroupName);
             } else {
                 result = provider.getPolicyStatusByRegex(pdpGroupName, regex);
             }
@@ -219,6 +251,18 @@ public class PolicyStatusControllerV1 extends PapRestControllerV1 implements Pol
             requestId).body(EMPTY_REGEX_ERROR_MESSAGE);
     }
 
+    private ResponseEntity<Object> makePageResponse(UUID requestId, StatusPage page) {
+        BodyBuilder builder = addLoggingHeaders(addVersionControlHeaders(ResponseEntity.ok()), requestId);
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_NAME, page.getNextCursor());
+        }
+        return builder.body(page.getStatuses());
+    }
+
+    private static int getPageLimit(Integer limit) {
+        return (limit == null ? DEFAULT_PAGE_LIMIT : limit);
+    }
+
     private ResponseEntity<Object> makeListOrNotFoundResponse(UUID requestId, Collection<?> result) {
         if (result.isEmpty()) {
             return makeNotFoundResponse(requestId);
@@ -23,11 +23,19 @@
 package org.onap.policy.pap.main.rest;
 
 import com.google.re2j.Pattern;
+import jakarta.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.pap.concepts.PolicyStatus;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifierOptVersion;
 import org.onap.policy.pap.main.notification.DeploymentTracker;
 import org.onap.policy.pap.main.service.PolicyStatusService;
@@ -40,6 +48,13 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PolicyStatusProvider {
 
+    private static final String CURSOR_SEPARATOR = ".";
+    private static final String CURSOR_SEPARATOR_REGEX = "\\.";
+    private static final int CURSOR_FIELDS = 3;
+    private static final String INVALID_CURSOR = "invalid cursor: ";
+    private static final String REGEX_META_CHARS = "\\.[]{}()*+?^$|";
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
     private final PolicyStatusService policyStatusService;
 
     /**
@@ -48,7 +63,7 @@ public class PolicyStatusProvider {
      * @return the deployment status of all policies
      */
     public Collection<PolicyStatus> getStatus() {
-        return accumulate(policyStatusService.getAllPolicyStatus());
+        return policyStatusService.getDeploymentStatus(policy -> true);
     }
 
     /**
@@ -70,12 +85,8 @@ public class PolicyStatusProvider {
     public Collection<PolicyStatus> getByRegex(String patternString) {
         // try to make pattern out of regex
         final var pattern = Pattern.compile(patternString);
-        // get all the statuses
-        final List<PdpPolicyStatus> policyStatuses = policyStatusService.getAllPolicyStatus();
-        // filter out statuses with the wrong name
-        final Collection<PdpPolicyStatus> pdpPolicyStatuses = filterWithPattern(pattern, policyStatuses);
-
-        return accumulate(pdpPolicyStatuses);
+        // get the statuses of the policies with the right name
+        return policyStatusService.getDeploymentStatus(policy -> pattern.matcher(policy.getName()).matches());
     }
 
 
@@ -129,6 +140,107 @@ public class PolicyStatusProvider {
             .filter(p -> p.getPdpGroup().equals(pdpGroupName)).toList();
     }
 
+    /**
+     * Gets a page of the status of policies, ordered by policy and then by PDP.
+     *
+     * @param pdpGroupName the pdp group, or {@code null} to get the status of all groups
+     * @param patternString regex that the policy names must match, or {@code null} to get
+     *        the status of all policies. As the regex is applied after the page has been
+     *        read, a page may contain fewer records than the limit
+     * @param cursor cursor returned with the previous page, or {@code null} to get the
+     *        first page
+     * @param limit maximum number of records in the page
+     * @return the page of status
+     */
+    public StatusPage getPolicyStatusPage(String pdpGroupName, String patternString, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, "limit must be positive: " + limit);
+        }
+
+        final Pattern pattern = (patternString == null ? null : Pattern.compile(patternString));
+        final String prefix = (patternString == null ? "" : getLiteralPrefix(patternString));
+
+        final List<PdpPolicyStatus> page;
+        if (cursor == null) {
+            page = policyStatusService.getPolicyStatusPage(pdpGroupName, prefix, null, null, limit);
+        } else {
+            String[] fields = decodeCursor(cursor);
+            page = policyStatusService.getPolicyStatusPage(pdpGroupName, prefix,
+                new ToscaConceptIdentifier(fields[0], fields[1]), fields[2], limit);
+        }
+
+        // only a full page may be followed by more records
+        String nextCursor = (page.size() < limit ? null : encodeCursor(page.get(page.size() - 1)));
+
+        return new StatusPage((pattern == null ? page : filterWithPattern(pattern, page)), nextCursor);
+    }
+
+    /**
+     * Gets the status of policies as a stream, ordered by policy and then by PDP. The
+     * records are read from the DB while the stream is being written.
+     *
+     * @param pdpGroupName the pdp group, or {@code null} to get the status of all groups
+     * @param patternString regex that the policy names must match, or {@code null} to get
+     *        the status of all policies
+     * @return the stream of status
+     */
+    public PdpPolicyStatusStream streamPolicyStatus(String pdpGroupName, String patternString) {
+        if (patternString == null) {
+            return new PdpPolicyStatusStream(consumer -> policyStatusService.streamPolicyStatus(pdpGroupName, "",
+                consumer));
+        }
+
+        final var pattern = Pattern.compile(patternString);
+        final String prefix = getLiteralPrefix(patternString);
+
+        return new PdpPolicyStatusStream(consumer -> policyStatusService.streamPolicyStatus(pdpGroupName, prefix,
+            status -> {
+                if (pattern.matcher(status.getPolicy().getName()).matches()) {
+                    consumer.accept(status);
+                }
+            }));
+    }
+
+    /**
+     * Encodes the key of a status record into an opaque cursor.
+     *
+     * @param status status record
+     * @return a cursor identifying the record
+     */
+    private static String encodeCursor(PdpPolicyStatus status) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+
+        return Stream.of(status.getPolicy().getName(), status.getPolicy().getVersion(), status.getPdpId())
+            .map(text -> encoder.encodeToString(text.getBytes(StandardCharsets.UTF_8)))
+            .collect(Collectors.joining(CURSOR_SEPARATOR));
+    }
+
+    /**
+     * Decodes a cursor into the policy name, policy version, and PDP of the record it
+     * identifies.
+     *
+     * @param cursor cursor to decode
+     * @return the fields identified by the cursor
+     */
+    private static String[] decodeCursor(String cursor) {
+        String[] fields = cursor.split(CURSOR_SEPARATOR_REGEX, -1);
+        if (fields.length != CURSOR_FIELDS) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, INVALID_CURSOR + cursor);
+        }
+
+        var decoder = Base64.getUrlDecoder();
+
+        try {
+            for (var index = 0; index < fields.length; ++index) {
+                fields[index] = new String(decoder.decode(fields[index]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, INVALID_CURSOR + cursor, e);
+        }
+
+        return fields;
+    }
+
     /**
      * Gets the status of policies in a PdpGroup that match the given regex.
      *
@@ -138,12 +250,98 @@ public class PolicyStatusProvider {
      */
     public Collection<PdpPolicyStatus> getPolicyStatusByRegex(String pdpGroupName, String patternString) {
         final var pattern = Pattern.compile(patternString);
-        // get all the statuses
-        final Collection<PdpPolicyStatus> policyStatuses = getPolicyStatus(pdpGroupName);
+        // get the statuses whose names start with the regex's literal prefix
+        final Collection<PdpPolicyStatus> policyStatuses =
+            policyStatusService.getGroupPolicyStatus(pdpGroupName, getLiteralPrefix(patternString));
         // filter out statuses with the wrong name
         return filterWithPattern(pattern, policyStatuses);
     }
 
+    /**
+     * Gets the literal prefix of a regex, that is, the text with which every name matched
+     * by the regex must start. The prefix may be shorter than necessary, but never
+     * longer; an empty string is returned if the regex has no such prefix.
+     *
+     * @param regex a valid regex
+     * @return the regex's literal prefix
+     */
+    static String getLiteralPrefix(String regex) {
+        if (hasTopLevelAlternation(regex)) {
+            return "";
+        }
+
+        var prefix = new StringBuilder();
+        var index = (regex.startsWith("^") ? 1 : 0);
+
+        while (index < regex.length()) {
+            char chr = regex.charAt(index);
+            final int next;
+
+            if (chr == '\\') {
+                // only escaped punctuation is literal; "\d", "\Q", etc. are not
+                if (index + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(index + 1))) {
+                    break;
+                }
+                chr = regex.charAt(index + 1);
+                next = index + 2;
+
+            } else if (REGEX_META_CHARS.indexOf(chr) >= 0) {
+                break;
+
+            } else {
+                next = index + 1;
+            }
+
+            // a quantified character is not necessarily present
+            if (next < regex.length() && REGEX_QUANTIFIERS.indexOf(regex.charAt(next)) >= 0) {
+                break;
+            }
+
+            prefix.append(chr);
+            index = next;
+        }
+
+        return prefix.toString();
+    }
+
+    /**
+     * Determines if a regex contains an alternation that is not within a group.
+     *
+     * @param regex regex to examine
+     * @return {@code true} if the regex contains a top-level alternation
+     */
+    private static boolean hasTopLevelAlternation(String regex) {
+        var depth = 0;
+        var inClass = false;
+
+        for (var index = 0; index < regex.length(); ++index) {
+            char chr = regex.charAt(index);
+
+            if (chr == '\\') {
+                // skip the escaped character
+                ++index;
+            } else if (inClass) {
+                inClass = (chr != ']');
+            } else if (chr == '[') {
+                inClass = true;
+                // a leading "]" or "^]" is part of the class
+                if (regex.startsWith("^]", index + 1)) {
+                    index += 2;
+                } else if (regex.startsWith("]", index + 1)) {
+                    ++index;
+                }
+            } else if (chr == '(') {
+                ++depth;
+            } else if (chr == ')') {
+                --depth;
+            } else if (chr == '|' && depth == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private Collection<PdpPolicyStatus> filterWithPattern(Pattern pattern, Collection<PdpPolicyStatus> policyStatuses) {
         return policyStatuses
             .stream()
@@ -155,4 +353,17 @@ public class PolicyStatusProvider {
                 return pattern.matcher(policyName).matches();
             }).toList();
     }
+
+    /**
+     * A page of policy status.
+     */
+    @Value
+    public static class StatusPage {
+        List<PdpPolicyStatus> statuses;
+
+        /**
+         * Cursor from which to get the next page, or {@code null} if no records remain.
+         */
+        String nextCursor;
+    }
 }
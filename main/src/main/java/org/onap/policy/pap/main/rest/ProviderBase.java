@@ -152,6 +152,9 @@ public abstract class ProviderBase {
             throws PfModelException {
 
         synchronized (updateLock) {
+            // don't interleave with the processing of PDP responses
+            notifier.awaitIdle();
+
             SessionData data;
             var notif = new PolicyNotification();
 
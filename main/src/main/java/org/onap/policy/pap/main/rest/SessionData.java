@@ -440,14 +440,14 @@ public class SessionData {
             pdpGroupService.createPdpGroups(created.stream().map(GroupData::getGroup).toList());
         }
 
-        // update existing groups
+        // update existing groups, writing only the parts that have changed
         List<GroupData> updated =
             groupCache.values().stream().filter(GroupData::isUpdated).toList();
         if (!updated.isEmpty()) {
             if (logger.isInfoEnabled()) {
                 updated.forEach(group -> logger.info("updating DB group {}", group.getGroup().getName()));
             }
-            pdpGroupService.updatePdpGroups(updated.stream().map(GroupData::getGroup).toList());
+            pdpGroupService.updatePdpGroupChanges(updated.stream().map(GroupData::getChanges).toList());
         }
 
         // send audits records to DB
@@ -38,7 +38,8 @@ public class PolicyStatusControllerV1Stub extends PapRestControllerV1
     private final StubUtils stubUtils;
 
     @Override
-    public ResponseEntity<Object> getStatusOfAllPolicies(UUID requestId) {
+    public ResponseEntity<Object> getStatusOfAllPolicies(
+            UUID requestId, @Valid String cursor, @Valid Integer limit, @Valid Boolean stream) {
         return stubUtils.getStubbedResponse(Object.class);
     }
 
@@ -50,7 +51,8 @@ public class PolicyStatusControllerV1Stub extends PapRestControllerV1
 
     @Override
     public ResponseEntity<Object> getStatusOfPoliciesByGroup(
-            String pdpGroupName, UUID requestId, @Valid String regex) {
+            String pdpGroupName, UUID requestId, @Valid String regex, @Valid String cursor, @Valid Integer limit,
+            @Valid Boolean stream) {
         return stubUtils.getStubbedResponse(Object.class);
     }
 
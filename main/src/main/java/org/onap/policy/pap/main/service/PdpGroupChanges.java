@@ -0,0 +1,78 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+
+/**
+ * Changes made to an existing PDP group, identifying the parts of the group that must be
+ * written to the DB.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PdpGroupChanges {
+
+    /**
+     * The updated group.
+     */
+    private final PdpGroup group;
+
+    /**
+     * {@code true} if the group's own fields, or its set of subgroups, have changed, in
+     * which case the entire group must be saved.
+     */
+    private final boolean groupChanged;
+
+    /**
+     * Subgroups to which PDPs have been added or from which PDPs have been removed. These
+     * are saved along with their PDPs.
+     */
+    private final List<PdpSubGroup> replacedSubGroups = new ArrayList<>();
+
+    /**
+     * Subgroups whose own fields (e.g., policies, supported policy types) have changed.
+     * These are saved without their PDPs.
+     */
+    private final List<PdpSubGroup> modifiedSubGroups = new ArrayList<>();
+
+    /**
+     * Maps a PDP type to the PDPs of that subgroup that have changed.
+     */
+    private final Map<String, List<Pdp>> modifiedPdps = new LinkedHashMap<>();
+
+    /**
+     * Adds a PDP that has changed.
+     *
+     * @param pdpType the PDP type of the subgroup containing the PDP
+     * @param pdp the PDP
+     */
+    public void addModifiedPdp(String pdpType, Pdp pdp) {
+        modifiedPdps.computeIfAbsent(pdpType, key -> new ArrayList<>()).add(pdp);
+    }
+}
@@ -23,7 +23,10 @@ package org.onap.policy.pap.main.service;
 
 import jakarta.ws.rs.core.Response;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.common.parameters.BeanValidationResult;
@@ -40,19 +43,28 @@ import org.onap.policy.models.pdp.persistence.concepts.JpaPdp;
 import org.onap.policy.models.pdp.persistence.concepts.JpaPdpGroup;
 import org.onap.policy.models.pdp.persistence.concepts.JpaPdpSubGroup;
 import org.onap.policy.pap.main.repository.PdpGroupRepository;
+import org.onap.policy.pap.main.repository.PdpGroupSpecifications;
 import org.onap.policy.pap.main.repository.PdpRepository;
 import org.onap.policy.pap.main.repository.PdpSubGroupRepository;
+import org.onap.policy.pap.main.service.PdpGroupTopologyCache.SubGroupEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PdpGroupService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdpGroupService.class);
 
     private final PdpGroupRepository pdpGroupRepository;
     private final PdpSubGroupRepository pdpSubGroupRepository;
     private final PdpRepository pdpRepository;
+    private final PdpGroupTopologyCache topologyCache;
+    private final SubGroupPolicyCache policyCache;
 
     /**
      * Get all PDP groups.
@@ -95,13 +107,52 @@ public class PdpGroupService {
     }
 
     /**
-     * Get filtered PDP groups.
+     * Get filtered PDP groups. The filter is translated into a query, so that only the
+     * groups that may match it are fetched; the filter is then applied to those groups.
      *
      * @param filter the filter for the PDP groups to get
      * @return the PDP groups found
      */
     public List<PdpGroup> getFilteredPdpGroups(@NonNull final PdpGroupFilter filter) {
-        return filter.filter(asPdpGroups(pdpGroupRepository.findAll()));
+        return filter.filter(asPdpGroups(pdpGroupRepository.findAll(PdpGroupSpecifications.fromFilter(filter))));
+    }
+
+    /**
+     * Gets a subgroup of an active PDP group from the topology cache, loading the cache
+     * from the DB, if it is stale.
+     *
+     * @param pdpGroup the name of group
+     * @param pdpType the PDP type of the subgroup
+     * @return the subgroup, or {@code null} if the group is not active or does not contain
+     *         the subgroup
+     */
+    public SubGroupEntry getActivePdpSubGroup(String pdpGroup, String pdpType) {
+        topologyCache.reloadIfStale(this::getPdpGroups);
+        return topologyCache.getActiveSubGroup(pdpGroup, pdpType);
+    }
+
+    /**
+     * Reloads a PDP group from the DB into the topology cache, and then gets one of its
+     * subgroups, if the group is active.
+     *
+     * @param pdpGroup the name of group
+     * @param pdpType the PDP type of the subgroup
+     * @return the subgroup, or {@code null} if the group is not active or does not contain
+     *         the subgroup
+     */
+    public SubGroupEntry refreshActivePdpSubGroup(String pdpGroup, String pdpType) {
+        if (pdpGroup == null) {
+            return null;
+        }
+
+        List<PdpGroup> groups = getPdpGroups(pdpGroup);
+        if (groups.isEmpty()) {
+            topologyCache.removeGroup(pdpGroup);
+        } else {
+            topologyCache.putGroup(groups.get(0));
+        }
+
+        return topologyCache.getActiveSubGroup(pdpGroup, pdpType);
     }
 
     /**
@@ -124,6 +175,46 @@ public class PdpGroupService {
         return savePdpGroups(pdpGroups);
     }
 
+    /**
+     * Updates PDP groups, writing only the parts of each group that have changed. Groups
+     * whose own fields, or set of subgroups, have changed are saved in their entirety.
+     * Otherwise, subgroups whose PDPs were added or removed are saved along with their
+     * PDPs, other modified subgroups are saved without their PDPs, and modified PDPs are
+     * saved individually. All of the changes are applied within a single transaction.
+     *
+     * @param changes the changes made to each group
+     */
+    public void updatePdpGroupChanges(@NonNull final List<PdpGroupChanges> changes) {
+        List<PdpGroup> fullUpdates = new ArrayList<>();
+
+        for (PdpGroupChanges groupChanges : changes) {
+            if (groupChanges.isGroupChanged()) {
+                fullUpdates.add(groupChanges.getGroup());
+                continue;
+            }
+
+            String groupName = groupChanges.getGroup().getName();
+
+            for (PdpSubGroup subGroup : groupChanges.getReplacedSubGroups()) {
+                updatePdpSubGroup(groupName, subGroup);
+            }
+
+            for (PdpSubGroup subGroup : groupChanges.getModifiedSubGroups()) {
+                updatePdpSubGroupFields(groupName, subGroup);
+            }
+
+            for (Map.Entry<String, List<Pdp>> entry : groupChanges.getModifiedPdps().entrySet()) {
+                for (Pdp pdp : entry.getValue()) {
+                    updatePdp(groupName, entry.getKey(), pdp);
+                }
+            }
+        }
+
+        if (!fullUpdates.isEmpty()) {
+            savePdpGroups(fullUpdates);
+        }
+    }
+
     private List<PdpGroup> savePdpGroups(final List<PdpGroup> pdpGroups) {
         List<PdpGroup> returnPdpGroupList = new ArrayList<>();
 
@@ -137,7 +228,12 @@ public class PdpGroupService {
                     throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, validationResult.getResult());
                 }
 
-                returnPdpGroupList.add(pdpGroupRepository.save(jpaPdpGroup).toAuthorative());
+                var savedGroup = pdpGroupRepository.save(jpaPdpGroup).toAuthorative();
+                returnPdpGroupList.add(savedGroup);
+                afterCommit(() -> {
+                    topologyCache.putGroup(savedGroup);
+                    policyCache.invalidate(savedGroup.getName());
+                });
             } catch (Exception exc) {
                 throw new PfModelRuntimeException(Response.Status.BAD_REQUEST,
                     "Failed saving PdpGroup. " + exc.getMessage(), exc);
@@ -155,6 +251,10 @@ public class PdpGroupService {
         PfConceptKey groupKey = new PfConceptKey(pdpGroup, "0.0.0");
         if (pdpGroupRepository.existsById(groupKey)) {
             pdpGroupRepository.deleteById(groupKey);
+            afterCommit(() -> {
+                topologyCache.removeGroup(pdpGroup);
+                policyCache.invalidate(pdpGroup);
+            });
         } else {
             String errorMessage = "delete of PDP group \"" + pdpGroup + "\" failed, PDP group does not exist";
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, errorMessage);
@@ -195,6 +295,36 @@ public class PdpGroupService {
         }
 
         pdpRepository.save(jpaPdp);
+        afterCommit(() -> topologyCache.putPdp(pdpGroupName, pdpSubGroup, pdp));
+    }
+
+    /**
+     * Updates the liveness data (health status, message, and last update time) of PDPs.
+     * All of the updates are applied within a single transaction. PDPs that no longer
+     * exist are skipped, as are PDPs whose data is invalid, which are logged.
+     *
+     * @param pdps the PDPs to be updated, keyed by PDP key
+     * @return the number of PDPs that were updated
+     */
+    public int updatePdpLiveness(@NonNull final Map<PfReferenceKey, Pdp> pdps) {
+        var count = 0;
+        for (Map.Entry<PfReferenceKey, Pdp> entry : pdps.entrySet()) {
+            Pdp pdp = entry.getValue();
+
+            final var jpaPdp = new JpaPdp(entry.getKey());
+            jpaPdp.fromAuthorative(pdp);
+
+            BeanValidationResult validationResult = jpaPdp.validate("PDP");
+            if (!validationResult.isValid()) {
+                LOGGER.warn("discarding invalid liveness data of PDP {}: {}", entry.getKey().getLocalName(),
+                    validationResult.getResult());
+                continue;
+            }
+
+            Date lastUpdate = (pdp.getLastUpdate() == null ? null : Date.from(pdp.getLastUpdate()));
+            count += pdpRepository.updateLiveness(entry.getKey(), pdp.getHealthy(), pdp.getMessage(), lastUpdate);
+        }
+        return count;
     }
 
     /**
@@ -214,6 +344,76 @@ public class PdpGroupService {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, validationResult.getResult());
         }
         pdpSubGroupRepository.save(jpaPdpSubgroup);
+        afterCommit(() -> {
+            topologyCache.putSubGroup(pdpGroupName, pdpSubGroup);
+            policyCache.invalidate(pdpGroupName);
+        });
+    }
+
+    /**
+     * Updates the fields of a PDP subgroup, leaving its PDPs untouched. Only the fields
+     * whose values differ from those in the DB are written.
+     *
+     * @param pdpGroupName the name of the PDP group of the PDP subgroup
+     * @param pdpSubGroup the PDP subgroup to be updated
+     */
+    private void updatePdpSubGroupFields(final String pdpGroupName, final PdpSubGroup pdpSubGroup) {
+
+        final var subGroupKey = new PfReferenceKey(pdpGroupName, PfKey.NULL_KEY_VERSION, pdpSubGroup.getPdpType());
+        final var changes = new JpaPdpSubGroup(subGroupKey);
+        changes.fromAuthorative(pdpSubGroup);
+
+        BeanValidationResult validationResult = changes.validate("PDP sub group");
+        if (!validationResult.isValid()) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, validationResult.getResult());
+        }
+
+        final JpaPdpSubGroup jpaPdpSubgroup = pdpSubGroupRepository.findById(subGroupKey)
+            .orElseThrow(() -> new PfModelRuntimeException(Response.Status.BAD_REQUEST,
+                "update of PDP sub group \"" + subGroupKey.getId() + "\" failed, PDP sub group does not exist"));
+
+        // the entity is managed, thus changes are written when the transaction commits
+        if (!jpaPdpSubgroup.getSupportedPolicyTypes().equals(changes.getSupportedPolicyTypes())) {
+            jpaPdpSubgroup.setSupportedPolicyTypes(changes.getSupportedPolicyTypes());
+        }
+        if (!jpaPdpSubgroup.getPolicies().equals(changes.getPolicies())) {
+            jpaPdpSubgroup.setPolicies(changes.getPolicies());
+        }
+        if (!Objects.equals(jpaPdpSubgroup.getProperties(), changes.getProperties())) {
+            jpaPdpSubgroup.setProperties(changes.getProperties());
+        }
+        jpaPdpSubgroup.setCurrentInstanceCount(changes.getCurrentInstanceCount());
+        jpaPdpSubgroup.setDesiredInstanceCount(changes.getDesiredInstanceCount());
+
+        afterCommit(() -> {
+            topologyCache.putSubGroup(pdpGroupName, pdpSubGroup);
+            policyCache.invalidate(pdpGroupName);
+        });
+    }
+
+    /**
+     * Applies a change to the caches once the current transaction commits. If the
+     * transaction is rolled back, then the caches are invalidated instead.
+     *
+     * @param action action that updates the caches
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                } else {
+                    topologyCache.invalidate();
+                    policyCache.invalidateAll();
+                }
+            }
+        });
     }
 
 }
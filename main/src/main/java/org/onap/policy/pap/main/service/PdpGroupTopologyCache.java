@@ -0,0 +1,358 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.pap.main.parameters.PapParameterGroup;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-through cache of the PDP group topology (group, subgroup, PDP instance). It is
+ * used to serve heartbeat lookups without reading every group from the DB. The cache is
+ * populated and kept coherent by {@link PdpGroupService}; it is reloaded periodically so
+ * that changes made by other PAP instances are eventually picked up.
+ *
+ * <p/>The group map is never modified in place; a new, unmodifiable map is built and
+ * swapped in whenever it changes, so that readers, which take no lock, never see a
+ * partially loaded cache.
+ *
+ * <p/>Entries returned by the cache are shared and must not be modified by the caller.
+ */
+@Component
+public class PdpGroupTopologyCache {
+
+    /**
+     * Maps a group name to its entry. Replaced, rather than modified, by writers.
+     */
+    private volatile Map<String, GroupEntry> groups = Collections.emptyMap();
+
+    /**
+     * Held while the cache is being reloaded from the DB, so that only one thread
+     * reloads it at a time.
+     */
+    private final Lock reloadLock = new ReentrantLock();
+
+    /**
+     * Interval, in milliseconds, after which the cache must be reloaded.
+     */
+    private final long refreshMs;
+
+    /**
+     * Time, in milliseconds, when the cache was last loaded, or 0 if it must be
+     * (re)loaded.
+     */
+    private volatile long loadedMs = 0;
+
+    /**
+     * Incremented each time the cache is modified, so that a load that was started
+     * before a modification does not overwrite it.
+     */
+    private long modCount = 0;
+
+    /**
+     * Constructs the object.
+     *
+     * @param parameterGroup the parameterGroup
+     */
+    public PdpGroupTopologyCache(PapParameterGroup parameterGroup) {
+        this.refreshMs = parameterGroup.getPdpParameters().getTopologyRefreshMs();
+    }
+
+    /**
+     * Determines if the cache must be reloaded from the DB.
+     *
+     * @return {@code true} if the cache must be reloaded, {@code false} otherwise
+     */
+    public boolean isStale() {
+        long loaded = loadedMs;
+        return (loaded == 0 || currentTimeMs() - loaded >= refreshMs);
+    }
+
+    /**
+     * Gets the modification count, which is to be passed to {@link #load(Collection, long)}.
+     *
+     * @return the current modification count
+     */
+    public synchronized long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Reloads the cache, if it is stale. Only one thread reloads the cache at a time. If
+     * the cache has been loaded before, then other threads continue to use the current
+     * content while it is being reloaded; otherwise, they wait for the reload to
+     * complete.
+     *
+     * @param loader function used to read all PDP groups from the DB
+     */
+    public void reloadIfStale(Supplier<? extends Collection<PdpGroup>> loader) {
+        if (!isStale()) {
+            return;
+        }
+
+        if (loadedMs != 0) {
+            if (!reloadLock.tryLock()) {
+                // another thread is reloading it - use the current content
+                return;
+            }
+        } else {
+            reloadLock.lock();
+        }
+
+        try {
+            // may have been reloaded while waiting for the lock
+            if (isStale()) {
+                long expectedModCount = getModCount();
+                load(loader.get(), expectedModCount);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the content of the cache with the given groups. Discards the groups if
+     * the cache was modified after the groups were read from the DB.
+     *
+     * @param pdpGroups all PDP groups, as read from the DB
+     * @param expectedModCount modification count that was retrieved before reading the
+     *        groups from the DB
+     */
+    public synchronized void load(Collection<PdpGroup> pdpGroups, long expectedModCount) {
+        if (modCount != expectedModCount) {
+            // something changed while the groups were being read - leave it stale
+            return;
+        }
+
+        Map<String, GroupEntry> map = new HashMap<>();
+        pdpGroups.forEach(group -> map.put(group.getName(), new GroupEntry(group)));
+        groups = Collections.unmodifiableMap(map);
+
+        modCount++;
+        loadedMs = currentTimeMs();
+    }
+
+    /**
+     * Forces the cache to be reloaded the next time it is used.
+     */
+    public synchronized void invalidate() {
+        modCount++;
+        loadedMs = 0;
+    }
+
+    /**
+     * Gets a subgroup of an active group.
+     *
+     * @param groupName name of the group containing the subgroup
+     * @param pdpType PDP type of the subgroup
+     * @return the subgroup, or {@code null} if the group is not active or does not
+     *         contain the subgroup
+     */
+    public SubGroupEntry getActiveSubGroup(String groupName, String pdpType) {
+        if (groupName == null || pdpType == null) {
+            return null;
+        }
+
+        GroupEntry group = groups.get(groupName);
+        if (group == null || group.getState() != PdpState.ACTIVE) {
+            return null;
+        }
+
+        return group.getSubGroups().get(pdpType);
+    }
+
+    /**
+     * Adds or replaces a group.
+     *
+     * @param group the group, as stored in the DB
+     */
+    public synchronized void putGroup(PdpGroup group) {
+        modCount++;
+        Map<String, GroupEntry> map = new HashMap<>(groups);
+        map.put(group.getName(), new GroupEntry(group));
+        groups = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Removes a group.
+     *
+     * @param groupName name of the group to be removed
+     */
+    public synchronized void removeGroup(String groupName) {
+        modCount++;
+        Map<String, GroupEntry> map = new HashMap<>(groups);
+        map.remove(groupName);
+        groups = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Adds or replaces a subgroup within a group. Nothing is changed if the group is not
+     * in the cache.
+     *
+     * @param groupName name of the group containing the subgroup
+     * @param subGroup the subgroup, as stored in the DB
+     */
+    public synchronized void putSubGroup(String groupName, PdpSubGroup subGroup) {
+        modCount++;
+        GroupEntry group = groups.get(groupName);
+        if (group != null) {
+            Map<String, GroupEntry> map = new HashMap<>(groups);
+            map.put(groupName, group.withSubGroup(subGroup));
+            groups = Collections.unmodifiableMap(map);
+        }
+    }
+
+    /**
+     * Adds or replaces a PDP within a subgroup. Nothing is changed if the subgroup is not
+     * in the cache. As this only affects the PDP's liveness data, it does not prevent a
+     * concurrent load from completing.
+     *
+     * @param groupName name of the group containing the subgroup
+     * @param pdpType PDP type of the subgroup
+     * @param pdp the PDP, as stored in the DB
+     */
+    public void putPdp(String groupName, String pdpType, Pdp pdp) {
+        GroupEntry group = groups.get(groupName);
+        if (group != null) {
+            SubGroupEntry subGroup = group.getSubGroups().get(pdpType);
+            if (subGroup != null) {
+                subGroup.pdps.put(pdp.getInstanceId(), new Pdp(pdp));
+            }
+        }
+    }
+
+    // these may be overridden by junit tests
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Cached PDP group.
+     */
+    @Getter
+    private static class GroupEntry {
+        private final String name;
+        private final PdpState state;
+
+        /**
+         * Maps a PDP type to its subgroup.
+         */
+        private final Map<String, SubGroupEntry> subGroups;
+
+        public GroupEntry(PdpGroup group) {
+            this.name = group.getName();
+            this.state = group.getPdpGroupState();
+
+            Map<String, SubGroupEntry> map = new HashMap<>();
+            for (PdpSubGroup subGroup : group.getPdpSubgroups()) {
+                map.put(subGroup.getPdpType(), new SubGroupEntry(name, subGroup));
+            }
+            this.subGroups = Collections.unmodifiableMap(map);
+        }
+
+        private GroupEntry(GroupEntry source, Map<String, SubGroupEntry> subGroups) {
+            this.name = source.name;
+            this.state = source.state;
+            this.subGroups = Collections.unmodifiableMap(subGroups);
+        }
+
+        /**
+         * Makes a copy of this entry, with the given subgroup added or replaced.
+         *
+         * @param subGroup the new subgroup
+         * @return a new group entry
+         */
+        public GroupEntry withSubGroup(PdpSubGroup subGroup) {
+            Map<String, SubGroupEntry> map = new HashMap<>(subGroups);
+            map.put(subGroup.getPdpType(), new SubGroupEntry(name, subGroup));
+            return new GroupEntry(this, map);
+        }
+    }
+
+    /**
+     * Cached PDP subgroup, with its PDP instances indexed by name.
+     */
+    public static class SubGroupEntry {
+        @Getter
+        private final String groupName;
+
+        /**
+         * The subgroup, without its PDP instances, which are held in {@link #pdps}.
+         */
+        @Getter
+        private final PdpSubGroup subGroup;
+
+        /**
+         * Maps a PDP instance ID to the PDP.
+         */
+        private final Map<String, Pdp> pdps = new ConcurrentHashMap<>();
+
+        private SubGroupEntry(String groupName, PdpSubGroup source) {
+            this.groupName = groupName;
+
+            this.subGroup = new PdpSubGroup(source);
+            this.subGroup.setPdpInstances(Collections.emptyList());
+
+            source.getPdpInstances().forEach(pdp -> pdps.put(pdp.getInstanceId(), new Pdp(pdp)));
+        }
+
+        /**
+         * Gets a PDP instance.
+         *
+         * @param instanceId ID of the PDP of interest
+         * @return the PDP, or {@code null} if the subgroup does not contain the PDP
+         */
+        public Pdp getPdp(String instanceId) {
+            return (instanceId == null ? null : pdps.get(instanceId));
+        }
+
+        /**
+         * Makes a copy of the subgroup, including all of its PDP instances, that may be
+         * modified by the caller.
+         *
+         * @return a copy of the subgroup
+         */
+        public PdpSubGroup toSubGroup() {
+            var copy = new PdpSubGroup(subGroup);
+
+            List<Pdp> instances = new ArrayList<>(pdps.size());
+            pdps.values().forEach(pdp -> instances.add(new Pdp(pdp)));
+            copy.setPdpInstances(instances);
+
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.onap.policy.models.base.PfKey;
+import org.onap.policy.models.base.PfReferenceKey;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.pap.main.parameters.PapParameterGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind buffer for PDP liveness data (health status, message, and last update
+ * time). Heart beats only record the latest liveness data for each PDP; the buffer is
+ * periodically flushed to the DB, in a single transaction, so that the DB sees a few
+ * batched writes per interval instead of one transaction per heart beat.
+ */
+@Component
+public class PdpLivenessBuffer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdpLivenessBuffer.class);
+
+    private final PdpGroupService pdpGroupService;
+    private final PdpGroupTopologyCache topologyCache;
+
+    /**
+     * Interval, in milliseconds, at which the buffer is flushed.
+     */
+    private final long flushMs;
+
+    /**
+     * Latest liveness data for each PDP, keyed by PDP key. Only the most recent update
+     * for a given PDP is retained.
+     */
+    private final Map<PfReferenceKey, Pdp> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Time, in milliseconds, of the most recent flush that could not write any update, or
+     * zero if none has failed that way.
+     */
+    private volatile long lastFailureMs = 0;
+
+    private ScheduledExecutorService flushTimer;
+
+    /**
+     * Constructs the object.
+     *
+     * @param parameterGroup the parameterGroup
+     * @param pdpGroupService the pdpGroupService
+     * @param topologyCache the topologyCache
+     */
+    public PdpLivenessBuffer(PapParameterGroup parameterGroup, PdpGroupService pdpGroupService,
+        PdpGroupTopologyCache topologyCache) {
+        this.pdpGroupService = pdpGroupService;
+        this.topologyCache = topologyCache;
+        this.flushMs = parameterGroup.getPdpParameters().getEffectiveLivenessFlushMs();
+    }
+
+    /**
+     * Starts the timer that periodically flushes the buffer.
+     */
+    @PostConstruct
+    public void start() {
+        flushTimer = makeTimer();
+        flushTimer.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer and writes any remaining updates to the DB.
+     */
+    @PreDestroy
+    public void stop() {
+        flushTimer.shutdown();
+        flush();
+    }
+
+    /**
+     * Records the latest liveness data of a PDP, replacing any update that has not been
+     * written yet. The topology cache is updated immediately.
+     *
+     * @param pdpGroupName the name of the PDP group of the PDP subgroup
+     * @param pdpSubGroup the PDP type of the PDP subgroup
+     * @param pdp the PDP
+     */
+    public void add(String pdpGroupName, String pdpSubGroup, Pdp pdp) {
+        final var pdpKey = new PfReferenceKey(pdpGroupName, PfKey.NULL_KEY_VERSION, pdpSubGroup, pdp.getInstanceId());
+        pending.put(pdpKey, new Pdp(pdp));
+        topologyCache.putPdp(pdpGroupName, pdpSubGroup, pdp);
+    }
+
+    /**
+     * Gets the number of PDPs whose liveness data has not been written yet.
+     *
+     * @return the number of pending updates
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the time of the most recent flush that failed entirely. Liveness data added
+     * before this time may not have been written.
+     *
+     * @return the time, in milliseconds, of the most recent failed flush, or zero if
+     *         no flush has failed
+     */
+    public long getLastFailureMs() {
+        return lastFailureMs;
+    }
+
+    /**
+     * Writes all pending updates to the DB. If the write fails, then each update is
+     * retried on its own, so that one bad update cannot prevent the others from being
+     * written; updates that still fail are discarded rather than put back, thus they
+     * cannot fail every later flush.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<PfReferenceKey, Pdp> batch = new HashMap<>();
+        for (PfReferenceKey key : pending.keySet()) {
+            Pdp pdp = pending.remove(key);
+            if (pdp != null) {
+                batch.put(key, pdp);
+            }
+        }
+
+        try {
+            int count = pdpGroupService.updatePdpLiveness(batch);
+            LOGGER.debug("flushed liveness of {} PDPs, {} updated", batch.size(), count);
+
+        } catch (RuntimeException e) {
+            LOGGER.warn("failed to flush liveness of {} PDPs, retrying them individually", batch.size(), e);
+            flushIndividually(batch);
+        }
+    }
+
+    /**
+     * Writes each update in its own transaction, discarding those that fail. If none
+     * can be written (e.g., the DB is unavailable), then the failure time is recorded,
+     * so that the next heart beat of each PDP records its liveness data again.
+     *
+     * @param batch updates to be written
+     */
+    private void flushIndividually(Map<PfReferenceKey, Pdp> batch) {
+        var failed = 0;
+
+        for (Map.Entry<PfReferenceKey, Pdp> entry : batch.entrySet()) {
+            try {
+                pdpGroupService.updatePdpLiveness(Map.of(entry.getKey(), entry.getValue()));
+
+            } catch (RuntimeException e) {
+                LOGGER.warn("discarding liveness of PDP {}: {}", entry.getKey().getLocalName(), e.getMessage());
+                ++failed;
+            }
+        }
+
+        if (failed == batch.size()) {
+            lastFailureMs = currentTimeMs();
+        }
+    }
+
+    // these may be overridden by junit tests
+
+    protected ScheduledExecutorService makeTimer() {
+        return Executors.newScheduledThreadPool(1);
+    }
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+}
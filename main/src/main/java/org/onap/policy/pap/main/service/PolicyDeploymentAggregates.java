@@ -0,0 +1,430 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.Value;
+import org.onap.policy.models.pap.concepts.PolicyStatus;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus.State;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.pap.main.parameters.PapParameterGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory aggregate of the deployment status of each policy, i.e., the number of PDPs
+ * on which each policy has been successfully deployed, has failed, or is still pending.
+ * It is loaded from the DB when first used and is then kept up to date by
+ * {@link PolicyStatusService} as status records are created, updated, and deleted. It is
+ * reloaded if an inconsistency is detected, such as an update to a record that it does
+ * not contain, and periodically, so that changes made by other PAP instances are picked
+ * up.
+ */
+@Component
+public class PolicyDeploymentAggregates {
+
+    /**
+     * Maps a PDP/policy pair to its status record.
+     */
+    private final Map<RecordKey, RecordState> records = new HashMap<>();
+
+    /**
+     * Maps a group name to a map of PDP id to the keys of the PDP's records, so that the
+     * records of a PDP can be found without scanning {@link #records}.
+     */
+    private final Map<String, Map<String, Set<RecordKey>>> pdpIndex = new HashMap<>();
+
+    /**
+     * Maps a group/policy pair to the keys of the policy's records within the group.
+     */
+    private final Map<GroupPolicy, Set<RecordKey>> policyIndex = new HashMap<>();
+
+    /**
+     * Maps a policy to its aggregated deployment status. Only includes policies having
+     * deployment (as opposed to undeployment) records.
+     */
+    private final Map<ToscaConceptIdentifier, PolicyStatus> deployed = new HashMap<>();
+
+    /**
+     * Interval, in milliseconds, after which the aggregates are reloaded.
+     */
+    private final long refreshMs;
+
+    /**
+     * Time, in milliseconds, when the aggregates were last loaded, or 0 if they must be
+     * (re)loaded.
+     */
+    private long loadedMs = 0;
+
+    /**
+     * Incremented each time the aggregates are modified, so that a load that was started
+     * before a modification does not overwrite it.
+     */
+    private long modCount = 0;
+
+    /**
+     * Constructs the object.
+     *
+     * @param parameterGroup the parameterGroup
+     */
+    @Autowired
+    public PolicyDeploymentAggregates(PapParameterGroup parameterGroup) {
+        this(parameterGroup.getPdpParameters().getDeploymentAggregatesRefreshMs());
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param refreshMs interval, in milliseconds, after which the aggregates are reloaded
+     */
+    public PolicyDeploymentAggregates(long refreshMs) {
+        this.refreshMs = refreshMs;
+    }
+
+    /**
+     * Determines if the aggregates must be (re)loaded from the DB.
+     *
+     * @return {@code true} if the aggregates must be loaded, {@code false} otherwise
+     */
+    public synchronized boolean isStale() {
+        return (loadedMs == 0 || currentTimeMs() - loadedMs >= refreshMs);
+    }
+
+    /**
+     * Gets the modification count, which is to be passed to {@link #load(Collection, long)}.
+     *
+     * @return the current modification count
+     */
+    public synchronized long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Replaces the content of the aggregates with the given status records. Discards the
+     * records if the aggregates were modified after the records were read from the DB.
+     *
+     * @param statuses all policy status records, as read from the DB
+     * @param expectedModCount modification count that was retrieved before reading the
+     *        records from the DB
+     * @return {@code true} if the records were loaded, {@code false} if they were
+     *         discarded
+     */
+    public synchronized boolean load(Collection<PdpPolicyStatus> statuses, long expectedModCount) {
+        if (modCount != expectedModCount) {
+            // something changed while the records were being read - leave it stale
+            return false;
+        }
+
+        records.clear();
+        pdpIndex.clear();
+        policyIndex.clear();
+        deployed.clear();
+        statuses.forEach(status -> add(new RecordKey(status), new RecordState(status)));
+
+        modCount++;
+        loadedMs = currentTimeMs();
+        return true;
+    }
+
+    /**
+     * Forces the aggregates to be reloaded the next time they are used.
+     */
+    public synchronized void invalidate() {
+        modCount++;
+        loadedMs = 0;
+    }
+
+    /**
+     * Applies changes that have been committed to the DB. If a change is inconsistent
+     * with the current content, then the aggregates are invalidated instead.
+     *
+     * @param created records that were created
+     * @param updated records that were updated
+     * @param deleted records that were deleted
+     */
+    public synchronized void apply(Collection<PdpPolicyStatus> created, Collection<PdpPolicyStatus> updated,
+                    Collection<PdpPolicyStatus> deleted) {
+        modCount++;
+        if (loadedMs == 0) {
+            return;
+        }
+
+        if (!applyDeletes(deleted) || !applyUpdates(created, false) || !applyUpdates(updated, true)) {
+            loadedMs = 0;
+        }
+    }
+
+    /**
+     * Applies the deletion of the records of some of the PDPs of a group that has been
+     * committed to the DB. The aggregates are invalidated instead if the records removed
+     * from the aggregates do not match those that were counted before the deletion, or
+     * if the number of records deleted from the DB differs.
+     *
+     * @param pdpGroup group containing the PDPs
+     * @param pdpIds PDPs whose records were deleted
+     * @param expected counts of the records that were expected to be deleted, as
+     *        produced by {@link PolicyStatusService#countPdpPolicyStatus(String, Collection)}
+     * @param deletedCount number of records that were deleted from the DB
+     */
+    public synchronized void subtractPdps(String pdpGroup, Collection<String> pdpIds,
+                    Map<PdpPolicyStatus, Long> expected, int deletedCount) {
+        subtract(() -> {
+            Map<String, Set<RecordKey>> pdps = pdpIndex.getOrDefault(pdpGroup, Map.of());
+            List<RecordKey> keys = new ArrayList<>();
+            pdpIds.forEach(pdpId -> keys.addAll(pdps.getOrDefault(pdpId, Set.of())));
+            return keys;
+        }, rec -> true, expected, deletedCount);
+    }
+
+    /**
+     * Applies the deletion of the undeployment records of a policy in a group that has
+     * been committed to the DB. The aggregates are invalidated instead if the records
+     * removed from the aggregates do not match those that were expected, or if the
+     * number of records deleted from the DB differs.
+     *
+     * @param pdpGroup group containing the records
+     * @param policy policy whose undeployment records were deleted
+     * @param expected counts of the records that were expected to be deleted, keyed as
+     *        by {@link PolicyStatusService#countGroupPolicyStatus(String)}
+     * @param deletedCount number of records that were deleted from the DB
+     */
+    public synchronized void subtractUndeployments(String pdpGroup, ToscaConceptIdentifier policy,
+                    Map<PdpPolicyStatus, Long> expected, int deletedCount) {
+        subtract(() -> new ArrayList<>(policyIndex.getOrDefault(new GroupPolicy(pdpGroup, policy), Set.of())),
+            rec -> !rec.isDeploy(), expected, deletedCount);
+    }
+
+    /**
+     * Removes the records matching a filter from among a set of candidates, which are
+     * retrieved from the indices so that only the records of interest are examined.
+     *
+     * @param candidates supplies the keys of the records that may be removed
+     * @param filter filter to identify, among the candidates, the records to be removed
+     * @param expected counts of the records that were expected to be removed
+     * @param deletedCount number of records that were deleted from the DB
+     */
+    private void subtract(Supplier<List<RecordKey>> candidates, Predicate<RecordState> filter,
+                    Map<PdpPolicyStatus, Long> expected, int deletedCount) {
+        modCount++;
+        if (loadedMs == 0) {
+            return;
+        }
+
+        Map<PdpPolicyStatus, Long> actual = new HashMap<>();
+        var removedCount = 0;
+
+        for (RecordKey key : candidates.get()) {
+            RecordState rec = records.get(key);
+            if (filter.test(rec)) {
+                remove(key);
+                actual.merge(rec.toCountKey(key.getPolicy()), 1L, Long::sum);
+                ++removedCount;
+            }
+        }
+
+        if (removedCount != deletedCount || !actual.equals(expected)) {
+            loadedMs = 0;
+        }
+    }
+
+    private boolean applyDeletes(Collection<PdpPolicyStatus> deleted) {
+        for (PdpPolicyStatus status : deleted) {
+            if (remove(new RecordKey(status)) == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean applyUpdates(Collection<PdpPolicyStatus> statuses, boolean mustExist) {
+        for (PdpPolicyStatus status : statuses) {
+            var key = new RecordKey(status);
+            if ((remove(key) != null) != mustExist) {
+                return false;
+            }
+
+            add(key, new RecordState(status));
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the deployment status of the policies matching a filter.
+     *
+     * @param filter filter to identify the policies of interest
+     * @return copies of the deployment status of the matching policies
+     */
+    public synchronized List<PolicyStatus> getDeploymentStatus(Predicate<ToscaConceptIdentifier> filter) {
+        return deployed.entrySet().stream().filter(entry -> filter.test(entry.getKey()))
+            .map(entry -> copy(entry.getValue())).toList();
+    }
+
+    private void add(RecordKey key, RecordState rec) {
+        records.put(key, rec);
+        pdpIndex.computeIfAbsent(rec.getPdpGroup(), grp -> new HashMap<>())
+            .computeIfAbsent(key.getPdpId(), pdpId -> new HashSet<>()).add(key);
+        policyIndex.computeIfAbsent(new GroupPolicy(rec.getPdpGroup(), key.getPolicy()), gp -> new HashSet<>())
+            .add(key);
+        adjust(key.getPolicy(), rec, 1);
+    }
+
+    private RecordState remove(RecordKey key) {
+        RecordState rec = records.remove(key);
+        if (rec == null) {
+            return null;
+        }
+
+        Map<String, Set<RecordKey>> pdps = pdpIndex.get(rec.getPdpGroup());
+        removeIndex(pdps, key.getPdpId(), key);
+        if (pdps.isEmpty()) {
+            pdpIndex.remove(rec.getPdpGroup());
+        }
+
+        removeIndex(policyIndex, new GroupPolicy(rec.getPdpGroup(), key.getPolicy()), key);
+        adjust(key.getPolicy(), rec, -1);
+
+        return rec;
+    }
+
+    private static <K> void removeIndex(Map<K, Set<RecordKey>> index, K indexKey, RecordKey key) {
+        Set<RecordKey> keys = index.get(indexKey);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            index.remove(indexKey);
+        }
+    }
+
+    /**
+     * Adjusts the aggregated status of a policy, discarding it once all of its counts
+     * have dropped to zero.
+     *
+     * @param policy policy of interest
+     * @param rec record being added or removed
+     * @param delta amount by which to adjust the relevant count
+     */
+    private void adjust(ToscaConceptIdentifier policy, RecordState rec, int delta) {
+        if (!rec.isDeploy()) {
+            return;
+        }
+
+        PolicyStatus stat = deployed.computeIfAbsent(policy, key -> {
+            var value = new PolicyStatus();
+            value.setPolicyId(policy.getName());
+            value.setPolicyVersion(policy.getVersion());
+            value.setPolicyTypeId(rec.getPolicyType().getName());
+            value.setPolicyTypeVersion(rec.getPolicyType().getVersion());
+            return value;
+        });
+
+        switch (rec.getState()) {
+            case SUCCESS:
+                stat.setSuccessCount(stat.getSuccessCount() + delta);
+                break;
+            case FAILURE:
+                stat.setFailureCount(stat.getFailureCount() + delta);
+                break;
+            default:
+                stat.setIncompleteCount(stat.getIncompleteCount() + delta);
+                break;
+        }
+
+        if (stat.getSuccessCount() == 0 && stat.getFailureCount() == 0 && stat.getIncompleteCount() == 0) {
+            deployed.remove(policy);
+        }
+    }
+
+    // these may be overridden by junit tests
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+
+    private static PolicyStatus copy(PolicyStatus stat) {
+        var value = new PolicyStatus();
+        value.setPolicyId(stat.getPolicyId());
+        value.setPolicyVersion(stat.getPolicyVersion());
+        value.setPolicyTypeId(stat.getPolicyTypeId());
+        value.setPolicyTypeVersion(stat.getPolicyTypeVersion());
+        value.setSuccessCount(stat.getSuccessCount());
+        value.setFailureCount(stat.getFailureCount());
+        value.setIncompleteCount(stat.getIncompleteCount());
+        return value;
+    }
+
+    @Value
+    private static class GroupPolicy {
+        String pdpGroup;
+        ToscaConceptIdentifier policy;
+    }
+
+    @Value
+    private static class RecordKey {
+        String pdpId;
+        ToscaConceptIdentifier policy;
+
+        RecordKey(PdpPolicyStatus status) {
+            pdpId = status.getPdpId();
+            policy = status.getPolicy();
+        }
+    }
+
+    /**
+     * The parts of a status record that are needed to aggregate it. Copied, as the
+     * original status records may be modified after they have been applied.
+     */
+    @Value
+    private static class RecordState {
+        String pdpGroup;
+        ToscaConceptIdentifier policyType;
+        boolean deploy;
+        State state;
+
+        RecordState(PdpPolicyStatus status) {
+            pdpGroup = status.getPdpGroup();
+            policyType = status.getPolicyType();
+            deploy = status.isDeploy();
+            state = status.getState();
+        }
+
+        /**
+         * Makes a key by which the record is counted, of the same form as the keys
+         * produced by the "count" methods of {@link PolicyStatusService}.
+         *
+         * @param policy the record's policy
+         * @return a status record without a PDP
+         */
+        PdpPolicyStatus toCountKey(ToscaConceptIdentifier policy) {
+            return PdpPolicyStatus.builder().pdpGroup(pdpGroup).policy(policy).policyType(policyType).deploy(deploy)
+                .state(state).build();
+        }
+    }
+}
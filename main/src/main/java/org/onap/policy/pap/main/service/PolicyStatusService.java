@@ -21,27 +21,45 @@
 
 package org.onap.policy.pap.main.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.ws.rs.core.Response;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.common.parameters.BeanValidationResult;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.base.PfReferenceKey;
+import org.onap.policy.models.pap.concepts.PolicyStatus;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
 import org.onap.policy.models.pdp.persistence.concepts.JpaPdpPolicyStatus;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifierOptVersion;
 import org.onap.policy.pap.main.repository.PolicyStatusRepository;
+import org.onap.policy.pap.main.repository.PolicyStatusRepository.PolicyStatusCount;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PolicyStatusService {
+    private static final Pattern LIKE_SPECIAL_CHARS = Pattern.compile("[!%_]");
 
     private final PolicyStatusRepository policyStatusRepository;
+    private final PolicyDeploymentAggregates deploymentAggregates;
+    private final EntityManager entityManager;
 
     /**
      * Gets all status for policies in a group.
@@ -53,6 +71,129 @@ public class PolicyStatusService {
         return asPolicyStatusList(policyStatusRepository.findByPdpGroup(pdpGroup));
     }
 
+    /**
+     * Gets the status of the policies in a group whose names start with a given prefix.
+     *
+     * @param pdpGroup the group's name
+     * @param namePrefix prefix with which the policy names must start
+     * @return the policy status list found
+     */
+    public List<PdpPolicyStatus> getGroupPolicyStatus(@NonNull String pdpGroup, @NonNull String namePrefix) {
+        if (namePrefix.isEmpty()) {
+            return getGroupPolicyStatus(pdpGroup);
+        }
+
+        return asPolicyStatusList(
+            policyStatusRepository.findByPdpGroupMatching(pdpGroup, toLikePattern(namePrefix)));
+    }
+
+    /**
+     * Gets the status of the policies of one PDP in a group.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpId    the PDP's name
+     * @return the policy status list found
+     */
+    public List<PdpPolicyStatus> getPdpPolicyStatus(@NonNull String pdpGroup, @NonNull String pdpId) {
+        return asPolicyStatusList(policyStatusRepository.findByPdpGroupAndKeyLocalName(pdpGroup, pdpId));
+    }
+
+    /**
+     * Gets the status of the policies of some of the PDPs in a group.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds   the PDPs' names
+     * @return the policy status list found
+     */
+    public List<PdpPolicyStatus> getPdpPolicyStatus(@NonNull String pdpGroup, @NonNull Collection<String> pdpIds) {
+        if (pdpIds.isEmpty()) {
+            return List.of();
+        }
+
+        return asPolicyStatusList(policyStatusRepository.findByPdpGroupAndKeyLocalNameIn(pdpGroup, pdpIds));
+    }
+
+    /**
+     * Counts the status of the policies in a group, excluding the status of one PDP.
+     * Each key is a status record without a PDP, representing every record having the
+     * same policy, deployment flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpId    the PDP whose status is to be excluded
+     * @return a map of the status records to their counts
+     */
+    public Map<PdpPolicyStatus, Long> countOtherPdpPolicyStatus(@NonNull String pdpGroup, @NonNull String pdpId) {
+        return asCounts(pdpGroup, policyStatusRepository.countByPdpGroupExcludingPdp(pdpGroup, pdpId));
+    }
+
+    /**
+     * Counts the status of the policies in a group, excluding the status of some of its
+     * PDPs. Each key is a status record without a PDP, representing every record having
+     * the same policy, deployment flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds   the PDPs whose status is to be excluded
+     * @return a map of the status records to their counts
+     */
+    public Map<PdpPolicyStatus, Long> countOtherPdpPolicyStatus(@NonNull String pdpGroup,
+                                                                @NonNull Collection<String> pdpIds) {
+        if (pdpIds.isEmpty()) {
+            return countGroupPolicyStatus(pdpGroup);
+        }
+
+        return asCounts(pdpGroup, policyStatusRepository.countByPdpGroupExcludingPdps(pdpGroup, pdpIds));
+    }
+
+    /**
+     * Counts the status of the policies in a group. Each key is a status record without
+     * a PDP, representing every record having the same policy, deployment flag, and
+     * state.
+     *
+     * @param pdpGroup the group's name
+     * @return a map of the status records to their counts
+     */
+    public Map<PdpPolicyStatus, Long> countGroupPolicyStatus(@NonNull String pdpGroup) {
+        return asCounts(pdpGroup, policyStatusRepository.countByPdpGroup(pdpGroup));
+    }
+
+    /**
+     * Counts the status of the policies of some of the PDPs in a group. Each key is a
+     * status record without a PDP, representing every record having the same policy,
+     * deployment flag, and state.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds   the PDPs whose status is to be counted
+     * @return a map of the status records to their counts
+     */
+    public Map<PdpPolicyStatus, Long> countPdpPolicyStatus(@NonNull String pdpGroup,
+                                                           @NonNull Collection<String> pdpIds) {
+        if (pdpIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return asCounts(pdpGroup, policyStatusRepository.countByPdpGroupAndPdps(pdpGroup, pdpIds));
+    }
+
+    private Map<PdpPolicyStatus, Long> asCounts(String pdpGroup, List<PolicyStatusCount> policyStatusCounts) {
+        Map<PdpPolicyStatus, Long> counts = new HashMap<>();
+
+        for (PolicyStatusCount count : policyStatusCounts) {
+            // @formatter:off
+            var status = PdpPolicyStatus.builder()
+                .pdpGroup(pdpGroup)
+                .policy(new ToscaConceptIdentifier(count.getPolicyName(), count.getPolicyVersion()))
+                .policyType(new ToscaConceptIdentifier(count.getPolicyTypeName(), count.getPolicyTypeVersion()))
+                .deploy(count.isDeploy())
+                .state(count.getState())
+                .build();
+            // @formatter:on
+
+            counts.merge(status, count.getCount(), Long::sum);
+        }
+
+        return counts;
+    }
+
     /**
      * Gets all status for policies.
      *
@@ -62,6 +203,87 @@ public class PolicyStatusService {
         return asPolicyStatusList(policyStatusRepository.findAll());
     }
 
+    /**
+     * Gets a page of status records, ordered by policy and then by PDP.
+     *
+     * @param pdpGroup the group's name, or {@code null} to get the records of all groups
+     * @param namePrefix prefix with which the policy names must start, or an empty string
+     *        to get the records of all policies
+     * @param afterPolicy policy of the last record of the previous page, or {@code null}
+     *        to get the first page
+     * @param afterPdpId PDP of the last record of the previous page, or {@code null} to
+     *        get the first page
+     * @param limit maximum number of records to get
+     * @return the records following the given policy and PDP
+     */
+    public List<PdpPolicyStatus> getPolicyStatusPage(String pdpGroup, @NonNull String namePrefix,
+                                                     ToscaConceptIdentifier afterPolicy, String afterPdpId,
+                                                     int limit) {
+        String namePattern = toLikePattern(namePrefix);
+        String policyName = (afterPolicy == null ? "" : afterPolicy.getName());
+        String policyVersion = (afterPolicy == null ? "" : afterPolicy.getVersion());
+        String pdpId = (afterPdpId == null ? "" : afterPdpId);
+        var pageable = PageRequest.of(0, limit);
+
+        if (pdpGroup == null) {
+            return asPolicyStatusList(policyStatusRepository.findPageMatchingAfter(namePattern, policyName,
+                policyVersion, pdpId, pageable));
+        } else {
+            return asPolicyStatusList(policyStatusRepository.findPageByPdpGroupMatchingAfter(pdpGroup, namePattern,
+                policyName, policyVersion, pdpId, pageable));
+        }
+    }
+
+    /**
+     * Streams status records, ordered by policy and then by PDP, to a consumer. The
+     * records are read from the DB as they are consumed, and are not retained, thus the
+     * consumer should not retain them either.
+     *
+     * @param pdpGroup the group's name, or {@code null} to stream the records of all groups
+     * @param namePrefix prefix with which the policy names must start, or an empty string
+     *        to stream the records of all policies
+     * @param consumer consumer to which each record is passed
+     */
+    @Transactional(readOnly = true)
+    public void streamPolicyStatus(String pdpGroup, @NonNull String namePrefix,
+                                   @NonNull Consumer<PdpPolicyStatus> consumer) {
+        String namePattern = toLikePattern(namePrefix);
+
+        try (Stream<JpaPdpPolicyStatus> stream = (pdpGroup == null ? policyStatusRepository.streamMatching(namePattern)
+            : policyStatusRepository.streamByPdpGroupMatching(pdpGroup, namePattern))) {
+
+            stream.forEach(jpa -> {
+                // don't let the persistence context accumulate the records
+                entityManager.detach(jpa);
+                consumer.accept(jpa.toAuthorative());
+            });
+        }
+    }
+
+    /**
+     * Gets the aggregated deployment status of the policies matching a filter. The status
+     * is served from memory, loading it from the DB only if it is stale.
+     *
+     * @param filter filter to identify the policies of interest
+     * @return the deployment status of the matching policies
+     */
+    public List<PolicyStatus> getDeploymentStatus(@NonNull Predicate<ToscaConceptIdentifier> filter) {
+        if (!deploymentAggregates.isStale()) {
+            return deploymentAggregates.getDeploymentStatus(filter);
+        }
+
+        long modCount = deploymentAggregates.getModCount();
+        List<PdpPolicyStatus> statuses = getAllPolicyStatus();
+        if (deploymentAggregates.load(statuses, modCount)) {
+            return deploymentAggregates.getDeploymentStatus(filter);
+        }
+
+        // records changed while they were being loaded - just use what was read
+        var aggregates = new PolicyDeploymentAggregates(Long.MAX_VALUE);
+        aggregates.load(statuses, aggregates.getModCount());
+        return aggregates.getDeploymentStatus(filter);
+    }
+
     /**
      * Gets all status for a policy.
      *
@@ -105,15 +327,113 @@ public class PolicyStatusService {
     public void cudPolicyStatus(Collection<PdpPolicyStatus> createObjs, Collection<PdpPolicyStatus> updateObjs,
                                 Collection<PdpPolicyStatus> deleteObjs) {
         try {
-            policyStatusRepository.deleteAll(fromAuthorativeStatus(deleteObjs, "deletePdpPolicyStatusList"));
-            policyStatusRepository.saveAll(fromAuthorativeStatus(createObjs, "createPdpPolicyStatusList"));
-            policyStatusRepository.saveAll(fromAuthorativeStatus(updateObjs, "updatePdpPolicyStatusList"));
+            List<JpaPdpPolicyStatus> deleted = fromAuthorativeStatus(deleteObjs, "deletePdpPolicyStatusList");
+            List<JpaPdpPolicyStatus> created = fromAuthorativeStatus(createObjs, "createPdpPolicyStatusList");
+            List<JpaPdpPolicyStatus> updated = fromAuthorativeStatus(updateObjs, "updatePdpPolicyStatusList");
+
+            loadRecords(updated, deleted);
+
+            policyStatusRepository.deleteAll(deleted);
+            policyStatusRepository.saveAll(created);
+            policyStatusRepository.saveAll(updated);
+
+            // copy the records now, as the caller may modify the originals before the commit
+            List<PdpPolicyStatus> deleted2 = asPolicyStatusList(deleted);
+            List<PdpPolicyStatus> created2 = asPolicyStatusList(created);
+            List<PdpPolicyStatus> updated2 = asPolicyStatusList(updated);
+            afterCommit(() -> deploymentAggregates.apply(created2, updated2, deleted2));
+
         } catch (Exception exc) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST,
                 "Policy status operation failed." + exc.getMessage(), exc);
         }
     }
 
+    /**
+     * Loads the records that are to be updated or deleted, by key, with a single query,
+     * so that they need not be read one at a time when they are merged. Only those
+     * records are read, regardless of the size of their groups.
+     *
+     * @param updated records to be updated
+     * @param deleted records to be deleted
+     */
+    private void loadRecords(List<JpaPdpPolicyStatus> updated, List<JpaPdpPolicyStatus> deleted) {
+        if (updated.size() + deleted.size() <= 1) {
+            return;
+        }
+
+        List<PfReferenceKey> keys =
+            Stream.concat(updated.stream(), deleted.stream()).map(JpaPdpPolicyStatus::getKey).toList();
+        policyStatusRepository.findAllById(keys);
+    }
+
+    /**
+     * Deletes the status of the policies of some of the PDPs in a group, using a single
+     * statement rather than deleting each record individually.
+     *
+     * @param pdpGroup the group's name
+     * @param pdpIds   the PDPs whose status is to be deleted
+     * @param expected counts of the records that are expected to be deleted, as
+     *        returned by {@link #countPdpPolicyStatus(String, Collection)}
+     * @return the number of records deleted
+     */
+    public int deletePdpPolicyStatus(@NonNull String pdpGroup, @NonNull Collection<String> pdpIds,
+                                     @NonNull Map<PdpPolicyStatus, Long> expected) {
+        if (pdpIds.isEmpty()) {
+            return 0;
+        }
+
+        int count = policyStatusRepository.deleteByPdpGroupAndPdps(pdpGroup, pdpIds);
+
+        Set<String> pdpIds2 = Set.copyOf(pdpIds);
+        Map<PdpPolicyStatus, Long> expected2 = Map.copyOf(expected);
+        afterCommit(() -> deploymentAggregates.subtractPdps(pdpGroup, pdpIds2, expected2, count));
+        return count;
+    }
+
+    /**
+     * Deletes the undeployment status of a policy in a group, using a single statement.
+     *
+     * @param pdpGroup the group's name
+     * @param policy   the policy whose undeployment status is to be deleted
+     * @param expected counts of the records that are expected to be deleted, keyed as
+     *        by {@link #countGroupPolicyStatus(String)}
+     * @return the number of records deleted
+     */
+    public int deleteUndeploymentPolicyStatus(@NonNull String pdpGroup, @NonNull ToscaConceptIdentifier policy,
+                                              @NonNull Map<PdpPolicyStatus, Long> expected) {
+        int count = policyStatusRepository.deleteUndeploymentsByPdpGroupAndPolicy(pdpGroup, policy.getName(),
+            policy.getVersion());
+
+        Map<PdpPolicyStatus, Long> expected2 = Map.copyOf(expected);
+        afterCommit(() -> deploymentAggregates.subtractUndeployments(pdpGroup, policy, expected2, count));
+        return count;
+    }
+
+    /**
+     * Applies a change to the deployment aggregates once the current transaction commits.
+     * If the transaction is rolled back, then the aggregates are invalidated instead.
+     *
+     * @param action action that updates the aggregates
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                } else {
+                    deploymentAggregates.invalidate();
+                }
+            }
+        });
+    }
+
     /**
      * Converts a collection of authorative policy status to a collection of JPA policy
      * status. Validates the resulting list.
@@ -144,6 +464,16 @@ public class PolicyStatusService {
         return jpas;
     }
 
+    /**
+     * Converts a prefix into a LIKE pattern, escaping any wildcards within it.
+     *
+     * @param prefix prefix to be converted
+     * @return a LIKE pattern matching names that start with the prefix
+     */
+    private static String toLikePattern(String prefix) {
+        return LIKE_SPECIAL_CHARS.matcher(prefix).replaceAll("!$0") + "%";
+    }
+
     private List<PdpPolicyStatus> asPolicyStatusList(List<JpaPdpPolicyStatus> jpaPdpPolicyStatusList) {
         return jpaPdpPolicyStatusList.stream().map(JpaPdpPolicyStatus::toAuthorative).toList();
     }
@@ -0,0 +1,123 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.Value;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the policies resolved for each PDP subgroup, so that PDPs of the same subgroup
+ * can be sent the same policies without resolving each of them again. An entry is only
+ * used if the subgroup's policy list is unchanged; in addition, all of a group's entries
+ * are discarded by {@link PdpGroupService} whenever the group is changed. As a result,
+ * the cached policies should not include anything that may change independently of the
+ * policy list, such as a policy's metadataSet.
+ */
+@Component
+public class SubGroupPolicyCache {
+
+    /**
+     * Maps a (group, PDP type) pair to the resolved policies.
+     */
+    private final Map<SubGroupKey, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented each time entries are discarded, so that policies resolved before the
+     * entries were discarded are not added to the cache.
+     */
+    private long generation = 0;
+
+    /**
+     * Gets the policies of a subgroup, resolving them if they are not in the cache.
+     *
+     * @param groupName name of the group containing the subgroup
+     * @param subGroup the subgroup
+     * @param resolver function used to resolve the subgroup's policies
+     * @return a new list containing the subgroup's policies
+     */
+    public List<ToscaPolicy> getPolicies(String groupName, PdpSubGroup subGroup,
+                                         Function<PdpSubGroup, List<ToscaPolicy>> resolver) {
+
+        final var key = new SubGroupKey(groupName, subGroup.getPdpType());
+        final List<ToscaConceptIdentifier> policyIds = subGroup.getPolicies();
+        if (policyIds == null) {
+            return resolver.apply(subGroup);
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.getPolicyIds().equals(policyIds)) {
+            return new LinkedList<>(entry.getPolicies());
+        }
+
+        long expectedGeneration = getGeneration();
+        List<ToscaPolicy> policies = resolver.apply(subGroup);
+
+        synchronized (this) {
+            if (generation == expectedGeneration) {
+                entries.put(key, new Entry(List.copyOf(policyIds), List.copyOf(policies)));
+            }
+        }
+
+        return new LinkedList<>(policies);
+    }
+
+    /**
+     * Discards the entries of all subgroups of a group.
+     *
+     * @param groupName name of the group
+     */
+    public synchronized void invalidate(String groupName) {
+        ++generation;
+        entries.keySet().removeIf(key -> key.getGroupName().equals(groupName));
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public synchronized void invalidateAll() {
+        ++generation;
+        entries.clear();
+    }
+
+    private synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Value
+    private static class SubGroupKey {
+        String groupName;
+        String pdpType;
+    }
+
+    @Value
+    private static class Entry {
+        List<ToscaConceptIdentifier> policyIds;
+        List<ToscaPolicy> policies;
+    }
+}
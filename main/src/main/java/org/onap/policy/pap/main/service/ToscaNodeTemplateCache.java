@@ -0,0 +1,166 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
+import org.onap.policy.pap.main.parameters.PapParameterGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of node templates, keyed by name and version, so that policies sharing
+ * the same metadata set do not each cause the node template to be read from the DB. As a
+ * node template may be updated in place by policy-api, entries expire after a time. When
+ * the cache is full, the least recently used entry is discarded.
+ */
+@Component
+public class ToscaNodeTemplateCache {
+    private static final String GETS_METRIC = "pap_node_template_cache_gets";
+    private static final String RESULT_TAG = "result";
+
+    private final int maxEntries;
+    private final long expireMs;
+
+    /**
+     * Entries, in least recently used order.
+     */
+    private final Map<PfConceptKey, Entry> entries;
+
+    /**
+     * Incremented each time entries are discarded, so that node templates read before the
+     * entries were discarded are not added to the cache.
+     */
+    private long generation = 0;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Constructs the object.
+     *
+     * @param meterRegistry registry with which the metrics are registered
+     * @param parameterGroup the parameterGroup
+     */
+    @Autowired
+    public ToscaNodeTemplateCache(MeterRegistry meterRegistry, PapParameterGroup parameterGroup) {
+        this(meterRegistry, parameterGroup.getPdpParameters().getNodeTemplateCacheMaxEntries(),
+            parameterGroup.getPdpParameters().getNodeTemplateCacheExpireMs());
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param meterRegistry registry with which the metrics are registered
+     * @param maxEntries maximum number of node templates to retain
+     * @param expireMs time, in milliseconds, after which an entry expires
+     */
+    public ToscaNodeTemplateCache(MeterRegistry meterRegistry, int maxEntries, long expireMs) {
+        this.maxEntries = maxEntries;
+        this.expireMs = expireMs;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PfConceptKey, Entry> eldest) {
+                return size() > ToscaNodeTemplateCache.this.maxEntries;
+            }
+        };
+
+        Gauge.builder("pap_node_template_cache_size", this, ToscaNodeTemplateCache::size)
+            .description("Number of node templates in the cache").register(meterRegistry);
+
+        hitCounter = Counter.builder(GETS_METRIC).tag(RESULT_TAG, "hit")
+            .description("Node template cache lookups").register(meterRegistry);
+        missCounter = Counter.builder(GETS_METRIC).tag(RESULT_TAG, "miss")
+            .description("Node template cache lookups").register(meterRegistry);
+    }
+
+    /**
+     * Gets the number of node templates in the cache.
+     *
+     * @return the number of cached node templates
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets a node template, loading it if it is not in the cache or has expired. Exceptions
+     * thrown by the loader are passed to the caller, and nothing is cached.
+     *
+     * @param key the node template's key
+     * @param loader function used to load the node template
+     * @return a copy of the node template
+     */
+    public ToscaNodeTemplate get(PfConceptKey key, Function<PfConceptKey, ToscaNodeTemplate> loader) {
+        long expectedGeneration;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && currentTimeMs() < entry.expireTimeMs) {
+                hitCounter.increment();
+                return new ToscaNodeTemplate(entry.nodeTemplate);
+            }
+
+            missCounter.increment();
+            expectedGeneration = generation;
+        }
+
+        ToscaNodeTemplate nodeTemplate = loader.apply(key);
+
+        synchronized (this) {
+            if (generation == expectedGeneration) {
+                entries.put(key, new Entry(new ToscaNodeTemplate(nodeTemplate), currentTimeMs() + expireMs));
+            }
+        }
+
+        return nodeTemplate;
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public synchronized void clear() {
+        ++generation;
+        entries.clear();
+    }
+
+    // these may be overridden by junit tests
+
+    protected long currentTimeMs() {
+        return System.currentTimeMillis();
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final ToscaNodeTemplate nodeTemplate;
+        private final long expireTimeMs;
+    }
+}
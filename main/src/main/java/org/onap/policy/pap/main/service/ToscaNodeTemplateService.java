@@ -42,6 +42,8 @@ public class ToscaNodeTemplateService {
 
     private final ToscaNodeTemplateRepository nodeTemplateRepository;
 
+    private final ToscaNodeTemplateCache nodeTemplateCache;
+
     /**
      * Get node templates.
      *
@@ -55,15 +57,25 @@ public class ToscaNodeTemplateService {
 
         LOGGER.debug("->getNodeTemplate: name={}, version={}", name, version);
 
-        Optional<JpaToscaNodeTemplate> jpaToscaNodeTemplate = nodeTemplateRepository
-            .findById(new PfConceptKey(name, version));
+        var nodeTemplate = nodeTemplateCache.get(new PfConceptKey(name, version), this::loadToscaNodeTemplate);
+        LOGGER.debug("<-NodeTemplate: name={}, version={}, nodeTemplate={}", name, version, nodeTemplate);
+        return nodeTemplate;
+    }
+
+    /**
+     * Discards any cached node templates, so that they are read from the DB again.
+     */
+    public void clearCache() {
+        nodeTemplateCache.clear();
+    }
+
+    private ToscaNodeTemplate loadToscaNodeTemplate(final PfConceptKey key) {
+        Optional<JpaToscaNodeTemplate> jpaToscaNodeTemplate = nodeTemplateRepository.findById(key);
         if (jpaToscaNodeTemplate.isPresent()) {
-            var nodeTemplate = jpaToscaNodeTemplate.get().toAuthorative();
-            LOGGER.debug("<-NodeTemplate: name={}, version={}, nodeTemplate={}", name, version, nodeTemplate);
-            return nodeTemplate;
+            return jpaToscaNodeTemplate.get().toAuthorative();
         } else {
             throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE,
-                "node template for " + name + ":" + version + " do not exist in the database");
+                "node template for " + key.getName() + ":" + key.getVersion() + " do not exist in the database");
         }
     }
 
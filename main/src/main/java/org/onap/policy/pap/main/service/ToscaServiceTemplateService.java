@@ -24,9 +24,12 @@ package org.onap.policy.pap.main.service;
 import jakarta.ws.rs.core.Response;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.base.PfModelException;
@@ -35,12 +38,17 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaEntity;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaTypedEntityFilter;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
-import org.onap.policy.models.tosca.simple.provider.SimpleToscaProvider;
-import org.onap.policy.models.tosca.utils.ToscaUtils;
+import org.onap.policy.pap.main.parameters.PapParameterGroup;
+import org.onap.policy.pap.main.parameters.PdpParameters;
+import org.onap.policy.pap.main.repository.ToscaPolicyRepository;
+import org.onap.policy.pap.main.repository.ToscaPolicyTypeRepository;
 import org.onap.policy.pap.main.repository.ToscaServiceTemplateRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -57,8 +65,33 @@ public class ToscaServiceTemplateService {
 
     private final ToscaServiceTemplateRepository serviceTemplateRepository;
 
+    private final ToscaPolicyRepository policyRepository;
+
+    private final ToscaPolicyTypeRepository policyTypeRepository;
+
     private final ToscaNodeTemplateService nodeTemplateService;
 
+    /**
+     * Age, in milliseconds, beyond which the snapshot is reloaded, even if the number of
+     * policies and policy types in the DB still match those of the snapshot.
+     */
+    private long snapshotMaxAgeMs = PdpParameters.DEFAULT_SERVICE_TEMPLATE_SNAPSHOT_MAX_AGE_MS;
+
+    /**
+     * Indexed copy of the service template, reloaded when policy-api changes the template.
+     */
+    private volatile ToscaServiceTemplateSnapshot snapshot;
+
+    /**
+     * Sets the parameters.
+     *
+     * @param parameterGroup the parameterGroup
+     */
+    @Autowired
+    public void setParameterGroup(PapParameterGroup parameterGroup) {
+        this.snapshotMaxAgeMs = parameterGroup.getPdpParameters().getServiceTemplateSnapshotMaxAgeMs();
+    }
+
     /**
      * Get policies.
      *
@@ -67,16 +100,33 @@ public class ToscaServiceTemplateService {
      * @return the policies found
      */
     public List<ToscaPolicy> getPolicyList(final String name, final String version) {
+        return getPolicyList(name, version, true);
+    }
+
+    /**
+     * Get policies, optionally without populating their metadataSet. The latter is used
+     * by callers that retain the policies, as the node templates supplying the
+     * metadataSet may change independently of the policies; such callers populate the
+     * metadataSet, via {@link #withMetadataSet(List)}, each time the policies are used.
+     *
+     * @param name    the name of the policy to get, null to get all policies
+     * @param version the version of the policy to get, null to get all versions of a policy
+     * @param populateMetadataSet {@code true} to populate the metadataSet of the policies
+     * @return the policies found
+     */
+    public List<ToscaPolicy> getPolicyList(final String name, final String version,
+                    final boolean populateMetadataSet) {
 
         LOGGER.debug("->getPolicyList: name={}, version={}", name, version);
 
         List<ToscaPolicy> policyList;
 
         try {
-            List<Map<String, ToscaPolicy>> policies = getToscaServiceTemplate(name, version, "policy").toAuthorative()
-                .getToscaTopologyTemplate().getPolicies();
-            policyList = policies.stream().flatMap(policy -> policy.values().stream()).toList();
-            populateMetadataSet(policyList);
+            policyList = lookup(name, current -> current.getPolicies(name, version),
+                () -> getPoliciesFromDb(name, version));
+            if (populateMetadataSet) {
+                populateMetadataSet(policyList);
+            }
         } catch (PfModelRuntimeException pfme) {
             return handlePfModelRuntimeException(pfme);
         } catch (Exception exc) {
@@ -96,6 +146,18 @@ public class ToscaServiceTemplateService {
      * @throws PfModelException on errors getting policies
      */
     public List<ToscaPolicy> getFilteredPolicyList(ToscaTypedEntityFilter<ToscaPolicy> filter) throws PfModelException {
+        if (filter.getName() != null && ToscaTypedEntityFilter.LATEST_VERSION.equals(filter.getVersion())) {
+            // select the latest matching version in the DB, rather than fetching every version of the policy
+            String prefix = Objects.requireNonNullElse(filter.getVersionPrefix(), "");
+            List<String> versions = policyRepository.findVersions(filter.getName(), prefix);
+            if (versions.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            String latest = Collections.max(versions, ToscaServiceTemplateSnapshot.VERSION_ORDER);
+            return filter.filter(getPolicyList(filter.getName(), latest));
+        }
+
         String version = ToscaTypedEntityFilter.LATEST_VERSION.equals(filter.getVersion()) ? null : filter.getVersion();
         return filter.filter(getPolicyList(filter.getName(), version));
     }
@@ -115,8 +177,8 @@ public class ToscaServiceTemplateService {
         List<ToscaPolicyType> policyTypeList;
 
         try {
-            policyTypeList = new ArrayList<>(
-                getToscaServiceTemplate(name, version, "policyType").toAuthorative().getPolicyTypes().values());
+            policyTypeList = lookup(name, current -> current.getPolicyTypes(name, version),
+                () -> getPolicyTypesFromDb(name, version));
         } catch (PfModelRuntimeException pfme) {
             return handlePfModelRuntimeException(pfme);
         } catch (Exception exc) {
@@ -128,55 +190,97 @@ public class ToscaServiceTemplateService {
         return policyTypeList;
     }
 
-    private JpaToscaServiceTemplate getToscaServiceTemplate(final String name, final String version, final String type)
-        throws PfModelException {
+    /**
+     * Looks something up. A lookup by name is done directly in the DB, which only reads
+     * the requested rows, thus the snapshot need not be validated for it. Any other
+     * lookup is done in the snapshot of the service template, replacing the snapshot
+     * first if the number of policies or policy types in the DB has changed, or if the
+     * snapshot is too old.
+     *
+     * @param name the name of the entity being looked up, or {@code null}
+     * @param getter function to look up the entities within a snapshot
+     * @param dbGetter function to look up the entities directly in the DB
+     * @return the entities found
+     */
+    private <T extends ToscaEntity> List<T> lookup(final String name,
+                                                   Function<ToscaServiceTemplateSnapshot, List<T>> getter,
+                                                   Supplier<List<T>> dbGetter) {
+        if (name != null) {
+            return dbGetter.get();
+        }
 
-        Optional<JpaToscaServiceTemplate> serviceTemplate = serviceTemplateRepository
-            .findById(new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION));
-        if (serviceTemplate.isEmpty()) {
-            throw new PfModelRuntimeException(Response.Status.NOT_FOUND, "service template not found in database");
+        ToscaServiceTemplateSnapshot current = snapshot;
+        if (current != null && current.matches(policyRepository.count(), policyTypeRepository.count(),
+            System.currentTimeMillis() - snapshotMaxAgeMs)) {
+            return getter.apply(current);
         }
 
-        LOGGER.debug("<-getServiceTemplate: serviceTemplate={}", serviceTemplate.get());
-        JpaToscaServiceTemplate dbServiceTemplate = serviceTemplate.get();
+        return getter.apply(loadSnapshot());
+    }
 
-        JpaToscaServiceTemplate returnServiceTemplate;
-        if (type.equals("policy")) {
-            returnServiceTemplate = getToscaPolicies(name, version, dbServiceTemplate);
-        } else {
-            returnServiceTemplate = getToscaPolicyTypes(name, version, dbServiceTemplate);
-        }
-        return returnServiceTemplate;
+    /**
+     * Gets policies directly from the DB, without loading the rest of the service template.
+     *
+     * @param name    the name of the policy to get
+     * @param version the version of the policy to get, null to get all versions of the policy
+     * @return the policies found, sorted by version
+     */
+    private List<ToscaPolicy> getPoliciesFromDb(final String name, final String version) {
+        ToscaServiceTemplateSnapshot.validateKey(name, version);
+
+        List<JpaToscaPolicy> policies = (version == null ? policyRepository.findByKeyName(name)
+            : policyRepository.findById(new PfConceptKey(name, version)).stream().toList());
+
+        return policies.stream().map(JpaToscaPolicy::toAuthorative)
+            .sorted(Comparator.comparing(ToscaPolicy::getVersion, ToscaServiceTemplateSnapshot.VERSION_ORDER))
+            .toList();
     }
 
-    private JpaToscaServiceTemplate getToscaPolicies(final String name, final String version,
-                                                     JpaToscaServiceTemplate dbServiceTemplate)
-        throws PfModelException {
-        if (!ToscaUtils.doPoliciesExist(dbServiceTemplate)) {
-            throw new PfModelRuntimeException(Response.Status.NOT_FOUND,
-                "policies for " + name + ":" + version + " do not exist");
+    /**
+     * Gets policy types, along with their ancestors, directly from the DB, without loading
+     * the rest of the service template.
+     *
+     * @param name    the name of the policy type to get
+     * @param version the version of the policy type to get, null to get all versions
+     * @return the policy types found, sorted by name and version
+     */
+    private List<ToscaPolicyType> getPolicyTypesFromDb(final String name, final String version) {
+        ToscaServiceTemplateSnapshot.validateKey(name, version);
+
+        List<JpaToscaPolicyType> policyTypes = (version == null ? policyTypeRepository.findByKeyName(name)
+            : policyTypeRepository.findById(new PfConceptKey(name, version)).stream().toList());
+
+        List<List<ToscaPolicyType>> hierarchies = new ArrayList<>(policyTypes.size());
+        for (JpaToscaPolicyType policyType : policyTypes) {
+            hierarchies.add(ToscaServiceTemplateSnapshot.makeHierarchy(policyType.toAuthorative(),
+                this::getLatestPolicyTypeFromDb));
         }
 
-        JpaToscaServiceTemplate returnServiceTemplate =
-            new SimpleToscaProvider().getCascadedPolicies(dbServiceTemplate, name, version);
+        return ToscaServiceTemplateSnapshot.mergeHierarchies(hierarchies);
+    }
 
-        LOGGER.debug("<-getPolicies: name={}, version={}, serviceTemplate={}", name, version, returnServiceTemplate);
-        return returnServiceTemplate;
+    private ToscaPolicyType getLatestPolicyTypeFromDb(final String name) {
+        return policyTypeRepository.findByKeyName(name).stream().map(JpaToscaPolicyType::toAuthorative)
+            .max(Comparator.comparing(ToscaPolicyType::getVersion, ToscaServiceTemplateSnapshot.VERSION_ORDER))
+            .orElse(null);
     }
 
-    private JpaToscaServiceTemplate getToscaPolicyTypes(final String name, final String version,
-                                                        JpaToscaServiceTemplate dbServiceTemplate)
-        throws PfModelException {
-        if (!ToscaUtils.doPolicyTypesExist(dbServiceTemplate)) {
-            throw new PfModelRuntimeException(Response.Status.NOT_FOUND,
-                "policy types for " + name + ":" + version + " do not exist");
+    private ToscaServiceTemplateSnapshot loadSnapshot() {
+        final long loadedMs = System.currentTimeMillis();
+        Optional<JpaToscaServiceTemplate> serviceTemplate = serviceTemplateRepository
+            .findById(new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION));
+        if (serviceTemplate.isEmpty()) {
+            throw new PfModelRuntimeException(Response.Status.NOT_FOUND, "service template not found in database");
         }
 
-        JpaToscaServiceTemplate returnServiceTemplate =
-            new SimpleToscaProvider().getCascadedPolicyTypes(dbServiceTemplate, name, version);
+        LOGGER.debug("<-loadSnapshot: loadedMs={}", loadedMs);
 
-        LOGGER.debug("<-getPolicyTypes: name={}, version={}, serviceTemplate={}", name, version, returnServiceTemplate);
-        return returnServiceTemplate;
+        var newSnapshot = new ToscaServiceTemplateSnapshot(serviceTemplate.get(), loadedMs);
+        snapshot = newSnapshot;
+
+        // the template has changed, thus the metadata sets may have changed, too
+        nodeTemplateService.clearCache();
+        return newSnapshot;
     }
 
     /**
@@ -194,6 +298,24 @@ public class ToscaServiceTemplateService {
         }
     }
 
+    /**
+     * Makes copies of policies, populating the metadataSet of each copy. The original
+     * policies are left unchanged.
+     *
+     * @param policies policies whose metadataSet is not yet populated
+     * @return copies of the policies, with their metadataSet populated
+     * @throws PfModelRuntimeException if a referenced node template cannot be fetched
+     */
+    public List<ToscaPolicy> withMetadataSet(List<ToscaPolicy> policies) {
+        List<ToscaPolicy> copies = new ArrayList<>(policies.size());
+        for (ToscaPolicy policy : policies) {
+            copies.add(new ToscaPolicy(policy));
+        }
+
+        populateMetadataSet(copies);
+        return copies;
+    }
+
     /**
      * Populates metadataSet in policy->metadata if metadataSet reference is provided.
      *
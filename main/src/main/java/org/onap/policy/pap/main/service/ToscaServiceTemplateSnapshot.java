@@ -0,0 +1,284 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.base.PfKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaEntity;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+/**
+ * Immutable, indexed copy of the policies and policy types of the TOSCA service template.
+ * Policies and policy types are indexed by name and then by version; the ancestors of
+ * each policy type are determined when the snapshot is built. Lookups return copies, thus
+ * callers may modify the returned objects.
+ */
+class ToscaServiceTemplateSnapshot {
+    private static final String ROOT_SUFFIX = ".Root";
+    private static final Pattern VERSION_PAT = Pattern.compile("(\\d+)\\.(\\d+)\\.(\\d+)(.*)");
+
+    /**
+     * Orders versions by major, minor, and patch number, and then by any suffix.
+     */
+    static final Comparator<String> VERSION_ORDER = ToscaServiceTemplateSnapshot::compareVersions;
+
+    /**
+     * Time, in milliseconds, when the snapshot was built.
+     */
+    private final long loadedMs;
+
+    /**
+     * Number of policies in the snapshot.
+     */
+    private long policyCount = 0;
+
+    /**
+     * Number of policy types in the snapshot.
+     */
+    private long policyTypeCount = 0;
+
+    private final NavigableMap<String, NavigableMap<String, ToscaPolicy>> policies = new TreeMap<>();
+    private final NavigableMap<String, NavigableMap<String, ToscaPolicyType>> policyTypes = new TreeMap<>();
+
+    /**
+     * Maps a policy type to the type followed by its ancestors.
+     */
+    private final Map<ToscaConceptIdentifier, List<ToscaPolicyType>> typeHierarchies = new HashMap<>();
+
+    /**
+     * Constructs the object.
+     *
+     * @param serviceTemplate service template from which to build the snapshot
+     * @param loadedMs time, in milliseconds, when the service template was loaded
+     */
+    public ToscaServiceTemplateSnapshot(JpaToscaServiceTemplate serviceTemplate, long loadedMs) {
+        this.loadedMs = loadedMs;
+
+        if (serviceTemplate.getTopologyTemplate() != null
+            && serviceTemplate.getTopologyTemplate().getPolicies() != null) {
+            for (JpaToscaPolicy policy : serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap()
+                .values()) {
+                ++policyCount;
+                index(policies, policy.toAuthorative());
+            }
+        }
+
+        if (serviceTemplate.getPolicyTypes() != null) {
+            for (JpaToscaPolicyType policyType : serviceTemplate.getPolicyTypes().getConceptMap().values()) {
+                ++policyTypeCount;
+                index(policyTypes, policyType.toAuthorative());
+            }
+        }
+
+        for (NavigableMap<String, ToscaPolicyType> versions : policyTypes.values()) {
+            for (ToscaPolicyType policyType : versions.values()) {
+                typeHierarchies.put(identifierOf(policyType), makeHierarchy(policyType, this::getLatestPolicyType));
+            }
+        }
+    }
+
+    /**
+     * Determines if the snapshot is still current, that is, if it contains as many
+     * policies and policy types as the DB and was built no earlier than the given time.
+     * As policies and policy types may be replaced without changing the counts, the age
+     * of the snapshot bounds how long such a change can go unnoticed.
+     *
+     * @param policyCount number of policies currently in the DB
+     * @param policyTypeCount number of policy types currently in the DB
+     * @param minLoadedMs time, in milliseconds, before which the snapshot is too old
+     * @return {@code true} if the snapshot is still current
+     */
+    public boolean matches(long policyCount, long policyTypeCount, long minLoadedMs) {
+        return (loadedMs >= minLoadedMs && this.policyCount == policyCount && this.policyTypeCount == policyTypeCount);
+    }
+
+    /**
+     * Gets policies.
+     *
+     * @param name the name of the policy to get, null to get all policies
+     * @param version the version of the policy to get, null to get all versions of a policy
+     * @return copies of the matching policies, sorted by name and version
+     */
+    public List<ToscaPolicy> getPolicies(final String name, final String version) {
+        validateKey(name, version);
+
+        List<ToscaPolicy> result = new ArrayList<>();
+        for (ToscaPolicy policy : find(policies, name, version)) {
+            result.add(new ToscaPolicy(policy));
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets policy types, along with their ancestors.
+     *
+     * @param name the name of the policy type to get, null to get all policy types
+     * @param version the version of the policy type to get, null to get all versions
+     * @return copies of the matching policy types and of their ancestors, sorted by name
+     *         and version
+     */
+    public List<ToscaPolicyType> getPolicyTypes(final String name, final String version) {
+        validateKey(name, version);
+
+        List<List<ToscaPolicyType>> hierarchies = new ArrayList<>();
+        for (ToscaPolicyType policyType : find(policyTypes, name, version)) {
+            hierarchies.add(typeHierarchies.get(identifierOf(policyType)));
+        }
+
+        return mergeHierarchies(hierarchies);
+    }
+
+    /**
+     * Merges policy type hierarchies into a single list, without duplicates.
+     *
+     * @param hierarchies policy type hierarchies to be merged
+     * @return copies of the policy types in the hierarchies, sorted by name and version
+     */
+    static List<ToscaPolicyType> mergeHierarchies(Collection<List<ToscaPolicyType>> hierarchies) {
+        Map<ToscaConceptIdentifier, ToscaPolicyType> result =
+            new TreeMap<>(Comparator.comparing(ToscaConceptIdentifier::getName)
+                .thenComparing(ToscaConceptIdentifier::getVersion, VERSION_ORDER));
+
+        for (List<ToscaPolicyType> hierarchy : hierarchies) {
+            for (ToscaPolicyType member : hierarchy) {
+                result.computeIfAbsent(identifierOf(member), key -> new ToscaPolicyType(member));
+            }
+        }
+
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * Verifies that a name and version are valid, throwing an exception if they are not.
+     *
+     * @param name name to validate, or {@code null}
+     * @param version version to validate, or {@code null}
+     */
+    static void validateKey(final String name, final String version) {
+        if (name != null || version != null) {
+            new PfConceptKey((name == null ? PfKey.NULL_KEY_NAME : name),
+                (version == null ? PfKey.NULL_KEY_VERSION : version));
+        }
+    }
+
+    private static <T extends ToscaEntity> void index(NavigableMap<String, NavigableMap<String, T>> index,
+                                                      T entity) {
+        index.computeIfAbsent(entity.getName(), key -> new TreeMap<>(VERSION_ORDER)).put(entity.getVersion(),
+            entity);
+    }
+
+    private static <T> Collection<T> find(NavigableMap<String, NavigableMap<String, T>> index, final String name,
+                                          final String version) {
+        if (name == null) {
+            List<T> result = new ArrayList<>();
+            for (NavigableMap<String, T> versions : index.values()) {
+                result.addAll(version == null ? versions.values() : find(versions, version));
+            }
+            return result;
+        }
+
+        NavigableMap<String, T> versions = index.get(name);
+        if (versions == null) {
+            return Collections.emptyList();
+        }
+
+        return (version == null ? versions.values() : find(versions, version));
+    }
+
+    private static <T> Collection<T> find(NavigableMap<String, T> versions, final String version) {
+        T entity = versions.get(version);
+        return (entity == null ? Collections.emptyList() : List.of(entity));
+    }
+
+    /**
+     * Makes the hierarchy of a policy type, by following its "derived from" chain up to,
+     * but excluding, the root type, stopping early if an ancestor cannot be found.
+     *
+     * @param policyType policy type of interest
+     * @param latestByName function to get the latest version of a policy type, given its
+     *        name, returning {@code null} if the policy type does not exist
+     * @return a list containing the policy type followed by its ancestors
+     */
+    static List<ToscaPolicyType> makeHierarchy(ToscaPolicyType policyType,
+                                               Function<String, ToscaPolicyType> latestByName) {
+        List<ToscaPolicyType> hierarchy = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        var type = policyType;
+        while (type != null && seen.add(type.getName())) {
+            hierarchy.add(type);
+
+            String parentName = type.getDerivedFrom();
+            if (parentName == null || parentName.endsWith(ROOT_SUFFIX)) {
+                break;
+            }
+
+            type = latestByName.apply(parentName);
+        }
+
+        return Collections.unmodifiableList(hierarchy);
+    }
+
+    private ToscaPolicyType getLatestPolicyType(String name) {
+        NavigableMap<String, ToscaPolicyType> versions = policyTypes.get(name);
+        return (versions == null ? null : versions.lastEntry().getValue());
+    }
+
+    private static ToscaConceptIdentifier identifierOf(ToscaEntity entity) {
+        return new ToscaConceptIdentifier(entity.getName(), entity.getVersion());
+    }
+
+    private static int compareVersions(String version1, String version2) {
+        var matcher1 = VERSION_PAT.matcher(version1);
+        var matcher2 = VERSION_PAT.matcher(version2);
+        if (!matcher1.matches() || !matcher2.matches()) {
+            return version1.compareTo(version2);
+        }
+
+        for (var group = 1; group <= 3; ++group) {
+            int result = Long.compare(Long.parseLong(matcher1.group(group)), Long.parseLong(matcher2.group(group)));
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return matcher1.group(4).compareTo(matcher2.group(4));
+    }
+}
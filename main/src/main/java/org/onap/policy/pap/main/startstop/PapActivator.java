@@ -177,19 +177,26 @@ public class PapActivator extends ServiceManagerContainer {
 
         addAction("PDP publisher",
             () -> {
-                pdpPub.set(new Publisher<>(topicPolicyPdpPap));
+                pdpPub.set(new Publisher<>(topicPolicyPdpPap, pdpParams.getPdpPublisherLanes(), PdpMessage::getName,
+                    pdpParams.getPublisherMaxBatchSize(), meterRegistry));
                 startThread(pdpPub.get());
             },
             () -> pdpPub.get().stop());
 
         addAction("Policy Notification publisher",
             () -> {
-                notifyPub.set(new Publisher<>(topicPolicyNotification));
+                // notifications span several policies, thus they are published on a single lane
+                notifyPub.set(new Publisher<>(topicPolicyNotification, 1, notification -> null,
+                    pdpParams.getPublisherMaxBatchSize(), meterRegistry));
                 startThread(notifyPub.get());
                 policyNotifier.setPublisher(notifyPub.get());
             },
             () -> notifyPub.get().stop());
 
+        addAction("Policy Notifier",
+            () -> policyNotifier.start(pdpParams, meterRegistry),
+            policyNotifier::stop);
+
         addAction("PDP update timers",
             () -> {
                 pdpUpdTimers.set(new TimerManager("update", pdpParams.getUpdateParameters().getMaxWaitMs()));
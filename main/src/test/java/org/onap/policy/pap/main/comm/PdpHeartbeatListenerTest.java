@@ -44,6 +44,7 @@ import org.onap.policy.pap.main.parameters.CommonTestData;
 import org.onap.policy.pap.main.parameters.PapParameterGroup;
 import org.onap.policy.pap.main.parameters.PdpParameters;
 import org.onap.policy.pap.main.rest.e2e.End2EndBase;
+import org.onap.policy.pap.main.service.PdpLivenessBuffer;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -64,6 +65,9 @@ class PdpHeartbeatListenerTest extends End2EndBase {
     @Autowired
     private PdpHeartbeatListener pdpHeartbeatListener;
 
+    @Autowired
+    private PdpLivenessBuffer livenessBuffer;
+
     @Test
     void testPdpHeartbeatListener() {
         addGroups("PdpGroups.json");
@@ -95,6 +99,19 @@ class PdpHeartbeatListenerTest extends End2EndBase {
         pdpHeartbeatListener.onTopicEvent(INFRA, TOPIC, status2);
         verifyPdpGroup(1);
 
+        // Testing unchanged pdp heartbeat - handled by the fast path
+        pdpHeartbeatListener.onTopicEvent(INFRA, TOPIC, status2);
+        verifyPdpGroup(1);
+
+        // Testing pdp heartbeat with a health change - should not be skipped
+        status2.setHealthy(PdpHealthStatus.NOT_HEALTHY);
+        pdpHeartbeatListener.onTopicEvent(INFRA, TOPIC, status2);
+        verifyPdpHealth(PdpHealthStatus.NOT_HEALTHY);
+
+        status2.setHealthy(PdpHealthStatus.HEALTHY);
+        pdpHeartbeatListener.onTopicEvent(INFRA, TOPIC, status2);
+        verifyPdpGroup(1);
+
         // Testing pdp heartbeat failure case with pdp missing
         final PdpStatus status3 = new PdpStatus();
         status3.setName("pdp_2");
@@ -212,15 +229,18 @@ class PdpHeartbeatListenerTest extends End2EndBase {
         final PapParameterGroup testGroup = new CommonTestData().getPapParameterGroup(1);
         List<ToscaConceptIdentifier> polsUndep =
             policies.stream().map(ToscaPolicy::getIdentifier).collect(Collectors.toList());
-        PdpStatusMessageHandler handler = new PdpStatusMessageHandler(testGroup, pdpGroupService);
+        PdpStatusMessageHandler handler = new PdpStatusMessageHandler(testGroup, pdpGroupService, livenessBuffer,
+            meterRegistry);
         PdpUpdate update10 =
             handler.createPdpUpdateMessage(status3.getPdpGroup(), new PdpSubGroup(), "pdp_2", policies, polsUndep);
         assertSame(update10.getPoliciesToBeDeployed(), policies);
         assertSame(update10.getPoliciesToBeUndeployed(), polsUndep);
         assertThat(update10.getPoliciesToBeDeployed()).isInstanceOf(List.class);
+        handler.shutdown();
     }
   
     private void verifyPdpGroup(final int count) {
+        livenessBuffer.flush();
         final List<PdpGroup> fetchedGroups = fetchGroups(PdpHeartbeatListenerTest.DEFAULT_GROUP);
         for (final PdpSubGroup subGroup : fetchedGroups.get(0).getPdpSubgroups()) {
             if (subGroup.getPdpType().equals(APEX_TYPE)) {
@@ -232,4 +252,14 @@ class PdpHeartbeatListenerTest extends End2EndBase {
             }
         }
     }
+
+    private void verifyPdpHealth(final PdpHealthStatus health) {
+        livenessBuffer.flush();
+        final List<PdpGroup> fetchedGroups = fetchGroups(PdpHeartbeatListenerTest.DEFAULT_GROUP);
+        for (final PdpSubGroup subGroup : fetchedGroups.get(0).getPdpSubgroups()) {
+            if (subGroup.getPdpType().equals(APEX_TYPE)) {
+                assertEquals(health, subGroup.getPdpInstances().get(0).getHealthy());
+            }
+        }
+    }
 }
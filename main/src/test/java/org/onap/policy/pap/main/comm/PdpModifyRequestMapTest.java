@@ -48,6 +48,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
@@ -415,6 +417,13 @@ class PdpModifyRequestMapTest extends CommonRequestBase {
         assertThat(subgrp.getPdpInstances()).hasSize(1);
         assertThat(subgrp.getCurrentInstanceCount()).isEqualTo(1);
         assertThat(subgrp.getPdpInstances().get(0).getInstanceId()).isEqualTo(PDP4);
+
+        // fingerprints of the expired PDPs should have been discarded
+        verify(responseHandler).forgetPdps(Set.of(PDP2, PDP3));
+
+        // status records should have been deleted in bulk
+        verify(policyStatusService).deletePdpPolicyStatus(MY_GROUP2, Set.of(PDP2, PDP3), Map.of());
+        verify(policyStatusService, never()).getGroupPolicyStatus(any());
     }
 
     @Test
@@ -428,6 +437,7 @@ class PdpModifyRequestMapTest extends CommonRequestBase {
         map.removeExpiredPdps();
 
         verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(policyStatusService, never()).deletePdpPolicyStatus(any(), any(), any());
         verify(publisher, never()).enqueue(any());
     }
 
@@ -0,0 +1,217 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.comm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pdp.concepts.PdpStatus;
+import org.onap.policy.models.pdp.enums.PdpHealthStatus;
+import org.onap.policy.pap.main.parameters.HeartbeatDropPolicy;
+import org.onap.policy.pap.main.parameters.PdpParameters;
+
+class PdpStatusIngestQueueTest {
+    private static final String NAME = "my-queue";
+    private static final String PDP1 = "pdp-1";
+    private static final String PDP2 = "pdp-2";
+    private static final String PDP3 = "pdp-3";
+    private static final long CURRENT_TIME_MS = 10000L;
+
+    private MeterRegistry meterRegistry;
+    private PdpParameters params;
+    private List<PdpStatus> processed;
+    private List<Runnable> lanes;
+    private PdpStatusIngestQueue queue;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        processed = new ArrayList<>();
+        lanes = new ArrayList<>();
+
+        params = new PdpParameters();
+        params.setHeartbeatLanes(1);
+        params.setHeartbeatQueueCapacity(2);
+    }
+
+    @Test
+    void testNoLanes() {
+        params.setHeartbeatLanes(0);
+        queue = new MyQueue();
+        assertThat(lanes).isEmpty();
+
+        PdpStatus message = makeMessage(PDP1, 9000L);
+        queue.offer(message);
+        assertThat(processed).containsExactly(message);
+        assertThat(queue.size()).isZero();
+        assertThat(meterRegistry.get("pap_heartbeat_ingest_lag_ms").gauge().value()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void testCoalescing() {
+        queue = new MyQueue();
+        assertThat(lanes).hasSize(1);
+
+        PdpStatus message1 = makeMessage(PDP1, 9000L);
+        PdpStatus message2 = makeMessage(PDP2, 9000L);
+        PdpStatus message3 = makeMessage(PDP1, 9500L);
+        message3.setHealthy(PdpHealthStatus.NOT_HEALTHY);
+
+        queue.offer(message1);
+        queue.offer(message2);
+        queue.offer(message3);
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("pap_heartbeat_queue_depth").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("pap_heartbeat_dropped").tag("reason", "superseded").counter().count())
+            .isEqualTo(1.0);
+
+        // latest message from PDP1 replaces the first, but keeps its place
+        runLane();
+        assertThat(processed).containsExactly(message3, message2);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void testDropOldest() {
+        queue = new MyQueue();
+
+        PdpStatus message1 = makeMessage(PDP1, 9000L);
+        PdpStatus message2 = makeMessage(PDP2, 9000L);
+        PdpStatus message3 = makeMessage(PDP3, 9000L);
+
+        queue.offer(message1);
+        queue.offer(message2);
+        queue.offer(message3);
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("pap_heartbeat_dropped").tag("reason", "overflow").counter().count())
+            .isEqualTo(1.0);
+
+        runLane();
+        assertThat(processed).containsExactly(message2, message3);
+    }
+
+    @Test
+    void testDropNewest() {
+        params.setHeartbeatDropPolicy(HeartbeatDropPolicy.DROP_NEWEST);
+        queue = new MyQueue();
+
+        PdpStatus message1 = makeMessage(PDP1, 9000L);
+        PdpStatus message2 = makeMessage(PDP2, 9000L);
+        PdpStatus message3 = makeMessage(PDP3, 9000L);
+
+        queue.offer(message1);
+        queue.offer(message2);
+        queue.offer(message3);
+        assertThat(queue.size()).isEqualTo(2);
+
+        runLane();
+        assertThat(processed).containsExactly(message1, message2);
+    }
+
+    @Test
+    void testProcessorException() {
+        queue = new MyQueue(message -> {
+            process(message);
+            throw new IllegalStateException("expected exception");
+        });
+
+        queue.offer(makeMessage(PDP1, 9000L));
+        queue.offer(makeMessage(PDP2, 9000L));
+
+        // should continue with the next message
+        runLane();
+        assertThat(processed).hasSize(2);
+    }
+
+    @Test
+    void testStop() {
+        queue = new MyQueue();
+        queue.offer(makeMessage(PDP1, 9000L));
+
+        queue.stop();
+        assertThat(queue.size()).isZero();
+
+        // discarded
+        queue.offer(makeMessage(PDP2, 9000L));
+        assertThat(queue.size()).isZero();
+
+        // lane should exit immediately
+        lanes.get(0).run();
+        assertThat(processed).isEmpty();
+    }
+
+    /**
+     * Runs the lane until it has processed all of its messages.
+     */
+    private void runLane() {
+        lanes.get(0).run();
+    }
+
+    /**
+     * Records a processed message, stopping the queue once it is empty, so that the lane
+     * returns.
+     *
+     * @param message the processed message
+     */
+    private void process(PdpStatus message) {
+        processed.add(message);
+        if (queue.size() == 0) {
+            queue.stop();
+        }
+    }
+
+    private PdpStatus makeMessage(String pdpName, long timestampMs) {
+        var message = new PdpStatus();
+        message.setName(pdpName);
+        message.setHealthy(PdpHealthStatus.HEALTHY);
+        message.setTimestampMs(timestampMs);
+        return message;
+    }
+
+    private class MyQueue extends PdpStatusIngestQueue {
+        public MyQueue() {
+            this(PdpStatusIngestQueueTest.this::process);
+        }
+
+        public MyQueue(Consumer<PdpStatus> processor) {
+            super(NAME, params, meterRegistry, processor);
+        }
+
+        @Override
+        protected void startThread(String threadName, Runnable runner) {
+            lanes.add(runner);
+        }
+
+        @Override
+        protected long currentTimeMs() {
+            return CURRENT_TIME_MS;
+        }
+    }
+}
@@ -22,13 +22,21 @@
 
 package org.onap.policy.pap.main.comm;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
@@ -206,6 +214,144 @@ class PublisherTest extends Threaded {
         assertTrue(listener.isEmpty());
     }
 
+    @Test
+    void testMultipleLanes() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+
+        pub = new Publisher<>(PDP_PAP_TOPIC, 3, PdpMessage::getName, 4, registry) {
+            @Override
+            protected void startThread(String threadName, Runnable runner) {
+                threadNames.add(threadName);
+                super.startThread(threadName, runner);
+            }
+        };
+
+        // enqueue before running, so that the lanes take them in batches
+        Map<String, List<String>> expected = new HashMap<>();
+        for (var count = 0; count < 3; ++count) {
+            for (var pdp = 0; pdp < 5; ++pdp) {
+                var message = new PdpStateChange();
+                message.setName("pdp-" + pdp);
+                pub.enqueue(new QueueToken<>(message));
+                expected.computeIfAbsent(message.getName(), key -> new ArrayList<>()).add(message.getRequestId());
+            }
+        }
+
+        assertThat(registry.get("pap_publisher_queue_depth").gauge().value()).isEqualTo(15.0);
+
+        startThread(pub);
+
+        // messages for the same PDP should be published in order
+        Coder coder = new StandardCoder();
+        Map<String, List<String>> actual = new HashMap<>();
+        for (var count = 0; count < 15; ++count) {
+            String json = listener.await(MAX_WAIT_MS);
+            assertNotNull(json);
+            PdpStateChange message = coder.decode(json, PdpStateChange.class);
+            actual.computeIfAbsent(message.getName(), key -> new ArrayList<>()).add(message.getRequestId());
+        }
+
+        assertEquals(expected, actual);
+        assertThat(threadNames).containsExactlyInAnyOrder(PDP_PAP_TOPIC + "-publisher-1",
+            PDP_PAP_TOPIC + "-publisher-2");
+
+        assertThat(registry.get("pap_publisher_queue_depth").gauge().value()).isZero();
+        // the last sends may not have been recorded yet
+        assertThat(registry.get("pap_publisher_send_latency").timer().count()).isPositive();
+        assertThat(registry.get("pap_publisher_batch_size").summary().max()).isEqualTo(4.0);
+
+        pub.stop();
+        assertTrue(waitStop());
+    }
+
+    @Test
+    void testPriority() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        pub = new Publisher<>(PDP_PAP_TOPIC, 1, PdpMessage::getName, 100, registry);
+
+        // enqueue before running, so that they're all in the queue at once
+        List<String> normal = new ArrayList<>();
+        List<String> high = new ArrayList<>();
+        for (var count = 0; count < 10; ++count) {
+            normal.add(enqueue(MessagePriority.NORMAL));
+        }
+        for (var count = 0; count < 10; ++count) {
+            high.add(enqueue(MessagePriority.HIGH));
+        }
+
+        startThread(pub);
+
+        Coder coder = new StandardCoder();
+        List<String> actual = new ArrayList<>();
+        for (var count = 0; count < 20; ++count) {
+            String json = listener.await(MAX_WAIT_MS);
+            assertNotNull(json);
+            actual.add(coder.decode(json, PdpStateChange.class).getRequestId());
+        }
+
+        // a normal message should be published after a burst of high priority messages
+        List<String> expected = new ArrayList<>();
+        expected.addAll(high.subList(0, Publisher.HIGH_PRIORITY_BURST));
+        expected.add(normal.get(0));
+        expected.addAll(high.subList(Publisher.HIGH_PRIORITY_BURST, high.size()));
+        expected.addAll(normal.subList(1, normal.size()));
+        assertEquals(expected, actual);
+
+        assertThat(registry.get("pap_publisher_wait_time").tag("priority", "HIGH").timer().count())
+            .isEqualTo(10);
+        assertThat(registry.get("pap_publisher_wait_time").tag("priority", "NORMAL").timer().count())
+            .isEqualTo(10);
+
+        pub.stop();
+        assertTrue(waitStop());
+    }
+
+    @Test
+    void testPriorityOvertakesBatch() throws Exception {
+        pub = new Publisher<>(PDP_PAP_TOPIC, 1, PdpMessage::getName, 100, new SimpleMeterRegistry());
+
+        // enqueue before running, so that they're all taken in one batch
+        List<String> normal = new ArrayList<>();
+        for (var count = 0; count < 5; ++count) {
+            normal.add(enqueue(MessagePriority.NORMAL));
+        }
+
+        // a high priority message arrives while the first message is being sent
+        List<String> high = new ArrayList<>();
+        TopicListener highEnqueuer = (infra, topic, event) -> {
+            if (high.isEmpty()) {
+                high.add(enqueue(MessagePriority.HIGH));
+            }
+        };
+        TopicEndpointManager.getManager().getNoopTopicSink(PDP_PAP_TOPIC).register(highEnqueuer);
+
+        try {
+            startThread(pub);
+
+            Coder coder = new StandardCoder();
+            List<String> actual = new ArrayList<>();
+            for (var count = 0; count < 6; ++count) {
+                String json = listener.await(MAX_WAIT_MS);
+                assertNotNull(json);
+                actual.add(coder.decode(json, PdpStateChange.class).getRequestId());
+            }
+
+            // should not wait for the rest of the batch
+            List<String> expected = new ArrayList<>();
+            expected.add(normal.get(0));
+            expected.addAll(high);
+            expected.addAll(normal.subList(1, normal.size()));
+            assertEquals(expected, actual);
+
+        } finally {
+            TopicEndpointManager.getManager().getNoopTopicSink(PDP_PAP_TOPIC).unregister(highEnqueuer);
+        }
+
+        pub.stop();
+        assertTrue(waitStop());
+    }
+
     @Test
     void testGetNext() throws Exception {
         startThread(pub);
@@ -220,6 +366,13 @@ class PublisherTest extends Threaded {
         assertTrue(waitStop());
     }
 
+    private String enqueue(MessagePriority priority) {
+        var message = new PdpStateChange();
+        message.setName("pdp-" + priority);
+        pub.enqueue(new QueueToken<>(message, priority));
+        return message.getRequestId();
+    }
+
     /**
      * Listener for messages published to the topic.
      */
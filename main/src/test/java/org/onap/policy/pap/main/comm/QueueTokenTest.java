@@ -35,6 +35,12 @@ class QueueTokenTest {
 
     private QueueToken<String> token;
 
+    @Test
+    void testPriority() {
+        assertEquals(MessagePriority.NORMAL, new QueueToken<>(STRING1).getPriority());
+        assertEquals(MessagePriority.HIGH, new QueueToken<>(STRING1, MessagePriority.HIGH).getPriority());
+    }
+
     @Test
     void test() throws Exception {
         token = new QueueToken<>(STRING1);
@@ -46,6 +46,7 @@ import org.onap.policy.models.pdp.concepts.PdpStateChange;
 import org.onap.policy.models.pdp.concepts.PdpStatus;
 import org.onap.policy.models.pdp.concepts.PdpUpdate;
 import org.onap.policy.pap.main.comm.CommonRequestBase;
+import org.onap.policy.pap.main.comm.MessagePriority;
 import org.onap.policy.pap.main.comm.QueueToken;
 import org.onap.policy.pap.main.parameters.RequestParams;
 
@@ -266,6 +267,39 @@ class RequestImplTest extends CommonRequestBase {
         assertSame(msg4, token3.get());
     }
 
+    @Test
+    void testEnqueuePriorityChanged() {
+        req.startPublishing();
+
+        QueueToken<PdpMessage> token = queue.poll();
+        assertNotNull(token);
+        assertEquals(MessagePriority.NORMAL, token.getPriority());
+
+        // different priority - can't take the other's place in the queue
+        req.priority = MessagePriority.HIGH;
+        PdpStateChange msg2 = new PdpStateChange();
+        req.reconfigure(msg2);
+
+        // old token should no longer be published
+        assertNull(token.get());
+
+        QueueToken<PdpMessage> token2 = queue.poll();
+        assertNull(queue.poll());
+        assertNotNull(token2);
+        assertSame(msg2, token2.get());
+        assertEquals(MessagePriority.HIGH, token2.getPriority());
+    }
+
+    @Test
+    void testGetPriority() {
+        assertEquals(MessagePriority.NORMAL, new RequestImpl(reqParams, MY_REQ_NAME, msg) {
+            @Override
+            public boolean reconfigure(PdpMessage newMessage) {
+                return false;
+            }
+        }.getPriority());
+    }
+
     @Test
     void testResetRetryCount_testBumpRetryCount() {
         req = new MyRequest(new RequestParams().setMaxRetryCount(2).setModifyLock(lock).setPdpPublisher(publisher)
@@ -456,11 +490,17 @@ class RequestImplTest extends CommonRequestBase {
     }
 
     private static class MyRequest extends RequestImpl {
+        private MessagePriority priority = MessagePriority.NORMAL;
 
         public MyRequest(RequestParams params, String name, PdpMessage message) {
             super(params, name, message);
         }
 
+        @Override
+        protected MessagePriority getPriority() {
+            return priority;
+        }
+
         @Override
         public boolean reconfigure(PdpMessage newMessage) {
             reconfigure2(newMessage);
@@ -34,6 +34,7 @@ import org.onap.policy.models.pdp.concepts.PdpStatus;
 import org.onap.policy.models.pdp.concepts.PdpUpdate;
 import org.onap.policy.models.pdp.enums.PdpState;
 import org.onap.policy.pap.main.comm.CommonRequestBase;
+import org.onap.policy.pap.main.comm.MessagePriority;
 
 class StateChangeReqTest extends CommonRequestBase {
 
@@ -69,6 +70,11 @@ class StateChangeReqTest extends CommonRequestBase {
         assertSame(msg, data.getMessage());
     }
 
+    @Test
+    void testGetPriority() {
+        assertEquals(MessagePriority.HIGH, data.getPriority());
+    }
+
     @Test
     void testCheckResponse() {
         assertNull(data.checkResponse(response));
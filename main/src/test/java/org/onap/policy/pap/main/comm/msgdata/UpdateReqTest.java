@@ -48,6 +48,7 @@ import org.onap.policy.models.pdp.concepts.PdpUpdate;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.pap.main.comm.CommonRequestBase;
+import org.onap.policy.pap.main.comm.MessagePriority;
 
 class UpdateReqTest extends CommonRequestBase {
 
@@ -86,6 +87,21 @@ class UpdateReqTest extends CommonRequestBase {
         assertSame(update, data.getMessage());
     }
 
+    @Test
+    void testGetPriority() {
+        // deploys policies
+        assertEquals(MessagePriority.NORMAL, data.getPriority());
+
+        // only undeploys policies
+        update.setPoliciesToBeDeployed(null);
+        update.setPoliciesToBeUndeployed(List.of(new ToscaConceptIdentifier("policy-x", "1.0.0")));
+        assertEquals(MessagePriority.HIGH, data.getPriority());
+
+        // neither - registration update
+        update.setPoliciesToBeUndeployed(Collections.emptyList());
+        assertEquals(MessagePriority.NORMAL, data.getPriority());
+    }
+
     @Test
     void testCheckResponse() {
         assertNull(data.checkResponse(response));
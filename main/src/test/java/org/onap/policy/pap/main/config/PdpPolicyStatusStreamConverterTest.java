@@ -0,0 +1,76 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus.State;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.pap.main.rest.PdpPolicyStatusStream;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class PdpPolicyStatusStreamConverterTest {
+    private final Gson gson = new Gson();
+    private final PdpPolicyStatusStreamConverter converter = new PdpPolicyStatusStreamConverter(gson);
+
+    @Test
+    void testCanReadWrite() {
+        assertThat(converter.canWrite(PdpPolicyStatusStream.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(PdpPolicyStatusStream.class, MediaType.APPLICATION_JSON)).isFalse();
+
+        var input = new MockHttpInputMessage(new byte[0]);
+        assertThatThrownBy(() -> converter.read(PdpPolicyStatusStream.class, input))
+            .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void testWrite() throws IOException {
+        var builder = PdpPolicyStatus.builder().pdpGroup("my-group")
+            .policy(new ToscaConceptIdentifier("my-policy", "1.0.0")).deploy(true);
+        PdpPolicyStatus status1 = builder.pdpId("pdp-1").state(State.SUCCESS).build();
+        PdpPolicyStatus status2 = builder.pdpId("pdp-2").state(State.WAITING).build();
+
+        var output = new MockHttpOutputMessage();
+        converter.write(new PdpPolicyStatusStream(List.of(status1, status2)::forEach), MediaType.APPLICATION_JSON,
+            output);
+
+        assertThat(output.getHeaders().getContentType()).isNotNull();
+        assertThat(output.getBodyAsString()).isEqualTo(gson.toJson(List.of(status1, status2)));
+    }
+
+    @Test
+    void testWriteEmpty() throws IOException {
+        var output = new MockHttpOutputMessage();
+        converter.write(new PdpPolicyStatusStream(consumer -> { }), MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsString()).isEqualTo("[]");
+    }
+}
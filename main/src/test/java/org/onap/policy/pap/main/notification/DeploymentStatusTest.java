@@ -23,7 +23,11 @@
 package org.onap.policy.pap.main.notification;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -165,6 +169,37 @@ class DeploymentStatusTest {
         assertThat(notif.getDeleted()).isEmpty();
     }
 
+    @Test
+    void testAddNotificationsChangedPoliciesOnly() {
+        PdpPolicyStatus statusA = builder.policy(POLICY_A).state(State.WAITING).build();
+        PdpPolicyStatus statusB = builder.policy(POLICY_B).state(State.WAITING).build();
+        tracker.getRecordMap().putAll(makeMap(Action.CREATED, statusA, Action.CREATED, statusB));
+
+        PolicyNotification notif = new PolicyNotification();
+        tracker.flush(notif);
+        assertThat(notif.getAdded()).isEmpty();
+
+        // only policy A has completed
+        tracker.completeDeploy(PDP_A, Set.of(POLICY_A), Set.of(POLICY_A));
+        assertThat(tracker.getRecordMap().getChangedPolicies()).containsExactly(POLICY_A);
+
+        notif = new PolicyNotification();
+        tracker.flush(notif);
+        assertThat(notif.getAdded()).hasSize(1);
+        assertThat(notif.getAdded().get(0).getPolicy()).isEqualTo(POLICY_A);
+        assertThat(tracker.getRecordMap().getChangedPolicies()).isEmpty();
+
+        // policy B has now failed
+        tracker.completeDeploy(PDP_A, Set.of(POLICY_A, POLICY_B), Set.of(POLICY_A));
+        assertThat(tracker.getRecordMap().getChangedPolicies()).containsExactly(POLICY_B);
+
+        notif = new PolicyNotification();
+        tracker.flush(notif);
+        assertThat(notif.getAdded()).hasSize(1);
+        assertThat(notif.getAdded().get(0).getPolicy()).isEqualTo(POLICY_B);
+        assertThat(notif.getAdded().get(0).getFailureCount()).isEqualTo(1);
+    }
+
     @Test
     void testLoadByGroup() {
         PdpPolicyStatus status1 = builder.build();
@@ -188,6 +223,126 @@ class DeploymentStatusTest {
         verify(policyStatusService).getGroupPolicyStatus(anyString());
     }
 
+    @Test
+    void testLoadByGroupChangedPolicyOnly() {
+        PdpPolicyStatus statusA = builder.policy(POLICY_A).state(State.WAITING).build();
+        PdpPolicyStatus statusB = builder.policy(POLICY_B).state(State.SUCCESS).build();
+        PdpPolicyStatus statusC = builder.policy(POLICY_C).state(State.SUCCESS).build();
+        PdpPolicyStatus statusD = builder.policy(POLICY_D).pdpId(PDP_B).state(State.WAITING).build();
+
+        when(policyStatusService.getGroupPolicyStatus(GROUP_A))
+            .thenReturn(List.of(statusA, statusB, statusC, statusD));
+
+        // loading does not mark anything as changed
+        tracker.loadByGroup(GROUP_A);
+        assertThat(tracker.getRecordMap().getChangedPolicies()).isEmpty();
+
+        // only policy A changes
+        tracker.completeDeploy(PDP_A, Set.of(POLICY_A, POLICY_B, POLICY_C), Set.of(POLICY_A, POLICY_B, POLICY_C));
+        assertThat(tracker.getRecordMap().getChangedPolicies()).containsExactly(POLICY_A);
+
+        PolicyNotification notif = new PolicyNotification();
+        tracker.flush(notif);
+
+        assertThat(notif.getAdded()).hasSize(1);
+        assertThat(notif.getAdded().get(0).getPolicy()).isEqualTo(POLICY_A);
+        assertThat(notif.getDeleted()).isEmpty();
+
+        verify(policyStatusService).cudPolicyStatus(created.capture(), updated.capture(), deleted.capture());
+        assertThat(created.getValue()).isEmpty();
+        assertThat(updated.getValue()).containsExactly(statusA);
+        assertThat(deleted.getValue()).isEmpty();
+    }
+
+    @Test
+    void testLoadByPdp() {
+        PdpPolicyStatus status1 = builder.state(State.WAITING).build();
+        PdpPolicyStatus other = builder.pdpId(null).pdpType(null).state(State.SUCCESS).build();
+
+        when(policyStatusService.getPdpPolicyStatus(GROUP_A, PDP_A)).thenReturn(List.of(status1));
+        when(policyStatusService.countOtherPdpPolicyStatus(GROUP_A, PDP_A)).thenReturn(Map.of(other, 2L));
+
+        tracker.loadByPdp(GROUP_A, PDP_A);
+        assertThat(tracker.getRecordMap()).isEqualTo(makeMap(Action.UNCHANGED, status1));
+
+        // try again - should not reload
+        tracker.loadByPdp(GROUP_A, PDP_A);
+        verify(policyStatusService).getPdpPolicyStatus(anyString(), anyString());
+
+        // notification should include the other PDPs
+        tracker.completeDeploy(PDP_A, Set.of(POLICY_A), Set.of(POLICY_A));
+
+        PolicyNotification notif = new PolicyNotification();
+        tracker.flush(notif);
+
+        assertThat(notif.getAdded()).hasSize(1);
+        PolicyStatus status = notif.getAdded().get(0);
+        assertThat(status.getPolicy()).isEqualTo(POLICY_A);
+        assertThat(status.getSuccessCount()).isEqualTo(3);
+        assertThat(status.getIncompleteCount()).isZero();
+
+        // only the PDP's record is written
+        verify(policyStatusService).cudPolicyStatus(created.capture(), updated.capture(), deleted.capture());
+        assertThat(created.getValue()).isEmpty();
+        assertThat(updated.getValue()).hasSize(1).allMatch(record -> PDP_A.equals(record.getPdpId()));
+        assertThat(deleted.getValue()).isEmpty();
+
+        // cannot load another PDP or the whole group
+        assertThatIllegalStateException().isThrownBy(() -> tracker.loadByPdp(GROUP_A, PDP_B));
+        assertThatIllegalStateException().isThrownBy(() -> tracker.loadByGroup(GROUP_A));
+    }
+
+    @Test
+    void testLoadByPdps() {
+        PdpPolicyStatus statusA = builder.pdpId(PDP_A).state(State.WAITING).build();
+        PdpPolicyStatus statusB = builder.pdpId(PDP_B).state(State.WAITING).build();
+        PdpPolicyStatus other = builder.pdpId(null).pdpType(null).state(State.SUCCESS).build();
+
+        Set<String> pdpIds = Set.of(PDP_A, PDP_B);
+        when(policyStatusService.getPdpPolicyStatus(GROUP_A, pdpIds)).thenReturn(List.of(statusA, statusB));
+        when(policyStatusService.countOtherPdpPolicyStatus(GROUP_A, pdpIds)).thenReturn(Map.of(other, 1L));
+
+        tracker.loadByPdps(GROUP_A, pdpIds);
+        verify(policyStatusService, never()).getGroupPolicyStatus(anyString());
+        assertThat(tracker.getRecordMap()).hasSize(2);
+
+        // already loaded - should not reload
+        tracker.loadByPdps(GROUP_A, pdpIds);
+        tracker.loadByPdp(GROUP_A, PDP_B);
+        verify(policyStatusService).getPdpPolicyStatus(GROUP_A, pdpIds);
+        verify(policyStatusService, never()).getPdpPolicyStatus(anyString(), anyString());
+
+        // notification should include the other PDPs
+        tracker.completeDeploy(PDP_A, Set.of(POLICY_A), Set.of(POLICY_A));
+        tracker.completeDeploy(PDP_B, Set.of(POLICY_A), Set.of(POLICY_A));
+
+        PolicyNotification notif = new PolicyNotification();
+        tracker.flush(notif);
+
+        assertThat(notif.getAdded()).hasSize(1);
+        assertThat(notif.getAdded().get(0).getSuccessCount()).isEqualTo(3);
+
+        // cannot load a PDP that was not included
+        assertThatIllegalStateException().isThrownBy(() -> tracker.loadByPdp(GROUP_A, PDP_C));
+    }
+
+    @Test
+    void testLoadByPdpUndeployment() {
+        PdpPolicyStatus status1 = builder.deploy(false).build();
+        when(policyStatusService.getPdpPolicyStatus(GROUP_A, PDP_A)).thenReturn(List.of(status1));
+        when(policyStatusService.getGroupPolicyStatus(GROUP_A)).thenReturn(List.of(status1));
+
+        // has undeployment records - loads the whole group
+        tracker.loadByPdp(GROUP_A, PDP_A);
+        verify(policyStatusService).getGroupPolicyStatus(GROUP_A);
+        verify(policyStatusService, never()).countOtherPdpPolicyStatus(anyString(), anyString());
+        assertThat(tracker.getRecordMap()).isEqualTo(makeMap(Action.UNCHANGED, status1));
+
+        // group already loaded
+        tracker.loadByPdp(GROUP_A, PDP_B);
+        verify(policyStatusService).getPdpPolicyStatus(anyString(), anyString());
+    }
+
     @Test
     void testFlushPdpNotification() {
         PdpPolicyStatus create = builder.pdpId("created").state(State.FAILURE).build();
@@ -288,6 +443,78 @@ class DeploymentStatusTest {
         // @formatter:on
     }
 
+    @Test
+    void testDeleteUndeploymentsUnchangedPolicy() {
+        builder.deploy(false);
+        PdpPolicyStatus undepComplete = builder.policy(POLICY_C).build();
+        PdpPolicyStatus undepIncomplete = builder.policy(POLICY_D).state(State.WAITING).build();
+
+        // loaded as is - the policies are not marked as changed
+        tracker.getRecordMap().putAll(makeMap(Action.UNCHANGED, undepComplete, Action.UNCHANGED, undepIncomplete));
+        tracker.getRecordMap().clearChanged();
+
+        tracker.deleteUndeployments();
+
+        // the completed undeployment should still be cleaned up
+        assertThat(tracker.getRecordMap())
+            .isEqualTo(makeMap(Action.DELETED, undepComplete, Action.UNCHANGED, undepIncomplete));
+    }
+
+    @Test
+    void testDeletePdps() {
+        builder.pdpId(null).pdpType(null);
+        PdpPolicyStatus successA = builder.policy(POLICY_A).build();
+        PdpPolicyStatus successB = builder.policy(POLICY_B).build();
+        PdpPolicyStatus waitingB = builder.policy(POLICY_B).state(State.WAITING).build();
+
+        builder.deploy(false);
+        PdpPolicyStatus undepSuccessC = builder.policy(POLICY_C).state(State.SUCCESS).build();
+        PdpPolicyStatus undepWaitingC = builder.policy(POLICY_C).state(State.WAITING).build();
+
+        // @formatter:off
+        when(policyStatusService.countGroupPolicyStatus(GROUP_A)).thenReturn(Map.of(
+                        successA, 3L,
+                        successB, 1L,
+                        waitingB, 1L,
+                        undepSuccessC, 1L,
+                        undepWaitingC, 1L));
+        when(policyStatusService.countPdpPolicyStatus(GROUP_A, Set.of(PDP_A, PDP_B))).thenReturn(Map.of(
+                        successA, 1L,
+                        waitingB, 1L,
+                        undepWaitingC, 1L));
+        // @formatter:on
+
+        PolicyNotification notif = new PolicyNotification();
+        tracker.deletePdps(GROUP_A, Set.of(PDP_A, PDP_B), notif);
+
+        verify(policyStatusService).deletePdpPolicyStatus(GROUP_A, Set.of(PDP_A, PDP_B),
+            Map.of(successA, 1L, waitingB, 1L, undepWaitingC, 1L));
+        verify(policyStatusService, never()).getGroupPolicyStatus(any());
+
+        // policy A was, and still is, complete; policy B is now complete
+        assertThat(notif.getAdded()).hasSize(1);
+        PolicyStatus status = notif.getAdded().get(0);
+        assertThat(status.getPolicy()).isEqualTo(POLICY_B);
+        assertThat(status.getSuccessCount()).isEqualTo(1);
+        assertThat(status.getIncompleteCount()).isZero();
+
+        // policy C's undeployment is now complete
+        assertThat(notif.getDeleted()).hasSize(1);
+        assertThat(notif.getDeleted().get(0).getPolicy()).isEqualTo(POLICY_C);
+        verify(policyStatusService).deleteUndeploymentPolicyStatus(GROUP_A, POLICY_C, Map.of(undepSuccessC, 1L));
+        verify(policyStatusService, never()).deleteUndeploymentPolicyStatus(eq(GROUP_A), eq(POLICY_A), any());
+        verify(policyStatusService, never()).deleteUndeploymentPolicyStatus(eq(GROUP_A), eq(POLICY_B), any());
+    }
+
+    @Test
+    void testDeletePdpsNoRecords() {
+        PolicyNotification notif = new PolicyNotification();
+        tracker.deletePdps(GROUP_A, Set.of(PDP_A), notif);
+
+        verify(policyStatusService).deletePdpPolicyStatus(GROUP_A, Set.of(PDP_A), Map.of());
+        assertThat(notif.isEmpty()).isTrue();
+    }
+
     @Test
     void testDeleteDeploymentString() {
         PdpPolicyStatus statusaa = builder.pdpId(PDP_A).policy(POLICY_A).build();
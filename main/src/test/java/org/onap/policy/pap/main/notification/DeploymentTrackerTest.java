@@ -101,6 +101,42 @@ class DeploymentTrackerTest {
         assertThat(notif.getDeleted().get(0).getPolicy()).isEqualTo(POLICY_B);
     }
 
+    @Test
+    void testAddNotificationsForPolicies() {
+        // policy A is complete, but is no longer deployed; policy B is unchanged
+        tracker.add(builder.build());
+        tracker.add(builder.policy(POLICY_B).state(State.WAITING).build());
+
+        DeploymentTracker newTracker = new DeploymentTracker();
+        newTracker.add(builder.policy(POLICY_A).deploy(false).state(State.SUCCESS).build());
+
+        PolicyNotification notif = new PolicyNotification();
+        tracker.addNotifications(notif, newTracker, List.of(POLICY_A));
+
+        // zero-count status for the deployment; status of the undeployment
+        assertThat(notif.getAdded()).hasSize(1);
+        PolicyStatus status = notif.getAdded().get(0);
+        assertThat(status.getPolicy()).isEqualTo(POLICY_A);
+        assertThat(status.getSuccessCount()).isZero();
+
+        assertThat(notif.getDeleted()).hasSize(1);
+        assertThat(notif.getDeleted().get(0).getPolicy()).isEqualTo(POLICY_A);
+
+        // policy A replaced, policy B left unchanged
+        assertThat(tracker.getDeploymentStatus()).hasSize(1).first().extracting(PolicyStatus::getPolicy)
+            .isEqualTo(POLICY_B);
+        assertThat(tracker.getUndeploymentStatus()).hasSize(1);
+
+        // repeat - should be no notifications
+        notif = new PolicyNotification();
+        tracker.addNotifications(notif, newTracker, List.of(POLICY_A, POLICY_B));
+        assertThat(notif.getAdded()).isEmpty();
+        assertThat(notif.getDeleted()).isEmpty();
+
+        // policy B was not in the new tracker
+        assertThat(tracker.getDeploymentStatus()).isEmpty();
+    }
+
     @Test
     void testMerge() {
         DeploymentTracker newTracker = new DeploymentTracker();
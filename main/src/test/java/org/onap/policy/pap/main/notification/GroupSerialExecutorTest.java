@@ -0,0 +1,210 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GroupSerialExecutorTest {
+    private static final String NAME = "my-executor";
+    private static final String GROUP_A = "groupA";
+    private static final String GROUP_B = "groupB";
+
+    private MeterRegistry meterRegistry;
+    private List<Runnable> runners;
+    private List<String> executed;
+    private boolean shutdown;
+    private GroupSerialExecutor executor;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        runners = new ArrayList<>();
+        executed = new ArrayList<>();
+        shutdown = false;
+        executor = new MyExecutor();
+    }
+
+    @Test
+    void testExecute() {
+        executor.execute(GROUP_A, () -> executed.add("a1"));
+        executor.execute(GROUP_B, () -> executed.add("b1"));
+        executor.execute(GROUP_A, () -> executed.add("a2"));
+
+        // only one runner per group
+        assertThat(runners).hasSize(2);
+        assertThat(executor.size()).isEqualTo(3);
+        assertThat(meterRegistry.get("pap_my_executor_queue_depth").gauge().value()).isEqualTo(3.0);
+
+        // group A's tasks are executed in order, by the same runner
+        runners.get(0).run();
+        assertThat(executed).containsExactly("a1", "a2");
+        assertThat(executor.size()).isEqualTo(1);
+
+        runners.get(1).run();
+        assertThat(executed).containsExactly("a1", "a2", "b1");
+        assertThat(executor.size()).isZero();
+
+        // group A is no longer being drained - needs a new runner
+        executor.execute(GROUP_A, () -> executed.add("a3"));
+        assertThat(runners).hasSize(3);
+        runners.get(2).run();
+        assertThat(executed).endsWith("a3");
+    }
+
+    @Test
+    void testExecuteTaskException() {
+        executor.execute(GROUP_A, () -> {
+            executed.add("a1");
+            throw new IllegalStateException("expected exception");
+        });
+        executor.execute(GROUP_A, () -> executed.add("a2"));
+
+        // should continue with the next task
+        runners.get(0).run();
+        assertThat(executed).containsExactly("a1", "a2");
+    }
+
+    @Test
+    void testAwaitIdle() throws InterruptedException {
+        // nothing submitted
+        executor.awaitIdle();
+
+        executor.execute(GROUP_A, () -> executed.add("a1"));
+
+        var waiter = new Thread(() -> {
+            try {
+                executor.awaitIdle();
+                executed.add("idle");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        // the waiter should not finish until the task has been executed
+        waiter.join(100);
+        assertThat(waiter.isAlive()).isTrue();
+
+        runners.get(0).run();
+        waiter.join(5000);
+        assertThat(waiter.isAlive()).isFalse();
+        assertThat(executed).containsExactly("a1", "idle");
+    }
+
+    @Test
+    void testAwaitIdleTimeout() throws InterruptedException {
+        // nothing submitted
+        assertThat(executor.awaitIdle(0)).isTrue();
+
+        executor.execute(GROUP_A, () -> executed.add("a1"));
+
+        // task never runs - gives up
+        assertThat(executor.awaitIdle(0)).isFalse();
+        assertThat(executor.awaitIdle(10)).isFalse();
+
+        runners.get(0).run();
+        assertThat(executor.awaitIdle(10)).isTrue();
+        assertThat(executed).containsExactly("a1");
+    }
+
+    @Test
+    void testStop() throws InterruptedException {
+        executor.execute(GROUP_A, () -> executed.add("a1"));
+        executor.execute(GROUP_A, () -> executed.add("a2"));
+
+        executor.stop();
+        assertThat(shutdown).isTrue();
+        assertThat(executor.size()).isZero();
+
+        // should not block
+        executor.awaitIdle();
+
+        // runner finds nothing to do
+        runners.get(0).run();
+        assertThat(executed).isEmpty();
+
+        // rejected by the stopped executor - discarded
+        executor.execute(GROUP_B, () -> executed.add("b1"));
+        assertThat(runners).hasSize(1);
+        assertThat(executor.size()).isZero();
+        executor.awaitIdle();
+    }
+
+    private class MyExecutor extends GroupSerialExecutor {
+        public MyExecutor() {
+            super(NAME, 2, meterRegistry);
+        }
+
+        @Override
+        protected ExecutorService makeExecutor(int nthreads, ThreadFactory threadFactory) {
+            return new AbstractExecutorService() {
+                @Override
+                public void execute(Runnable command) {
+                    if (shutdown) {
+                        throw new RejectedExecutionException("expected exception");
+                    }
+                    runners.add(command);
+                }
+
+                @Override
+                public void shutdown() {
+                    shutdown = true;
+                }
+
+                @Override
+                public List<Runnable> shutdownNow() {
+                    shutdown = true;
+                    return List.of();
+                }
+
+                @Override
+                public boolean isShutdown() {
+                    return shutdown;
+                }
+
+                @Override
+                public boolean isTerminated() {
+                    return shutdown;
+                }
+
+                @Override
+                public boolean awaitTermination(long timeout, TimeUnit unit) {
+                    return true;
+                }
+            };
+        }
+    }
+}
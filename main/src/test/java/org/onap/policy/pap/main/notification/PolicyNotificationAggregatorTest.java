@@ -0,0 +1,224 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.onap.policy.models.pap.concepts.PolicyNotification;
+import org.onap.policy.models.pap.concepts.PolicyStatus;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+class PolicyNotificationAggregatorTest {
+    private static final long DEBOUNCE_MS = 100;
+    private static final long MAX_LATENCY_MS = 250;
+    private static final ToscaConceptIdentifier POLICY1 = new ToscaConceptIdentifier("policy1", "1.0.0");
+    private static final ToscaConceptIdentifier POLICY2 = new ToscaConceptIdentifier("policy2", "1.0.0");
+
+    private MeterRegistry meterRegistry;
+    private ScheduledExecutorService timer;
+    private List<PolicyNotification> published;
+    private long currentTimeMs;
+    private PolicyNotificationAggregator aggregator;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timer = mock(ScheduledExecutorService.class);
+        published = new ArrayList<>();
+        currentTimeMs = 1000L;
+
+        aggregator = new MyAggregator();
+    }
+
+    @Test
+    void testMerge() {
+        aggregator.add(makeNotification(makeStatus(POLICY1, 1), null));
+        aggregator.add(makeNotification(makeStatus(POLICY2, 1), makeStatus(POLICY1, 3)));
+        aggregator.add(makeNotification(makeStatus(POLICY1, 2), null));
+        assertThat(aggregator.size()).isEqualTo(3);
+        assertThat(published).isEmpty();
+
+        currentTimeMs += DEBOUNCE_MS;
+        expire(1);
+
+        // latest status of each policy, in the order in which they were first added
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0).getAdded()).extracting(PolicyStatus::getPolicy).containsExactly(POLICY1,
+            POLICY2);
+        assertThat(published.get(0).getAdded().get(0).getSuccessCount()).isEqualTo(2);
+        assertThat(published.get(0).getDeleted()).extracting(PolicyStatus::getPolicy).containsExactly(POLICY1);
+        assertThat(aggregator.size()).isZero();
+
+        assertThat(meterRegistry.get("pap_policy_notifications_saved").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void testDebounce() {
+        aggregator.add(makeNotification(makeStatus(POLICY1, 1), null));
+
+        // another notification arrives before the window expires
+        currentTimeMs += 60;
+        aggregator.add(makeNotification(makeStatus(POLICY2, 1), null));
+
+        currentTimeMs += 40;
+        expire(1);
+        assertThat(published).isEmpty();
+
+        // re-scheduled for the remainder of the window
+        verify(timer).schedule(any(Runnable.class), eq(60L), eq(TimeUnit.MILLISECONDS));
+
+        currentTimeMs += 60;
+        expire(2);
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    void testMaxLatency() {
+        aggregator.add(makeNotification(makeStatus(POLICY1, 1), null));
+
+        // keep adding notifications, each within the debounce window
+        for (var count = 1; count <= 3; ++count) {
+            currentTimeMs += 80;
+            aggregator.add(makeNotification(makeStatus(POLICY1, count), null));
+            expire(count);
+        }
+
+        // 240ms have elapsed - only 10ms remain before the maximum latency
+        verify(timer).schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS));
+        assertThat(published).isEmpty();
+
+        currentTimeMs += 10;
+        expire(4);
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    void testAddEmpty() {
+        aggregator.add(new PolicyNotification());
+        assertThat(aggregator.size()).isZero();
+        verify(timer, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void testStop() {
+        aggregator.add(makeNotification(makeStatus(POLICY1, 1), null));
+
+        // pending notification is published
+        aggregator.stop();
+        verify(timer).shutdownNow();
+        assertThat(published).hasSize(1);
+
+        // published immediately
+        aggregator.add(makeNotification(makeStatus(POLICY2, 1), null));
+        assertThat(published).hasSize(2);
+
+        // nothing pending
+        aggregator.stop();
+        assertThat(published).hasSize(2);
+    }
+
+    @Test
+    void testScheduleRejected() {
+        when(timer.schedule(any(Runnable.class), anyLong(), any())).thenThrow(new RejectedExecutionException());
+
+        aggregator.add(makeNotification(makeStatus(POLICY1, 1), null));
+        assertThat(published).isEmpty();
+
+        // published once stopped
+        aggregator.stop();
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    void testMakeTimer() {
+        // make real object, which will invoke the real makeXxx() methods
+        var real = new PolicyNotificationAggregator(DEBOUNCE_MS, MAX_LATENCY_MS, meterRegistry, published::add);
+        real.add(makeNotification(makeStatus(POLICY1, 1), null));
+        real.stop();
+        assertThat(published).hasSize(1);
+    }
+
+    /**
+     * Runs the task most recently scheduled on the timer.
+     *
+     * @param count number of times the timer has been scheduled thus far
+     */
+    private void expire(int count) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer, times(count)).schedule(task.capture(), anyLong(), any());
+        task.getValue().run();
+    }
+
+    private PolicyNotification makeNotification(PolicyStatus added, PolicyStatus deleted) {
+        var notification = new PolicyNotification();
+        if (added != null) {
+            notification.getAdded().add(added);
+        }
+        if (deleted != null) {
+            notification.getDeleted().add(deleted);
+        }
+        return notification;
+    }
+
+    private PolicyStatus makeStatus(ToscaConceptIdentifier policy, int successCount) {
+        var status = new PolicyStatus();
+        status.setPolicy(policy);
+        status.setSuccessCount(successCount);
+        return status;
+    }
+
+    private class MyAggregator extends PolicyNotificationAggregator {
+        public MyAggregator() {
+            super(DEBOUNCE_MS, MAX_LATENCY_MS, meterRegistry, published::add);
+        }
+
+        @Override
+        protected ScheduledExecutorService makeTimer() {
+            return timer;
+        }
+
+        @Override
+        protected long currentTimeMs() {
+            return currentTimeMs;
+        }
+    }
+}
@@ -22,25 +22,37 @@
 
 package org.onap.policy.pap.main.notification;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.core.Response.Status;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -52,12 +64,16 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.pap.main.PapConstants;
 import org.onap.policy.pap.main.comm.Publisher;
 import org.onap.policy.pap.main.comm.QueueToken;
+import org.onap.policy.pap.main.parameters.PdpParameters;
 import org.onap.policy.pap.main.service.PolicyStatusService;
 
 @ExtendWith(MockitoExtension.class)
 class PolicyNotifierTest {
     private static final String GROUP_A = "groupA";
     private static final String PDP1 = "pdp-1";
+    private static final String PDP2 = "pdp-2";
+    private static final String PDP3 = "pdp-3";
+    private static final long WINDOW_MS = 100;
     private static final ToscaConceptIdentifier policy1 = new ToscaConceptIdentifier("policy1", "1.2.3");
     private static final ToscaConceptIdentifier policy2 = new ToscaConceptIdentifier("policy2", "1.2.3");
 
@@ -70,6 +86,15 @@ class PolicyNotifierTest {
     @Mock
     private DeploymentStatus tracker;
 
+    @Mock
+    private GroupSerialExecutor executor;
+
+    @Mock
+    private ScheduledExecutorService timer;
+
+    @Mock
+    private PolicyNotificationAggregator aggregator;
+
     @Captor
     ArgumentCaptor<QueueToken<PolicyNotification>> notifyCaptor;
 
@@ -107,7 +132,7 @@ class PolicyNotifierTest {
 
         notifier.processResponse(PDP1, GROUP_A, expected, actual);
 
-        verify(tracker).loadByGroup(GROUP_A);
+        verify(tracker).loadByPdp(GROUP_A, PDP1);
         verify(tracker).completeDeploy(PDP1, expected, actual);
         verify(tracker).flush(any());
 
@@ -117,11 +142,234 @@ class PolicyNotifierTest {
     @Test
     void testProcessResponseString_Ex() {
         doThrow(new PfModelRuntimeException(Status.BAD_REQUEST, "expected exception")).when(tracker)
-            .loadByGroup(anyString());
+            .loadByPdp(anyString(), anyString());
 
         assertThatCode(() -> notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of())).doesNotThrowAnyException();
     }
 
+    @Test
+    void testProcessResponseAsync() {
+        Set<ToscaConceptIdentifier> expected = Set.of(policy1);
+        Set<ToscaConceptIdentifier> actual = Set.of(policy2);
+
+        notifier.start(makeParams(2, 0), new SimpleMeterRegistry());
+        notifier.processResponse(PDP1, GROUP_A, expected, actual);
+
+        // not processed until the executor runs the task
+        verify(tracker, never()).loadByPdp(anyString(), anyString());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(eq(GROUP_A), task.capture());
+        task.getValue().run();
+
+        verify(tracker).loadByPdp(GROUP_A, PDP1);
+        verify(tracker).completeDeploy(PDP1, expected, actual);
+
+        notifier.awaitIdle();
+        verify(executor).awaitIdle();
+
+        // processed synchronously once stopped
+        notifier.stop();
+        verify(executor).stop();
+
+        notifier.processResponse(PDP1, GROUP_A, expected, actual);
+        verify(tracker, times(2)).loadByPdp(GROUP_A, PDP1);
+    }
+
+    @Test
+    void testStartNoThreads() {
+        notifier.start(makeParams(0, WINDOW_MS), new SimpleMeterRegistry());
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+        verify(tracker).loadByPdp(GROUP_A, PDP1);
+
+        // no executor - these should do nothing
+        assertThatCode(() -> {
+            notifier.awaitIdle();
+            notifier.stop();
+        }).doesNotThrowAnyException();
+        verify(executor, never()).stop();
+        verify(timer, never()).shutdownNow();
+    }
+
+    @Test
+    void testProcessResponseBatch() {
+        notifier.start(makeParams(2, 0), new SimpleMeterRegistry());
+
+        // responses received before the task runs are applied together
+        notifier.processResponse(PDP1, GROUP_A, Set.of(policy1), Set.of(policy1));
+        notifier.processResponse(PDP2, GROUP_A, Set.of(policy1), Set.of());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(eq(GROUP_A), task.capture());
+        task.getValue().run();
+
+        verify(tracker).loadByPdps(GROUP_A, Set.of(PDP1, PDP2));
+        verify(tracker, never()).loadByPdp(anyString(), anyString());
+        verify(tracker).completeDeploy(PDP1, Set.of(policy1), Set.of(policy1));
+        verify(tracker).completeDeploy(PDP2, Set.of(policy1), Set.of());
+        verify(tracker).flush(any());
+
+        // nothing left to apply
+        task.getValue().run();
+        verify(tracker).flush(any());
+
+        // next response starts a new batch
+        notifier.processResponse(PDP3, GROUP_A, Set.of(), Set.of());
+        verify(executor, times(2)).execute(eq(GROUP_A), any());
+    }
+
+    @Test
+    void testProcessResponseWindow() {
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+        notifier.processResponse(PDP2, GROUP_A, Set.of(), Set.of());
+
+        // submitted only once the window expires
+        ArgumentCaptor<Runnable> expire = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer).schedule(expire.capture(), eq(WINDOW_MS), eq(TimeUnit.MILLISECONDS));
+        verify(executor, never()).execute(anyString(), any());
+
+        expire.getValue().run();
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(eq(GROUP_A), task.capture());
+        task.getValue().run();
+
+        verify(tracker).loadByPdps(GROUP_A, Set.of(PDP1, PDP2));
+        verify(tracker, times(2)).completeDeploy(anyString(), anySet(), anySet());
+        verify(tracker).flush(any());
+
+        notifier.stop();
+        verify(timer).shutdownNow();
+    }
+
+    @Test
+    void testProcessResponseFullBatch() {
+        PdpParameters params = makeParams(2, WINDOW_MS);
+        params.setNotifierMaxBatchSize(2);
+        notifier.start(params, new SimpleMeterRegistry());
+
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+        verify(executor, never()).execute(anyString(), any());
+
+        // full - submitted without waiting for the window
+        notifier.processResponse(PDP2, GROUP_A, Set.of(), Set.of());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(eq(GROUP_A), task.capture());
+        task.getValue().run();
+
+        verify(tracker).loadByPdps(GROUP_A, Set.of(PDP1, PDP2));
+        verify(tracker, times(2)).completeDeploy(anyString(), anySet(), anySet());
+        verify(tracker).flush(any());
+
+        // window expires after the batch was applied - nothing more to do
+        ArgumentCaptor<Runnable> expire = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer).schedule(expire.capture(), eq(WINDOW_MS), eq(TimeUnit.MILLISECONDS));
+        expire.getValue().run();
+
+        verify(executor, times(2)).execute(eq(GROUP_A), task.capture());
+        task.getValue().run();
+        verify(tracker).flush(any());
+    }
+
+    @Test
+    void testAwaitIdleSubmitsPendingBatches() throws InterruptedException {
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+
+        // should not wait for the window to expire
+        notifier.awaitIdle();
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(eq(GROUP_A), task.capture());
+        verify(executor).awaitIdle();
+
+        task.getValue().run();
+        verify(tracker).loadByPdp(GROUP_A, PDP1);
+    }
+
+    @Test
+    void testScheduleRejected() {
+        when(timer.schedule(any(Runnable.class), anyLong(), any())).thenThrow(new RejectedExecutionException());
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+
+        // submitted without waiting
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+        verify(executor).execute(eq(GROUP_A), any());
+    }
+
+    @Test
+    void testAwaitIdleInterrupted() throws InterruptedException {
+        doThrow(new InterruptedException("expected exception")).when(executor).awaitIdle();
+        notifier.start(makeParams(2, 0), new SimpleMeterRegistry());
+
+        notifier.awaitIdle();
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void testStopProcessesPendingBatches() throws InterruptedException {
+        // run tasks as they're submitted
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        }).when(executor).execute(anyString(), any());
+        when(executor.awaitIdle(anyLong())).thenReturn(true);
+
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+        verify(tracker, never()).loadByPdp(anyString(), anyString());
+
+        // should not wait for the window to expire
+        notifier.stop();
+        verify(tracker).loadByPdp(GROUP_A, PDP1);
+
+        // waits for the tasks before stopping the executor
+        InOrder order = inOrder(timer, executor);
+        order.verify(timer).shutdownNow();
+        order.verify(executor).execute(eq(GROUP_A), any());
+        order.verify(executor).awaitIdle(PdpParameters.DEFAULT_NOTIFIER_STOP_TIMEOUT_MS);
+        order.verify(executor).stop();
+    }
+
+    @Test
+    void testStopTimeout() throws InterruptedException {
+        // executor.awaitIdle(long) returns false, as the task is never run
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+        notifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
+
+        notifier.stop();
+        verify(executor).execute(eq(GROUP_A), any());
+        verify(executor).awaitIdle(anyLong());
+        verify(executor).stop();
+
+        // restart - the discarded batch should not be submitted again
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+        notifier.awaitIdle();
+        verify(executor).execute(anyString(), any());
+    }
+
+    @Test
+    void testStopInterrupted() throws InterruptedException {
+        doThrow(new InterruptedException("expected exception")).when(executor).awaitIdle(anyLong());
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+
+        notifier.stop();
+        assertThat(Thread.interrupted()).isTrue();
+        verify(executor).stop();
+    }
+
+    @Test
+    void testMakeExecutor() {
+        // make real object, which will invoke the real makeXxx() methods
+        PolicyNotifier policyNotifier = new PolicyNotifier(policyStatusService);
+        policyNotifier.start(makeParams(1, WINDOW_MS), new SimpleMeterRegistry());
+        assertThatCode(policyNotifier::awaitIdle).doesNotThrowAnyException();
+        policyNotifier.stop();
+    }
+
     /**
      * Tests publish(), when the notification is empty.
      */
@@ -144,6 +392,58 @@ class PolicyNotifierTest {
         verify(publisher).enqueue(any());
     }
 
+    @Test
+    void testPublishAggregated() {
+        notifier.start(makeParams(2, WINDOW_MS), new SimpleMeterRegistry());
+
+        PolicyNotification notif = new PolicyNotification();
+        notif.getAdded().add(new PolicyStatus());
+
+        notifier.publish(notif);
+        verify(aggregator).add(notif);
+        verify(publisher, never()).enqueue(any());
+
+        notifier.stop();
+        verify(aggregator).stop();
+
+        // published immediately once stopped
+        notifier.publish(notif);
+        verify(publisher).enqueue(any());
+    }
+
+    @Test
+    void testPublishNoDebounce() {
+        PdpParameters params = makeParams(2, WINDOW_MS);
+        params.setNotificationDebounceMs(0);
+        notifier.start(params, new SimpleMeterRegistry());
+
+        PolicyNotification notif = new PolicyNotification();
+        notif.getAdded().add(new PolicyStatus());
+
+        notifier.publish(notif);
+        verify(publisher).enqueue(any());
+        verify(aggregator, never()).add(any());
+
+        notifier.stop();
+        verify(aggregator, never()).stop();
+    }
+
+    @Test
+    void testMakeAggregator() {
+        // make real object, which will invoke the real makeXxx() methods
+        PolicyNotifier policyNotifier = new PolicyNotifier(policyStatusService);
+        policyNotifier.setPublisher(publisher);
+        policyNotifier.start(makeParams(0, WINDOW_MS), new SimpleMeterRegistry());
+
+        PolicyNotification notif = new PolicyNotification();
+        notif.getAdded().add(new PolicyStatus());
+        policyNotifier.publish(notif);
+
+        // pending notification is published when stopped
+        policyNotifier.stop();
+        verify(publisher).enqueue(any());
+    }
+
     @Test
     void testMakeDeploymentTracker() {
         // make real object, which will invoke the real makeXxx() methods
@@ -151,9 +451,16 @@ class PolicyNotifierTest {
         policyNotifier.setPublisher(publisher);
         policyNotifier.processResponse(PDP1, GROUP_A, Set.of(), Set.of());
 
-        verify(policyStatusService).getGroupPolicyStatus(GROUP_A);
+        verify(policyStatusService).getPdpPolicyStatus(GROUP_A, PDP1);
+        verify(policyStatusService).countOtherPdpPolicyStatus(GROUP_A, PDP1);
     }
 
+    private PdpParameters makeParams(int nthreads, long windowMs) {
+        var params = new PdpParameters();
+        params.setNotifierThreads(nthreads);
+        params.setNotifierBatchWindowMs(windowMs);
+        return params;
+    }
 
     private class MyNotifier extends PolicyNotifier {
 
@@ -166,5 +473,21 @@ class PolicyNotifierTest {
         protected DeploymentStatus makeDeploymentTracker() {
             return tracker;
         }
+
+        @Override
+        protected GroupSerialExecutor makeExecutor(int nthreads, MeterRegistry meterRegistry) {
+            return executor;
+        }
+
+        @Override
+        protected ScheduledExecutorService makeTimer() {
+            return timer;
+        }
+
+        @Override
+        protected PolicyNotificationAggregator makeAggregator(long debounceMs, long maxLatencyMs,
+                        MeterRegistry meterRegistry) {
+            return aggregator;
+        }
     }
 }
@@ -0,0 +1,172 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.pap.main.notification.StatusAction.Action;
+
+class StatusRecordMapTest {
+    private static final String PDP_A = "pdp-A";
+    private static final String PDP_B = "pdp-B";
+    private static final ToscaConceptIdentifier POLICY_A = new ToscaConceptIdentifier("policy-A", "1.0.0");
+    private static final ToscaConceptIdentifier POLICY_B = new ToscaConceptIdentifier("policy-B", "1.0.0");
+
+    private StatusRecordMap map;
+    private StatusKey keyAa;
+    private StatusKey keyAb;
+    private StatusKey keyBa;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        map = new StatusRecordMap();
+
+        keyAa = add(PDP_A, POLICY_A);
+        keyAb = add(PDP_A, POLICY_B);
+        keyBa = add(PDP_B, POLICY_A);
+    }
+
+    @Test
+    void testPut() {
+        assertThat(map).hasSize(3);
+        assertThat(map.getPdpKeys(PDP_A)).containsExactlyInAnyOrder(keyAa, keyAb);
+        assertThat(map.getPdpKeys(PDP_B)).containsExactly(keyBa);
+        assertThat(map.getPolicyKeys(POLICY_A)).containsExactlyInAnyOrder(keyAa, keyBa);
+        assertThat(map.getPolicyKeys(POLICY_B)).containsExactly(keyAb);
+        assertThat(map.getPolicies()).containsExactlyInAnyOrder(POLICY_A, POLICY_B);
+
+        // replacing a record leaves the indexes unchanged
+        map.put(keyAa, makeAction(PDP_A, POLICY_A));
+        assertThat(map).hasSize(3);
+        assertThat(map.getPdpKeys(PDP_A)).hasSize(2);
+
+        assertThat(map.getPdpKeys("unknown")).isEmpty();
+        assertThat(map.getPolicyKeys(new ToscaConceptIdentifier("unknown", "1.0.0"))).isEmpty();
+    }
+
+    @Test
+    void testPutUnchanged() {
+        map.clearChanged();
+
+        var keyBb = new StatusKey(PDP_B, POLICY_B);
+        assertThat(map.putUnchanged(keyBb, makeAction(PDP_B, POLICY_B))).isNull();
+        assertThat(map.putUnchanged(keyAa, makeAction(PDP_A, POLICY_A))).isNotNull();
+
+        assertThat(map).hasSize(4);
+        assertThat(map.getPdpKeys(PDP_B)).containsExactlyInAnyOrder(keyBa, keyBb);
+        assertThat(map.getPolicyKeys(POLICY_B)).containsExactlyInAnyOrder(keyAb, keyBb);
+        assertThat(map.getChangedPolicies()).isEmpty();
+    }
+
+    @Test
+    void testRemove() {
+        assertThat(map.remove(keyAa)).isNotNull();
+        assertThat(map.remove(keyAa)).isNull();
+        assertThat(map.remove("not a key")).isNull();
+
+        assertThat(map).hasSize(2);
+        assertThat(map.getPdpKeys(PDP_A)).containsExactly(keyAb);
+        assertThat(map.getPolicyKeys(POLICY_A)).containsExactly(keyBa);
+
+        map.remove(keyAb);
+        assertThat(map.getPolicies()).containsExactly(POLICY_A);
+    }
+
+    @Test
+    void testIteratorRemove() {
+        map.values().removeIf(action -> action.getStatus().getPdpId().equals(PDP_A));
+
+        assertThat(map).hasSize(1).containsKey(keyBa);
+        assertThat(map.getPdpKeys(PDP_A)).isEmpty();
+        assertThat(map.getPolicyKeys(POLICY_B)).isEmpty();
+        assertThat(map.getPolicyKeys(POLICY_A)).containsExactly(keyBa);
+    }
+
+    @Test
+    void testCompute() {
+        var keyBb = new StatusKey(PDP_B, POLICY_B);
+        map.compute(keyBb, (key, action) -> makeAction(PDP_B, POLICY_B));
+
+        assertThat(map.getPdpKeys(PDP_B)).containsExactlyInAnyOrder(keyBa, keyBb);
+        assertThat(map.getPolicyKeys(POLICY_B)).containsExactlyInAnyOrder(keyAb, keyBb);
+    }
+
+    @Test
+    void testClear() {
+        map.clear();
+        assertThat(map).isEmpty();
+        assertThat(map.getPdpKeys(PDP_A)).isEmpty();
+        assertThat(map.getPolicyKeys(POLICY_A)).isEmpty();
+
+        add(PDP_A, POLICY_A);
+        map.entrySet().clear();
+        assertThat(map).isEmpty();
+        assertThat(map.getPdpKeys(PDP_A)).isEmpty();
+    }
+
+    @Test
+    void testChangedPolicies() {
+        assertThat(map.getChangedPolicies()).containsExactlyInAnyOrder(POLICY_A, POLICY_B);
+
+        map.clearChanged();
+        assertThat(map.getChangedPolicies()).isEmpty();
+
+        map.markChanged(POLICY_B);
+        assertThat(map.getChangedPolicies()).containsExactly(POLICY_B);
+
+        map.clearChanged();
+        map.remove(keyBa);
+        assertThat(map.getChangedPolicies()).containsExactly(POLICY_A);
+
+        map.clearChanged();
+        map.values().removeIf(action -> action.getStatus().getPolicy().equals(POLICY_B));
+        assertThat(map.getChangedPolicies()).containsExactly(POLICY_B);
+
+        map.clearChanged();
+        map.clear();
+        assertThat(map.getChangedPolicies()).containsExactly(POLICY_A);
+    }
+
+    @Test
+    void testEquals() {
+        Map<StatusKey, StatusAction> other = Map.copyOf(map);
+        assertThat(map).isEqualTo(other);
+    }
+
+    private StatusKey add(String pdpId, ToscaConceptIdentifier policy) {
+        StatusAction action = makeAction(pdpId, policy);
+        var key = new StatusKey(action.getStatus());
+        map.put(key, action);
+        return key;
+    }
+
+    private StatusAction makeAction(String pdpId, ToscaConceptIdentifier policy) {
+        return new StatusAction(Action.UNCHANGED, PdpPolicyStatus.builder().pdpId(pdpId).policy(policy).build());
+    }
+}
@@ -55,6 +55,35 @@ class TestPdpParameters {
 
         // check default value
         assertEquals(600000L, new PdpParameters().getMaxMessageAgeMs());
+        assertEquals(30000L, new PdpParameters().getTopologyRefreshMs());
+        assertEquals(1000L, new PdpParameters().getLivenessFlushMs());
+        assertEquals(60000L, new PdpParameters().getDeploymentAggregatesRefreshMs());
+        assertEquals(4, new PdpParameters().getHeartbeatLanes());
+        assertEquals(4, new PdpParameters().getNotifierThreads());
+        assertEquals(100, new PdpParameters().getNotifierBatchWindowMs());
+        assertEquals(200, new PdpParameters().getNotifierMaxBatchSize());
+        assertEquals(5000L, new PdpParameters().getNotifierStopTimeoutMs());
+        assertEquals(200L, new PdpParameters().getNotificationDebounceMs());
+        assertEquals(2000L, new PdpParameters().getNotificationMaxLatencyMs());
+        assertEquals(4, new PdpParameters().getPdpPublisherLanes());
+        assertEquals(100, new PdpParameters().getPublisherMaxBatchSize());
+        assertEquals(1000, new PdpParameters().getNodeTemplateCacheMaxEntries());
+        assertEquals(30000L, new PdpParameters().getNodeTemplateCacheExpireMs());
+        assertEquals(30000L, new PdpParameters().getServiceTemplateSnapshotMaxAgeMs());
+    }
+
+    @Test
+    void testGetEffectiveLivenessFlushMs() {
+        PdpParameters params = new PdpParameters();
+        params.setHeartBeatMs(6000L);
+        assertEquals(1000L, params.getEffectiveLivenessFlushMs());
+
+        // bounded by the heart beat interval
+        params.setHeartBeatMs(1000L);
+        assertEquals(500L, params.getEffectiveLivenessFlushMs());
+
+        params.setHeartBeatMs(1L);
+        assertEquals(1L, params.getEffectiveLivenessFlushMs());
     }
 
     @Test
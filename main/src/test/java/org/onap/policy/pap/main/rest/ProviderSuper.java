@@ -58,6 +58,7 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
 import org.onap.policy.pap.main.PapConstants;
 import org.onap.policy.pap.main.comm.PdpModifyRequestMap;
 import org.onap.policy.pap.main.notification.PolicyNotifier;
+import org.onap.policy.pap.main.service.PdpGroupChanges;
 import org.onap.policy.pap.main.service.PdpGroupService;
 import org.onap.policy.pap.main.service.PolicyAuditService;
 import org.onap.policy.pap.main.service.PolicyStatusService;
@@ -91,6 +92,12 @@ public class ProviderSuper {
     @Captor
     private ArgumentCaptor<List<PdpGroup>> updateCaptor;
 
+    /**
+     * Used to capture input to dao.updatePdpGroupChanges().
+     */
+    @Captor
+    private ArgumentCaptor<List<PdpGroupChanges>> changesCaptor;
+
     protected Object lockit;
     protected PdpModifyRequestMap reqmap;
     protected ToscaPolicy policy1;
@@ -176,12 +183,21 @@ public class ProviderSuper {
     /**
      * Gets the input to the update() method.
      *
-     * @return the input that was passed to the dao.updatePdpGroups() method
+     * @return the groups that were passed to the dao.updatePdpGroupChanges() method
      */
     protected List<PdpGroup> getGroupUpdates() {
-        verify(pdpGroupService).updatePdpGroups(updateCaptor.capture());
+        return copyList(getGroupChanges().stream().map(PdpGroupChanges::getGroup).toList());
+    }
 
-        return copyList(updateCaptor.getValue());
+    /**
+     * Gets the changes that were passed to the dao.
+     *
+     * @return the input that was passed to the dao.updatePdpGroupChanges() method
+     */
+    protected List<PdpGroupChanges> getGroupChanges() {
+        verify(pdpGroupService).updatePdpGroupChanges(changesCaptor.capture());
+
+        return changesCaptor.getValue();
     }
 
     /**
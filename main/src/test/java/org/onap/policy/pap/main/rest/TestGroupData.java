@@ -21,17 +21,30 @@
 
 package org.onap.policy.pap.main.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pdp.concepts.Pdp;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpHealthStatus;
+import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.pap.main.service.PdpGroupChanges;
 
 class TestGroupData {
     private static final String NAME = "my-name";
+    private static final String PDP_TYPE1 = "type-1";
+    private static final String PDP_TYPE2 = "type-2";
+    private static final String VERSION = "1.0.0";
 
     private PdpGroup oldGroup;
     private PdpGroup newGroup;
@@ -101,4 +114,118 @@ class TestGroupData {
         assertThatIllegalArgumentException().isThrownBy(() -> data.update(newGroup))
                         .withMessage("expected group my-name, but received other");
     }
+
+    @Test
+    void testGetChangesNew() {
+        data = new GroupData(oldGroup, true);
+
+        PdpGroupChanges changes = data.getChanges();
+        assertSame(oldGroup, changes.getGroup());
+        assertTrue(changes.isGroupChanged());
+    }
+
+    @Test
+    void testGetChangesUnchanged() {
+        data = new GroupData(makeGroup());
+        data.update(data.getGroup());
+
+        PdpGroupChanges changes = data.getChanges();
+        assertFalse(changes.isGroupChanged());
+        assertThat(changes.getReplacedSubGroups()).isEmpty();
+        assertThat(changes.getModifiedSubGroups()).isEmpty();
+        assertThat(changes.getModifiedPdps()).isEmpty();
+    }
+
+    @Test
+    void testGetChangesGroupFields() {
+        data = new GroupData(makeGroup());
+
+        // group modified in place
+        PdpGroup group = data.getGroup();
+        group.setDescription("new description");
+        data.update(group);
+
+        assertTrue(data.getChanges().isGroupChanged());
+
+        // subgroup removed
+        data = new GroupData(makeGroup());
+        data.getGroup().getPdpSubgroups().remove(1);
+        data.update(data.getGroup());
+
+        assertTrue(data.getChanges().isGroupChanged());
+    }
+
+    @Test
+    void testGetChangesSubGroupFields() {
+        data = new GroupData(makeGroup());
+
+        PdpSubGroup subGroup = data.getGroup().getPdpSubgroups().get(1);
+        subGroup.getPolicies().add(new ToscaConceptIdentifier("policy-b", VERSION));
+        data.update(data.getGroup());
+
+        PdpGroupChanges changes = data.getChanges();
+        assertFalse(changes.isGroupChanged());
+        assertThat(changes.getReplacedSubGroups()).isEmpty();
+        assertThat(changes.getModifiedSubGroups()).containsExactly(subGroup);
+        assertThat(changes.getModifiedPdps()).isEmpty();
+    }
+
+    @Test
+    void testGetChangesPdps() {
+        data = new GroupData(makeGroup());
+
+        PdpSubGroup subGroup = data.getGroup().getPdpSubgroups().get(0);
+        Pdp pdp = subGroup.getPdpInstances().get(1);
+        pdp.setPdpState(PdpState.PASSIVE);
+        data.update(data.getGroup());
+
+        PdpGroupChanges changes = data.getChanges();
+        assertFalse(changes.isGroupChanged());
+        assertThat(changes.getReplacedSubGroups()).isEmpty();
+        assertThat(changes.getModifiedSubGroups()).isEmpty();
+        assertThat(changes.getModifiedPdps()).isEqualTo(Map.of(PDP_TYPE1, List.of(pdp)));
+    }
+
+    @Test
+    void testGetChangesPdpRemoved() {
+        data = new GroupData(makeGroup());
+
+        PdpSubGroup subGroup = data.getGroup().getPdpSubgroups().get(0);
+        subGroup.getPdpInstances().remove(0);
+        subGroup.getPolicies().clear();
+        data.update(data.getGroup());
+
+        // entire subgroup is replaced
+        PdpGroupChanges changes = data.getChanges();
+        assertFalse(changes.isGroupChanged());
+        assertThat(changes.getReplacedSubGroups()).containsExactly(subGroup);
+        assertThat(changes.getModifiedSubGroups()).isEmpty();
+        assertThat(changes.getModifiedPdps()).isEmpty();
+    }
+
+    private PdpGroup makeGroup() {
+        var group = new PdpGroup();
+        group.setName(NAME);
+        group.setVersion(VERSION);
+        group.setPdpGroupState(PdpState.ACTIVE);
+        group.setPdpSubgroups(new ArrayList<>(List.of(makeSubGroup(PDP_TYPE1), makeSubGroup(PDP_TYPE2))));
+        return group;
+    }
+
+    private PdpSubGroup makeSubGroup(String pdpType) {
+        var subGroup = new PdpSubGroup();
+        subGroup.setPdpType(pdpType);
+        subGroup.setSupportedPolicyTypes(new ArrayList<>(List.of(new ToscaConceptIdentifier("my-type", VERSION))));
+        subGroup.setPolicies(new ArrayList<>(List.of(new ToscaConceptIdentifier("policy-a", VERSION))));
+        subGroup.setPdpInstances(new ArrayList<>(List.of(makePdp(pdpType + "-pdp-1"), makePdp(pdpType + "-pdp-2"))));
+        return subGroup;
+    }
+
+    private Pdp makePdp(String instanceId) {
+        var pdp = new Pdp();
+        pdp.setInstanceId(instanceId);
+        pdp.setPdpState(PdpState.ACTIVE);
+        pdp.setHealthy(PdpHealthStatus.HEALTHY);
+        return pdp;
+    }
 }
@@ -30,7 +30,6 @@ import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.SyncInvoker;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.common.utils.report.HealthCheckReport;
-import org.onap.policy.models.base.PfModelRuntimeException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
@@ -45,7 +44,7 @@ class TestHealthCheckRestControllerV1 extends CommonPapRestServer {
     private static final String HEALTHCHECK_ENDPOINT = "healthcheck";
 
     @MockitoBean
-    private PolicyStatusProvider policyStatusProvider;
+    private PapDbHealthIndicator dbHealthIndicator;
 
     @Test
     void testSwagger() throws Exception {
@@ -54,6 +53,7 @@ class TestHealthCheckRestControllerV1 extends CommonPapRestServer {
 
     @Test
     void testHealthCheckSuccess() throws Exception {
+        when(dbHealthIndicator.isDbUp()).thenReturn(true);
         final Invocation.Builder invocationBuilder = sendRequest(HEALTHCHECK_ENDPOINT);
         final HealthCheckReport report = invocationBuilder.get(HealthCheckReport.class);
         validateHealthCheckReport(true, 200, ALIVE, report);
@@ -76,7 +76,7 @@ class TestHealthCheckRestControllerV1 extends CommonPapRestServer {
 
     @Test
     void testHealthCheckDbConnectionFailure() throws Exception {
-        when(policyStatusProvider.getPolicyStatus()).thenThrow(PfModelRuntimeException.class);
+        when(dbHealthIndicator.isDbUp()).thenReturn(false);
         final Invocation.Builder invocationBuilder = sendRequest(HEALTHCHECK_ENDPOINT);
         var response = invocationBuilder.get();
         var report = response.readEntity(HealthCheckReport.class);
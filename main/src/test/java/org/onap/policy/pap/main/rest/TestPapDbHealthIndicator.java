@@ -0,0 +1,106 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Status;
+
+class TestPapDbHealthIndicator {
+    private static final int TIMEOUT_SEC = 3;
+    private static final long CACHE_MS = 1000L;
+
+    private DataSource dataSource;
+    private Connection conn;
+    private long currentTimeMs;
+    private PapDbHealthIndicator indicator;
+
+    /**
+     * Sets up.
+     *
+     * @throws SQLException if an error occurs
+     */
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        conn = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(conn);
+        when(conn.isValid(TIMEOUT_SEC)).thenReturn(true);
+
+        currentTimeMs = 10000L;
+        indicator = new PapDbHealthIndicator(dataSource, TIMEOUT_SEC, CACHE_MS) {
+            @Override
+            protected long currentTimeMs() {
+                return currentTimeMs;
+            }
+        };
+    }
+
+    @Test
+    void testHealthUp() throws SQLException {
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(indicator.isDbUp()).isTrue();
+
+        verify(conn).isValid(TIMEOUT_SEC);
+        verify(conn).close();
+    }
+
+    @Test
+    void testHealthCached() throws SQLException {
+        assertThat(indicator.isDbUp()).isTrue();
+
+        // result is reused until it expires
+        when(conn.isValid(TIMEOUT_SEC)).thenReturn(false);
+        currentTimeMs += CACHE_MS - 1;
+        assertThat(indicator.isDbUp()).isTrue();
+        verify(dataSource, times(1)).getConnection();
+
+        // expired - checked again
+        currentTimeMs += 1;
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void testHealthNotValid() throws SQLException {
+        when(conn.isValid(TIMEOUT_SEC)).thenReturn(false);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(indicator.isDbUp()).isFalse();
+    }
+
+    @Test
+    void testHealthException() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("expected exception"));
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(indicator.health().getDetails()).containsKey("error");
+    }
+}
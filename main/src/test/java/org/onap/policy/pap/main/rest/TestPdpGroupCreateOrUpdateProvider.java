@@ -538,7 +538,7 @@ class TestPdpGroupCreateOrUpdateProvider extends ProviderSuper {
 
     private void assertNoGroupAction() {
         verify(pdpGroupService, never()).createPdpGroups(any());
-        verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(pdpGroupService, never()).updatePdpGroupChanges(any());
         verify(reqmap, never()).addRequest(any(), any());
     }
 
@@ -592,7 +592,7 @@ class TestPdpGroupDeployProvider extends ProviderSuper {
                 .hasMessageContaining("pdpTypeC").hasMessageContaining("different version already deployed");
 
         verify(pdpGroupService, never()).createPdpGroups(any());
-        verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(pdpGroupService, never()).updatePdpGroupChanges(any());
         verify(reqmap, never()).addRequest(any(PdpUpdate.class));
     }
 
@@ -607,7 +607,7 @@ class TestPdpGroupDeployProvider extends ProviderSuper {
                 .hasMessage("group " + GROUP1_NAME + " subgroup " + PDP1_TYPE + " has no active PDPs");
 
         verify(pdpGroupService, never()).createPdpGroups(any());
-        verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(pdpGroupService, never()).updatePdpGroupChanges(any());
         verify(reqmap, never()).addRequest(any(PdpUpdate.class));
     }
 
@@ -623,7 +623,7 @@ class TestPdpGroupDeployProvider extends ProviderSuper {
 
     private void assertNoGroupAction() {
         verify(pdpGroupService, never()).createPdpGroups(any());
-        verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(pdpGroupService, never()).updatePdpGroupChanges(any());
         verify(reqmap, never()).addRequest(any(), any());
     }
 
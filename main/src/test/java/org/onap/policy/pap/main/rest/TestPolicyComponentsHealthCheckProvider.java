@@ -22,9 +22,15 @@
 
 package org.onap.policy.pap.main.rest;
 
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.ws.rs.core.Response;
@@ -33,6 +39,8 @@ import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -98,6 +106,11 @@ class TestPolicyComponentsHealthCheckProvider {
 
     private PapParameterGroup savedPapParameterGroup;
 
+    @Mock
+    private ScheduledExecutorService refresher;
+
+    private long currentTimeMs;
+
     private PolicyComponentsHealthCheckProvider provider;
 
     AutoCloseable autoCloseable;
@@ -146,7 +159,8 @@ class TestPolicyComponentsHealthCheckProvider {
         clients.add(client2);
         clients.add(client3);
         PapParameterGroup papParameterGroup = ParameterService.get(PAP_GROUP_PARAMS_NAME);
-        provider = new PolicyComponentsHealthCheckProvider(papParameterGroup, pdpGroupService);
+        currentTimeMs = 10000L;
+        provider = new MyProvider(papParameterGroup);
         ReflectionTestUtils.setField(provider, "papParameterGroup", papParameterGroup);
         provider.initializeClientHealthCheckExecutorService();
         ReflectionTestUtils.setField(provider, "clients", clients);
@@ -235,6 +249,76 @@ class TestPolicyComponentsHealthCheckProvider {
         assertFalse(report.isHealthy());
     }
 
+    @Test
+    void testFetchPolicyComponentsHealthStatus_background() {
+        ReflectionTestUtils.setField(provider, "refreshMs", 1000L);
+        ReflectionTestUtils.setField(provider, "maxAgeMs", 5000L);
+
+        // first request builds the snapshot and starts the refresher
+        assertTrue((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+        verify(refresher).scheduleWithFixedDelay(any(), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        verify(client1).get();
+        verify(pdpGroupService).getPdpGroups();
+
+        // served from the snapshot
+        when(response1.getStatus()).thenReturn(HttpURLConnection.HTTP_INTERNAL_ERROR);
+        assertTrue((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+        verify(client1).get();
+        verify(pdpGroupService).getPdpGroups();
+
+        // refreshed in the background
+        provider.refresh();
+        assertFalse((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+        verify(client1, times(2)).get();
+
+        // PAP itself is always checked
+        when(response1.getStatus()).thenReturn(HttpURLConnection.HTTP_OK);
+        provider.refresh();
+        when(papActivator.isAlive()).thenReturn(false);
+        assertFalse((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+        when(papActivator.isAlive()).thenReturn(true);
+        assertTrue((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+
+        // stale snapshot is rebuilt
+        when(response1.getStatus()).thenReturn(HttpURLConnection.HTTP_INTERNAL_ERROR);
+        currentTimeMs += 5001L;
+        assertFalse((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+        verify(client1, times(4)).get();
+
+        // refresher is started only once
+        verify(refresher).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testFetchPolicyComponentsHealthStatus_refreshException() {
+        ReflectionTestUtils.setField(provider, "refreshMs", 1000L);
+        ReflectionTestUtils.setField(provider, "maxAgeMs", 5000L);
+        assertTrue((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+
+        // previous snapshot is retained
+        when(pdpGroupService.getPdpGroups()).thenThrow(new IllegalStateException("expected exception"));
+        assertThatCode(provider::refresh).doesNotThrowAnyException();
+        assertTrue((Boolean) callFetchPolicyComponentsHealthStatus().get(HEALTHY));
+    }
+
+    @Test
+    void testFetchPolicyComponentsHealthStatus_clientTimeout() {
+        ReflectionTestUtils.setField(provider, "clientTimeoutMs", 50L);
+        when(client1.get()).thenAnswer(args -> {
+            Thread.sleep(10000L);
+            return response1;
+        });
+
+        Map<String, Object> result = callFetchPolicyComponentsHealthStatus();
+        assertFalse((Boolean) result.get(HEALTHY));
+        HealthCheckReport report = (HealthCheckReport) result.get(CLIENT_1);
+        assertFalse(report.isHealthy());
+        assertEquals(HttpURLConnection.HTTP_GATEWAY_TIMEOUT, report.getCode());
+
+        // other clients are unaffected
+        assertTrue(((HealthCheckReport) result.get("client2")).isHealthy());
+    }
+
     private Map<String, Object> callFetchPolicyComponentsHealthStatus() {
 
         return provider.fetchPolicyComponentsHealthStatus().getRight();
@@ -265,4 +349,20 @@ class TestPolicyComponentsHealthCheckProvider {
         response.setTopics(List.of("POLICY-PDP-PAP"));
         return response;
     }
+
+    private class MyProvider extends PolicyComponentsHealthCheckProvider {
+        public MyProvider(PapParameterGroup papParameterGroup) {
+            super(papParameterGroup, pdpGroupService);
+        }
+
+        @Override
+        protected ScheduledExecutorService makeRefresher() {
+            return refresher;
+        }
+
+        @Override
+        protected long currentTimeMs() {
+            return currentTimeMs;
+        }
+    }
 }
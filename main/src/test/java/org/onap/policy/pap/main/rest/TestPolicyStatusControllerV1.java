@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.SyncInvoker;
 import jakarta.ws.rs.core.Response;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -97,6 +98,36 @@ class TestPolicyStatusControllerV1 extends CommonPapRestServer {
         checkEmptyRegexRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?regex=");
     }
 
+    @Test
+    void testGetStatusOfPoliciesStream() throws Exception {
+        Response rawresp = sendRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "?stream=true").get();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        assertThat(rawresp.readEntity(String.class)).startsWith("[").endsWith("]");
+
+        // nothing in the group - streams an empty array
+        for (String uri : List.of(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?stream=true",
+            POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?stream=true&regex=my.(1)name")) {
+
+            rawresp = sendRequest(uri).get();
+            assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+            assertThat(rawresp.readEntity(String.class)).isEqualTo("[]");
+        }
+
+        checkInvalidRegexRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?stream=true&regex=my.(1name");
+    }
+
+    @Test
+    void testGetStatusOfPoliciesPage() throws Exception {
+        Response rawresp = sendRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "?limit=10").get();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+
+        checkRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?limit=10");
+        checkRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?limit=10&regex=my.(1)name");
+
+        rawresp = sendRequest(POLICY_DEPLOYMENT_STATUS_ENDPOINT + "/my-group-name?cursor=invalid").get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawresp.getStatus());
+    }
+
     private void checkRequest(String uri) throws Exception {
         Invocation.Builder invocationBuilder = sendRequest(uri);
         Response rawresp = invocationBuilder.get();
@@ -23,8 +23,13 @@
 package org.onap.policy.pap.main.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -32,17 +37,21 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.common.utils.services.Registry;
+import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.pap.concepts.PolicyStatus;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus.PdpPolicyStatusBuilder;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus.State;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifierOptVersion;
+import org.onap.policy.pap.main.rest.PolicyStatusProvider.StatusPage;
+import org.onap.policy.pap.main.service.PolicyDeploymentAggregates;
 
 class TestPolicyStatusProvider extends ProviderSuper {
     private static final String MY_GROUP = "MyGroup";
@@ -233,6 +242,110 @@ class TestPolicyStatusProvider extends ProviderSuper {
         assertThat(actual).hasSize(3);
     }
 
+    @Test
+    void testGetPolicyStatusPage() {
+        PdpPolicyStatusBuilder builder = PdpPolicyStatus.builder().pdpGroup(MY_GROUP).pdpType(MY_PDP_TYPE)
+            .policyType(POLICY_TYPE).deploy(true).state(State.WAITING);
+
+        PdpPolicyStatus statusA = builder.policy(POLICY_A).pdpId(PDP_A).build();
+        PdpPolicyStatus statusB = builder.policy(POLICY_B).pdpId(PDP_B).build();
+        PdpPolicyStatus statusC = builder.policy(POLICY_C).pdpId(PDP_C).build();
+
+        when(policyStatusService.getPolicyStatusPage(MY_GROUP, "", null, null, 2))
+            .thenReturn(List.of(statusA, statusB));
+        when(policyStatusService.getPolicyStatusPage(MY_GROUP, "", POLICY_B, PDP_B, 2)).thenReturn(List.of(statusC));
+        when(policyStatusService.getPolicyStatusPage(MY_GROUP, "MyPolicy", null, null, 2))
+            .thenReturn(List.of(statusA, statusB));
+
+        // full page - has a cursor
+        StatusPage page = prov.getPolicyStatusPage(MY_GROUP, null, null, 2);
+        assertThat(page.getStatuses()).containsExactly(statusA, statusB);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        // partial page - no cursor
+        page = prov.getPolicyStatusPage(MY_GROUP, null, page.getNextCursor(), 2);
+        assertThat(page.getStatuses()).containsExactly(statusC);
+        assertThat(page.getNextCursor()).isNull();
+
+        // regex is applied after the page is read, thus the cursor is still returned
+        page = prov.getPolicyStatusPage(MY_GROUP, "MyPolicy[AC]", null, 2);
+        assertThat(page.getStatuses()).containsExactly(statusA);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void testGetPolicyStatusPageInvalid() {
+        assertThatThrownBy(() -> prov.getPolicyStatusPage(MY_GROUP, null, null, 0))
+            .isInstanceOf(PfModelRuntimeException.class).hasMessageContaining("limit");
+
+        assertThatThrownBy(() -> prov.getPolicyStatusPage(MY_GROUP, null, "abc", 2))
+            .isInstanceOf(PfModelRuntimeException.class).hasMessageContaining("invalid cursor");
+
+        assertThatThrownBy(() -> prov.getPolicyStatusPage(MY_GROUP, null, "a.b.!", 2))
+            .isInstanceOf(PfModelRuntimeException.class).hasMessageContaining("invalid cursor");
+    }
+
+    @Test
+    void testStreamPolicyStatus() {
+        buildPolicyStatusToReturn1();
+
+        doAnswer(args -> {
+            Consumer<PdpPolicyStatus> consumer = args.getArgument(2);
+            String prefix = args.getArgument(1);
+            policyStatusService.getAllPolicyStatus().stream()
+                .filter(status -> status.getPolicy().getName().startsWith(prefix)).forEach(consumer);
+            return null;
+        }).when(policyStatusService).streamPolicyStatus(eq(MY_GROUP), any(), any());
+
+        List<PdpPolicyStatus> result = new ArrayList<>();
+        prov.streamPolicyStatus(MY_GROUP, null).forEach(result::add);
+        assertThat(result).hasSize(5);
+
+        result.clear();
+        prov.streamPolicyStatus(MY_GROUP, ".*A").forEach(result::add);
+        assertThat(result).hasSize(2).allMatch(status -> status.getPolicy().equals(POLICY_A));
+
+        result.clear();
+        prov.streamPolicyStatus(MY_GROUP, "MyPolicy[AB]").forEach(result::add);
+        assertThat(result).hasSize(4);
+        verify(policyStatusService).streamPolicyStatus(eq(MY_GROUP), eq("MyPolicy"), any());
+    }
+
+    @Test
+    void testGetPolicyStatusByRegexInGroup() {
+        buildPolicyStatusToReturn1();
+        when(policyStatusService.getGroupPolicyStatus(MY_GROUP, "MyPolicy"))
+            .thenReturn(new ArrayList<>(policyStatusService.getAllPolicyStatus()));
+
+        assertThat(prov.getPolicyStatusByRegex(MY_GROUP, "MyPolicy[AC]")).hasSize(3);
+        assertThat(prov.getPolicyStatusByRegex(MY_GROUP, "MyPolicyZ")).isEmpty();
+    }
+
+    @Test
+    void testGetLiteralPrefix() {
+        assertThat(PolicyStatusProvider.getLiteralPrefix("onap.restart.tca")).isEqualTo("onap");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("^onap\\.restart\\.tca$")).isEqualTo("onap.restart.tca");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("my_policy-[0-9]+")).isEqualTo("my_policy-");
+
+        // quantified characters are not part of the prefix
+        assertThat(PolicyStatusProvider.getLiteralPrefix("abc?d")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("abc*")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("abc{2}")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab\\.+")).isEqualTo("ab");
+
+        // character classes and flags
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab\\dc")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("(?i)abc")).isEmpty();
+
+        // alternation
+        assertThat(PolicyStatusProvider.getLiteralPrefix("abc|abd")).isEmpty();
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab(c|d)")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab[|]c")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab[]|]c")).isEqualTo("ab");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab\\|c")).isEqualTo("ab|c");
+        assertThat(PolicyStatusProvider.getLiteralPrefix("ab\\|c|d")).isEmpty();
+    }
+
     private void buildPolicyStatusToReturn1() {
 
         PdpPolicyStatusBuilder builder = PdpPolicyStatus.builder().pdpGroup(MY_GROUP).pdpType(MY_PDP_TYPE)
@@ -244,14 +357,22 @@ class TestPolicyStatusProvider extends ProviderSuper {
         builder.deploy(true);
 
         // @formatter:off
-        when(policyStatusService.getAllPolicyStatus()).thenReturn(List.of(
+        List<PdpPolicyStatus> statuses = List.of(
                         builder.policy(POLICY_A).pdpId(PDP_A).build(),
                         builder.policy(POLICY_A).pdpId(PDP_B).build(),
                         notDeployed,
                         builder.policy(POLICY_C).pdpId(PDP_A).build(),
                         builder.policy(POLICY_B).pdpId(PDP_B).state(State.SUCCESS).build()
-                    ));
+                    );
         // @formatter:on
+
+        when(policyStatusService.getAllPolicyStatus()).thenReturn(statuses);
+
+        // aggregate the same records
+        var aggregates = new PolicyDeploymentAggregates(Long.MAX_VALUE);
+        aggregates.load(statuses, aggregates.getModCount());
+        when(policyStatusService.getDeploymentStatus(any())).thenAnswer(
+            args -> aggregates.getDeploymentStatus(args.getArgument(0)));
     }
 
     private ToscaConceptIdentifierOptVersion buildPolicyStatusToReturn2() {
@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -112,7 +113,7 @@ class TestProviderBase extends ProviderSuper {
     @Test
     void testProcess_PfRtEx() {
         PfModelRuntimeException ex = new PfModelRuntimeException(Status.BAD_REQUEST, EXPECTED_EXCEPTION);
-        when(pdpGroupService.updatePdpGroups(any())).thenThrow(ex);
+        doThrow(ex).when(pdpGroupService).updatePdpGroupChanges(any());
 
         assertThatThrownBy(() -> prov.process(loadEmptyRequest(), this::handle)).isSameAs(ex);
     }
@@ -120,7 +121,7 @@ class TestProviderBase extends ProviderSuper {
     @Test
     void testProcess_RuntimeEx() {
         RuntimeException ex = new RuntimeException(EXPECTED_EXCEPTION);
-        when(pdpGroupService.updatePdpGroups(any())).thenThrow(ex);
+        doThrow(ex).when(pdpGroupService).updatePdpGroupChanges(any());
 
         assertThatThrownBy(() -> prov.process(loadEmptyRequest(), this::handle)).isInstanceOf(PfModelException.class)
                         .hasMessage("request failed").hasCause(ex);
@@ -263,7 +264,7 @@ class TestProviderBase extends ProviderSuper {
         prov.process(loadRequest(), this::handle);
 
         verify(pdpGroupService, never()).createPdpGroups(any());
-        verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(pdpGroupService, never()).updatePdpGroupChanges(any());
         verify(reqmap, never()).addRequest(any(PdpUpdate.class));
     }
 
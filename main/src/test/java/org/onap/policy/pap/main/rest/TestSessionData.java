@@ -54,6 +54,7 @@ import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.pap.concepts.PolicyNotification;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
 import org.onap.policy.models.pdp.concepts.PdpStateChange;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
 import org.onap.policy.models.pdp.concepts.PdpUpdate;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifierOptVersion;
@@ -61,6 +62,7 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaTypedEntityFilter;
 import org.onap.policy.pap.main.notification.DeploymentStatus;
+import org.onap.policy.pap.main.service.PdpGroupChanges;
 import org.onap.policy.pap.main.service.PolicyStatusService;
 
 class TestSessionData extends ProviderSuper {
@@ -517,6 +519,34 @@ class TestSessionData extends ProviderSuper {
         assertSame(newgrp3, updates.get(1));
     }
 
+    @Test
+    void testUpdateDb_SubGroupChanges() {
+        var subGroup = new PdpSubGroup();
+        subGroup.setPdpType(PDP_TYPE);
+        subGroup.setPolicies(new ArrayList<>());
+        group1.setPdpSubgroups(new ArrayList<>(List.of(subGroup)));
+
+        // force the group into the cache
+        when(pdpGroupService.getFilteredPdpGroups(any())).thenReturn(List.of(group1));
+        PdpGroup group = session.getActivePdpGroupsByPolicyType(type).get(0);
+
+        // add a policy to the subgroup
+        PdpSubGroup newSubGroup = group.getPdpSubgroups().get(0);
+        newSubGroup.getPolicies().add(new ToscaConceptIdentifier(POLICY_NAME, POLICY_VERSION));
+        session.update(group);
+
+        session.updateDb(new PolicyNotification());
+
+        // only the subgroup should be written
+        List<PdpGroupChanges> changes = getGroupChanges();
+        assertEquals(1, changes.size());
+        assertSame(group, changes.get(0).getGroup());
+        assertFalse(changes.get(0).isGroupChanged());
+        assertThat(changes.get(0).getModifiedSubGroups()).containsExactly(newSubGroup);
+        assertThat(changes.get(0).getReplacedSubGroups()).isEmpty();
+        assertThat(changes.get(0).getModifiedPdps()).isEmpty();
+    }
+
     @Test
     void testUpdateDb_Empty() {
         // force data into the cache
@@ -528,7 +558,7 @@ class TestSessionData extends ProviderSuper {
         assertThat(notif.getAdded()).isEmpty();
 
         verify(pdpGroupService, never()).createPdpGroups(any());
-        verify(pdpGroupService, never()).updatePdpGroups(any());
+        verify(pdpGroupService, never()).updatePdpGroupChanges(any());
     }
 
     @Test
@@ -24,12 +24,16 @@ package org.onap.policy.pap.main.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfKey;
+import org.onap.policy.models.base.PfReferenceKey;
 import org.onap.policy.models.pdp.concepts.Pdp;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
 import org.onap.policy.models.pdp.concepts.PdpGroupFilter;
@@ -119,6 +123,71 @@ class PdpGroupServiceTest extends CommonPapRestServer {
         assertThat(pdpGroups.get(0).getName()).isEqualTo(DEFAULT_GROUP);
     }
 
+    @Test
+    void testGetFilteredPdpGroups() throws Exception {
+        pdpGroupService.createPdpGroups(groupsToCreate.getGroups());
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().build())).containsExactlyInAnyOrder(DEFAULT_GROUP,
+            CREATE_GROUPS);
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().name(CREATE_GROUPS).build()))
+            .containsExactly(CREATE_GROUPS);
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().name("unknown").build())).isEmpty();
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().groupState(PdpState.PASSIVE).build()))
+            .containsExactly(CREATE_GROUPS);
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().pdpType("apex").build()))
+            .containsExactly(DEFAULT_GROUP);
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().pdpType("unknown").build())).isEmpty();
+
+        // criteria may be satisfied by different subgroups
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().pdpType("drools")
+            .policyTypeList(List.of(new ToscaConceptIdentifier("onap.policies.Naming", "1.0.0"))).build()))
+            .containsExactly(DEFAULT_GROUP);
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder()
+            .policyTypeList(List.of(new ToscaConceptIdentifier("onap.policies.Naming", "2.0.0"),
+                new ToscaConceptIdentifier("onap.policies.monitoring.cdap.tca.hi.lo.app", "1.0.0")))
+            .build())).containsExactly(CREATE_GROUPS);
+
+        // exact match is not done by the query, but must still be honored
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder()
+            .policyTypeList(List.of(new ToscaConceptIdentifier("onap.policies.controlloop.operational.common.Apex",
+                "1.0.0"), new ToscaConceptIdentifier("onap.policies.Naming", "1.0.0")))
+            .matchPolicyTypesExactly(true).build())).isEmpty();
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().policyList(List.of(
+            new ToscaConceptIdentifier("onap.policies.controlloop.operational.common.apex.SampleDomain", "1.0.0")))
+            .build())).containsExactly(DEFAULT_GROUP);
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder()
+            .policyList(List.of(new ToscaConceptIdentifier("unknown", "1.0.0"))).build())).isEmpty();
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().pdpState(PdpState.ACTIVE).build()))
+            .containsExactly(CREATE_GROUPS);
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder().pdpState(PdpState.TERMINATED).build())).isEmpty();
+
+        // supported types having wildcards match by prefix, regardless of version
+        PdpGroups wildCard = coder.decode(ResourceUtils.getResourceAsString("simpleDeploy/createGroupsWildCard.json"),
+            PdpGroups.class);
+        wildCard.getGroups().forEach(group -> group.getPdpSubgroups()
+            .forEach(subGroup -> subGroup.getPdpInstances().forEach(pdp -> {
+                pdp.setPdpState(PdpState.ACTIVE);
+                pdp.setHealthy(PdpHealthStatus.HEALTHY);
+            })));
+        pdpGroupService.createPdpGroups(wildCard.getGroups());
+
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder()
+            .policyTypeList(List.of(new ToscaConceptIdentifier("some.type", "9.9.9"))).build()))
+            .containsExactly("groupA");
+        assertThat(getFilteredGroupNames(PdpGroupFilter.builder()
+            .policyTypeList(List.of(new ToscaConceptIdentifier("something.type", "2.3.4"))).build())).isEmpty();
+    }
+
+    private List<String> getFilteredGroupNames(PdpGroupFilter filter) {
+        return pdpGroupService.getFilteredPdpGroups(filter).stream().map(PdpGroup::getName).toList();
+    }
+
     @Test
     void testPdpGroupsCrudFailure() {
         PdpState pdpState = null;
@@ -169,6 +238,40 @@ class PdpGroupServiceTest extends CommonPapRestServer {
         pdpGroupService.deletePdpGroup(CREATE_GROUPS);
     }
 
+    @Test
+    void testUpdatePdpLiveness() {
+        assertThatThrownBy(() -> pdpGroupService.updatePdpLiveness(null))
+            .hasMessage(String.format(FIELD_IS_NULL, "pdps"));
+
+        pdpGroupService.createPdpGroups(groupsToCreate.getGroups());
+        PdpGroup pdpGroup = pdpGroupService.getPdpGroups(CREATE_GROUPS).get(0);
+        Pdp pdp = pdpGroup.getPdpSubgroups().get(0).getPdpInstances().get(0);
+        assertThat(pdp.getHealthy()).isEqualTo(PdpHealthStatus.HEALTHY);
+
+        pdp.setHealthy(PdpHealthStatus.NOT_HEALTHY);
+        pdp.setMessage("my message");
+        pdp.setLastUpdate(Instant.now());
+
+        var pdpKey = new PfReferenceKey(CREATE_GROUPS, PfKey.NULL_KEY_VERSION, "pdpTypeA", pdp.getInstanceId());
+        var unknownKey = new PfReferenceKey(CREATE_GROUPS, PfKey.NULL_KEY_VERSION, "pdpTypeA", "unknown");
+        assertThat(pdpGroupService.updatePdpLiveness(Map.of(pdpKey, pdp, unknownKey, new Pdp(pdp)))).isEqualTo(1);
+
+        // invalid data is skipped, without failing the other updates
+        var invalid = new Pdp(pdp);
+        invalid.setHealthy(null);
+        var invalidKey = new PfReferenceKey(CREATE_GROUPS, PfKey.NULL_KEY_VERSION, "pdpTypeA", "pdpAA_2");
+        assertThat(pdpGroupService.updatePdpLiveness(Map.of(pdpKey, pdp, invalidKey, invalid))).isEqualTo(1);
+        assertThat(pdpGroupService.getPdpGroups(CREATE_GROUPS).get(0).getPdpSubgroups().get(0).getPdpInstances())
+            .allMatch(instance -> instance.getHealthy() != null);
+
+        Pdp updatedPdp = pdpGroupService.getPdpGroups(CREATE_GROUPS).get(0).getPdpSubgroups().get(0)
+            .getPdpInstances().get(0);
+        assertThat(updatedPdp.getHealthy()).isEqualTo(PdpHealthStatus.NOT_HEALTHY);
+        assertThat(updatedPdp.getMessage()).isEqualTo("my message");
+        assertThat(updatedPdp.getLastUpdate()).isNotNull();
+        pdpGroupService.deletePdpGroup(CREATE_GROUPS);
+    }
+
     @Test
     void testUpdateSubGroup() {
         assertThatThrownBy(() -> pdpGroupService.updatePdpSubGroup(null, null))
@@ -193,4 +296,51 @@ class PdpGroupServiceTest extends CommonPapRestServer {
         assertThat(updatGroup.getPdpSubgroups().get(0).getDesiredInstanceCount()).isEqualTo(1);
         pdpGroupService.deletePdpGroup(CREATE_GROUPS);
     }
+
+    @Test
+    void testUpdatePdpGroupChanges() {
+        assertThatThrownBy(() -> pdpGroupService.updatePdpGroupChanges(null))
+            .hasMessage(String.format(FIELD_IS_NULL, "changes"));
+
+        pdpGroupService.createPdpGroups(groupsToCreate.getGroups());
+        PdpGroup pdpGroup = pdpGroupService.getPdpGroups(CREATE_GROUPS).get(0);
+        PdpSubGroup subGroupA = pdpGroup.getPdpSubgroups().get(0);
+        PdpSubGroup subGroupB = pdpGroup.getPdpSubgroups().get(1);
+
+        // modify a subgroup's fields and a PDP of the other subgroup
+        subGroupA.getPolicies().add(new ToscaConceptIdentifier("newPolicy", "1.0.0"));
+        subGroupA.setDesiredInstanceCount(1);
+        Pdp pdp = subGroupB.getPdpInstances().get(0);
+        pdp.setHealthy(PdpHealthStatus.NOT_HEALTHY);
+
+        var changes = new PdpGroupChanges(pdpGroup, false);
+        changes.getModifiedSubGroups().add(subGroupA);
+        changes.addModifiedPdp(subGroupB.getPdpType(), pdp);
+        pdpGroupService.updatePdpGroupChanges(List.of(changes));
+
+        PdpGroup updatedGroup = pdpGroupService.getPdpGroups(CREATE_GROUPS).get(0);
+        assertThat(updatedGroup.getPdpSubgroups().get(0).getPolicies())
+            .contains(new ToscaConceptIdentifier("newPolicy", "1.0.0"));
+        assertThat(updatedGroup.getPdpSubgroups().get(0).getDesiredInstanceCount()).isEqualTo(1);
+        assertThat(updatedGroup.getPdpSubgroups().get(0).getPdpInstances())
+            .isEqualTo(subGroupA.getPdpInstances());
+        assertThat(updatedGroup.getPdpSubgroups().get(1).getPdpInstances().get(0).getHealthy())
+            .isEqualTo(PdpHealthStatus.NOT_HEALTHY);
+
+        // group's own fields changed - the whole group is saved
+        pdpGroup.setDescription("new description");
+        pdpGroupService.updatePdpGroupChanges(List.of(new PdpGroupChanges(pdpGroup, true)));
+        assertThat(pdpGroupService.getPdpGroups(CREATE_GROUPS).get(0).getDescription())
+            .isEqualTo("new description");
+
+        // subgroup is not in the DB
+        var unknownSubGroup = new PdpSubGroup(subGroupA);
+        unknownSubGroup.setPdpType("unknownType");
+        var badChanges = new PdpGroupChanges(pdpGroup, false);
+        badChanges.getModifiedSubGroups().add(unknownSubGroup);
+        assertThatThrownBy(() -> pdpGroupService.updatePdpGroupChanges(List.of(badChanges)))
+            .hasMessageContaining("PDP sub group does not exist");
+
+        pdpGroupService.deletePdpGroup(CREATE_GROUPS);
+    }
 }
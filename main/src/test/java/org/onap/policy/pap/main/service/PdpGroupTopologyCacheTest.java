@@ -0,0 +1,257 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpHealthStatus;
+import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.pap.main.parameters.CommonTestData;
+import org.onap.policy.pap.main.service.PdpGroupTopologyCache.SubGroupEntry;
+
+class PdpGroupTopologyCacheTest {
+    private static final String GROUP = "my-group";
+    private static final String PDP_TYPE = "my-type";
+    private static final String PDP1 = "pdp-1";
+    private static final String PDP2 = "pdp-2";
+
+    private long currentTime;
+    private PdpGroupTopologyCache cache;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        currentTime = 1000L;
+        cache = new PdpGroupTopologyCache(new CommonTestData().getPapParameterGroup(1)) {
+            @Override
+            protected long currentTimeMs() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    void testLoad() {
+        assertThat(cache.isStale()).isTrue();
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE)).isNull();
+
+        cache.load(List.of(makeGroup(PdpState.ACTIVE)), cache.getModCount());
+        assertThat(cache.isStale()).isFalse();
+
+        SubGroupEntry entry = cache.getActiveSubGroup(GROUP, PDP_TYPE);
+        assertThat(entry).isNotNull();
+        assertThat(entry.getGroupName()).isEqualTo(GROUP);
+        assertThat(entry.getSubGroup().getPdpInstances()).isEmpty();
+        assertThat(entry.getPdp(PDP1)).isNotNull();
+        assertThat(entry.getPdp(PDP2)).isNull();
+        assertThat(entry.getPdp(null)).isNull();
+
+        assertThat(cache.getActiveSubGroup(GROUP, "unknown-type")).isNull();
+        assertThat(cache.getActiveSubGroup(null, PDP_TYPE)).isNull();
+        assertThat(cache.getActiveSubGroup(GROUP, null)).isNull();
+
+        // reload after the refresh interval
+        currentTime += new CommonTestData().getPapParameterGroup(1).getPdpParameters().getTopologyRefreshMs();
+        assertThat(cache.isStale()).isTrue();
+    }
+
+    @Test
+    void testLoadDiscardedAfterModification() {
+        long modCount = cache.getModCount();
+        cache.putGroup(makeGroup(PdpState.ACTIVE));
+
+        // load started before the modification - should be discarded
+        cache.load(List.of(), modCount);
+        assertThat(cache.isStale()).isTrue();
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE)).isNotNull();
+    }
+
+    @Test
+    void testReloadIfStale() {
+        AtomicInteger loadCount = new AtomicInteger();
+        Supplier<List<PdpGroup>> loader = () -> {
+            loadCount.incrementAndGet();
+            return List.of(makeGroup(PdpState.ACTIVE));
+        };
+
+        cache.reloadIfStale(loader);
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE)).isNotNull();
+
+        // not stale - not reloaded
+        cache.reloadIfStale(loader);
+        assertThat(loadCount.get()).isEqualTo(1);
+
+        currentTime += new CommonTestData().getPapParameterGroup(1).getPdpParameters().getTopologyRefreshMs();
+        cache.reloadIfStale(loader);
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testReloadIfStaleSingleFlight() {
+        cache.load(List.of(makeGroup(PdpState.ACTIVE)), cache.getModCount());
+        currentTime += new CommonTestData().getPapParameterGroup(1).getPdpParameters().getTopologyRefreshMs();
+
+        AtomicInteger loadCount = new AtomicInteger();
+        AtomicReference<SubGroupEntry> seen = new AtomicReference<>();
+
+        cache.reloadIfStale(() -> {
+            loadCount.incrementAndGet();
+
+            // another thread should neither wait nor reload, but should still see the group
+            var thread = new Thread(() -> {
+                cache.reloadIfStale(() -> {
+                    loadCount.incrementAndGet();
+                    return List.of();
+                });
+                seen.set(cache.getActiveSubGroup(GROUP, PDP_TYPE));
+            });
+            thread.start();
+            assertThatCode(() -> thread.join(5000)).doesNotThrowAnyException();
+
+            return List.of(makeGroup(PdpState.ACTIVE));
+        });
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(seen.get()).isNotNull();
+        assertThat(cache.isStale()).isFalse();
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.load(List.of(makeGroup(PdpState.ACTIVE)), cache.getModCount());
+        cache.invalidate();
+        assertThat(cache.isStale()).isTrue();
+    }
+
+    @Test
+    void testInactiveGroup() {
+        cache.putGroup(makeGroup(PdpState.PASSIVE));
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE)).isNull();
+    }
+
+    @Test
+    void testRemoveGroup() {
+        cache.putGroup(makeGroup(PdpState.ACTIVE));
+        cache.removeGroup(GROUP);
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE)).isNull();
+    }
+
+    @Test
+    void testPutSubGroup() {
+        // group not cached - ignored
+        PdpSubGroup subGroup = makeSubGroup();
+        subGroup.getPdpInstances().add(makePdp(PDP2));
+        cache.putSubGroup(GROUP, subGroup);
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE)).isNull();
+
+        cache.putGroup(makeGroup(PdpState.ACTIVE));
+        SubGroupEntry original = cache.getActiveSubGroup(GROUP, PDP_TYPE);
+
+        cache.putSubGroup(GROUP, subGroup);
+        SubGroupEntry entry = cache.getActiveSubGroup(GROUP, PDP_TYPE);
+        assertThat(entry).isNotSameAs(original);
+        assertThat(entry.getPdp(PDP2)).isNotNull();
+
+        // original entry is unchanged
+        assertThat(original.getPdp(PDP2)).isNull();
+    }
+
+    @Test
+    void testPutPdp() {
+        // group not cached - ignored
+        cache.putPdp(GROUP, PDP_TYPE, makePdp(PDP1));
+
+        cache.putGroup(makeGroup(PdpState.ACTIVE));
+
+        // subgroup not cached - ignored
+        cache.putPdp(GROUP, "unknown-type", makePdp(PDP1));
+
+        Pdp pdp = makePdp(PDP1);
+        pdp.setHealthy(PdpHealthStatus.NOT_HEALTHY);
+        cache.putPdp(GROUP, PDP_TYPE, pdp);
+
+        // changing the original should not affect the cache
+        pdp.setHealthy(PdpHealthStatus.HEALTHY);
+
+        assertThat(cache.getActiveSubGroup(GROUP, PDP_TYPE).getPdp(PDP1).getHealthy())
+            .isEqualTo(PdpHealthStatus.NOT_HEALTHY);
+    }
+
+    @Test
+    void testToSubGroup() {
+        cache.putGroup(makeGroup(PdpState.ACTIVE));
+        SubGroupEntry entry = cache.getActiveSubGroup(GROUP, PDP_TYPE);
+
+        PdpSubGroup copy = entry.toSubGroup();
+        assertThat(copy.getPdpType()).isEqualTo(PDP_TYPE);
+        assertThat(copy.getPdpInstances()).hasSize(1);
+
+        // changing the copy should not affect the cache
+        copy.getPdpInstances().add(makePdp(PDP2));
+        copy.getPdpInstances().get(0).setHealthy(PdpHealthStatus.NOT_HEALTHY);
+
+        assertThat(entry.getPdp(PDP2)).isNull();
+        assertThat(entry.getPdp(PDP1).getHealthy()).isEqualTo(PdpHealthStatus.HEALTHY);
+        assertThat(entry.toSubGroup().getPdpInstances()).hasSize(1);
+    }
+
+    private PdpGroup makeGroup(PdpState state) {
+        PdpSubGroup subGroup = makeSubGroup();
+        subGroup.getPdpInstances().add(makePdp(PDP1));
+
+        var group = new PdpGroup();
+        group.setName(GROUP);
+        group.setPdpGroupState(state);
+        group.setPdpSubgroups(new ArrayList<>(List.of(subGroup)));
+        return group;
+    }
+
+    private PdpSubGroup makeSubGroup() {
+        var subGroup = new PdpSubGroup();
+        subGroup.setPdpType(PDP_TYPE);
+        subGroup.setPolicies(new ArrayList<>());
+        subGroup.setSupportedPolicyTypes(new ArrayList<>());
+        subGroup.setPdpInstances(new ArrayList<>());
+        return subGroup;
+    }
+
+    private Pdp makePdp(String name) {
+        var pdp = new Pdp();
+        pdp.setInstanceId(name);
+        pdp.setPdpState(PdpState.ACTIVE);
+        pdp.setHealthy(PdpHealthStatus.HEALTHY);
+        return pdp;
+    }
+}
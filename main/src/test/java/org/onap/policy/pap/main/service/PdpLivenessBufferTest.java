@@ -0,0 +1,180 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.onap.policy.models.base.PfKey;
+import org.onap.policy.models.base.PfReferenceKey;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.models.pdp.enums.PdpHealthStatus;
+import org.onap.policy.pap.main.parameters.CommonTestData;
+
+class PdpLivenessBufferTest {
+    private static final String GROUP = "my-group";
+    private static final String PDP_TYPE = "my-type";
+    private static final String PDP1 = "pdp-1";
+    private static final String PDP2 = "pdp-2";
+
+    private PdpGroupService pdpGroupService;
+    private PdpGroupTopologyCache topologyCache;
+    private ScheduledExecutorService timer;
+    private PdpLivenessBuffer buffer;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        pdpGroupService = mock(PdpGroupService.class);
+        topologyCache = mock(PdpGroupTopologyCache.class);
+        timer = mock(ScheduledExecutorService.class);
+
+        buffer = new PdpLivenessBuffer(new CommonTestData().getPapParameterGroup(1), pdpGroupService,
+            topologyCache) {
+            @Override
+            protected ScheduledExecutorService makeTimer() {
+                return timer;
+            }
+        };
+    }
+
+    @Test
+    void testStartStop() {
+        buffer.start();
+        verify(timer).scheduleWithFixedDelay(any(), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP1, PdpHealthStatus.HEALTHY));
+        buffer.stop();
+        verify(timer).shutdown();
+
+        // remaining updates should have been flushed
+        verify(pdpGroupService).updatePdpLiveness(any());
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void testAdd() {
+        Pdp pdp = makePdp(PDP1, PdpHealthStatus.HEALTHY);
+        buffer.add(GROUP, PDP_TYPE, pdp);
+
+        verify(topologyCache).putPdp(GROUP, PDP_TYPE, pdp);
+        assertThat(buffer.size()).isEqualTo(1);
+
+        // latest update wins
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP1, PdpHealthStatus.NOT_HEALTHY));
+        assertThat(buffer.size()).isEqualTo(1);
+
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP2, PdpHealthStatus.HEALTHY));
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush() {
+        // nothing to flush
+        buffer.flush();
+        verify(pdpGroupService, never()).updatePdpLiveness(any());
+
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP1, PdpHealthStatus.HEALTHY));
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP1, PdpHealthStatus.NOT_HEALTHY));
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP2, PdpHealthStatus.HEALTHY));
+
+        buffer.flush();
+        assertThat(buffer.size()).isZero();
+
+        ArgumentCaptor<Map<PfReferenceKey, Pdp>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(pdpGroupService).updatePdpLiveness(captor.capture());
+
+        Map<PfReferenceKey, Pdp> batch = captor.getValue();
+        assertThat(batch).hasSize(2);
+        assertThat(batch.get(makeKey(PDP1)).getHealthy()).isEqualTo(PdpHealthStatus.NOT_HEALTHY);
+        assertThat(batch.get(makeKey(PDP2)).getHealthy()).isEqualTo(PdpHealthStatus.HEALTHY);
+    }
+
+    @Test
+    void testFlushException() {
+        when(pdpGroupService.updatePdpLiveness(any())).thenThrow(new RuntimeException("expected exception"));
+
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP1, PdpHealthStatus.HEALTHY));
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP2, PdpHealthStatus.HEALTHY));
+        buffer.flush();
+
+        // retried individually, then discarded, rather than retained forever
+        verify(pdpGroupService).updatePdpLiveness(Map.of(makeKey(PDP1), makePdp(PDP1, PdpHealthStatus.HEALTHY)));
+        verify(pdpGroupService, times(3)).updatePdpLiveness(any());
+        assertThat(buffer.size()).isZero();
+
+        // nothing written - heart beats must record their data again
+        assertThat(buffer.getLastFailureMs()).isPositive();
+    }
+
+    @Test
+    void testFlushBadEntry() {
+        // fails whenever PDP1's update is included
+        when(pdpGroupService.updatePdpLiveness(any())).thenAnswer(args -> {
+            Map<PfReferenceKey, Pdp> batch = args.getArgument(0);
+            if (batch.containsKey(makeKey(PDP1))) {
+                throw new RuntimeException("expected exception");
+            }
+            return batch.size();
+        });
+
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP1, PdpHealthStatus.HEALTHY));
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP2, PdpHealthStatus.HEALTHY));
+        buffer.flush();
+
+        // PDP2's update is still written, while PDP1's is discarded
+        verify(pdpGroupService).updatePdpLiveness(Map.of(makeKey(PDP2), makePdp(PDP2, PdpHealthStatus.HEALTHY)));
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.getLastFailureMs()).isZero();
+
+        // the bad update does not affect the next flush
+        buffer.add(GROUP, PDP_TYPE, makePdp(PDP2, PdpHealthStatus.NOT_HEALTHY));
+        buffer.flush();
+        verify(pdpGroupService, times(4)).updatePdpLiveness(any());
+    }
+
+    private PfReferenceKey makeKey(String pdpName) {
+        return new PfReferenceKey(GROUP, PfKey.NULL_KEY_VERSION, PDP_TYPE, pdpName);
+    }
+
+    private Pdp makePdp(String name, PdpHealthStatus health) {
+        var pdp = new Pdp();
+        pdp.setInstanceId(name);
+        pdp.setHealthy(health);
+        return pdp;
+    }
+}
@@ -0,0 +1,290 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pap.concepts.PolicyStatus;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
+import org.onap.policy.models.pdp.concepts.PdpPolicyStatus.State;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+class PolicyDeploymentAggregatesTest {
+    private static final String PDP_A = "pdp-A";
+    private static final String PDP_B = "pdp-B";
+    private static final String PDP_C = "pdp-C";
+    private static final String GROUP = "my-group";
+    private static final ToscaConceptIdentifier POLICY_TYPE = new ToscaConceptIdentifier("my-type", "1.0.0");
+    private static final ToscaConceptIdentifier POLICY_A = new ToscaConceptIdentifier("policy-A", "1.0.0");
+    private static final ToscaConceptIdentifier POLICY_B = new ToscaConceptIdentifier("policy-B", "1.0.0");
+    private static final long REFRESH_MS = 1000L;
+
+    private long currentTime;
+    private PolicyDeploymentAggregates aggregates;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        currentTime = 10000L;
+        aggregates = new PolicyDeploymentAggregates(REFRESH_MS) {
+            @Override
+            protected long currentTimeMs() {
+                return currentTime;
+            }
+        };
+    }
+
+    @Test
+    void testLoad() {
+        assertThat(aggregates.isStale()).isTrue();
+
+        // @formatter:off
+        assertThat(aggregates.load(List.of(
+                        makeStatus(PDP_A, POLICY_A, true, State.SUCCESS),
+                        makeStatus(PDP_B, POLICY_A, true, State.WAITING),
+                        makeStatus(PDP_A, POLICY_B, false, State.WAITING)),
+                    aggregates.getModCount())).isTrue();
+        // @formatter:on
+
+        assertThat(aggregates.isStale()).isFalse();
+
+        // undeployed policy is not included
+        List<PolicyStatus> result = getAll();
+        assertThat(result).hasSize(1);
+        assertCounts(result.get(0), POLICY_A, 1, 0, 1);
+        assertThat(result.get(0).getPolicyType()).isEqualTo(POLICY_TYPE);
+    }
+
+    @Test
+    void testLoadModified() {
+        long modCount = aggregates.getModCount();
+        aggregates.apply(List.of(), List.of(), List.of());
+
+        assertThat(aggregates.load(List.of(makeStatus(PDP_A, POLICY_A, true, State.SUCCESS)), modCount)).isFalse();
+        assertThat(aggregates.isStale()).isTrue();
+    }
+
+    @Test
+    void testApply() {
+        load(makeStatus(PDP_A, POLICY_A, true, State.WAITING));
+
+        aggregates.apply(List.of(makeStatus(PDP_B, POLICY_A, true, State.WAITING)),
+            List.of(makeStatus(PDP_A, POLICY_A, true, State.FAILURE)), List.of());
+        assertThat(aggregates.isStale()).isFalse();
+        assertCounts(getAll().get(0), POLICY_A, 0, 1, 1);
+
+        // changed to undeploy - no longer counted
+        aggregates.apply(List.of(), List.of(makeStatus(PDP_A, POLICY_A, false, State.WAITING)),
+            List.of(makeStatus(PDP_B, POLICY_A, true, State.WAITING)));
+        assertThat(aggregates.isStale()).isFalse();
+        assertThat(getAll()).isEmpty();
+
+        aggregates.apply(List.of(), List.of(), List.of(makeStatus(PDP_A, POLICY_A, false, State.WAITING)));
+        assertThat(aggregates.isStale()).isFalse();
+        assertThat(getAll()).isEmpty();
+    }
+
+    @Test
+    void testApplyInconsistent() {
+        var status = makeStatus(PDP_A, POLICY_A, true, State.WAITING);
+
+        // create an existing record
+        load(status);
+        aggregates.apply(List.of(status), List.of(), List.of());
+        assertThat(aggregates.isStale()).isTrue();
+
+        // update an unknown record
+        load(status);
+        aggregates.apply(List.of(), List.of(makeStatus(PDP_B, POLICY_A, true, State.SUCCESS)), List.of());
+        assertThat(aggregates.isStale()).isTrue();
+
+        // delete an unknown record
+        load(status);
+        aggregates.apply(List.of(), List.of(), List.of(makeStatus(PDP_B, POLICY_A, true, State.SUCCESS)));
+        assertThat(aggregates.isStale()).isTrue();
+
+        // ignored while stale
+        aggregates.apply(List.of(), List.of(), List.of(status));
+        assertThat(aggregates.isStale()).isTrue();
+    }
+
+    @Test
+    void testInvalidate() {
+        load(makeStatus(PDP_A, POLICY_A, true, State.WAITING));
+        long modCount = aggregates.getModCount();
+
+        aggregates.invalidate();
+        assertThat(aggregates.isStale()).isTrue();
+        assertThat(aggregates.getModCount()).isNotEqualTo(modCount);
+    }
+
+    @Test
+    void testIsStaleRefresh() {
+        load(makeStatus(PDP_A, POLICY_A, true, State.WAITING));
+
+        currentTime += REFRESH_MS - 1;
+        assertThat(aggregates.isStale()).isFalse();
+
+        // changes are still applied until it is reloaded
+        aggregates.apply(List.of(makeStatus(PDP_B, POLICY_A, true, State.WAITING)), List.of(), List.of());
+        assertThat(aggregates.isStale()).isFalse();
+
+        currentTime++;
+        assertThat(aggregates.isStale()).isTrue();
+
+        load(makeStatus(PDP_A, POLICY_A, true, State.WAITING));
+        assertThat(aggregates.isStale()).isFalse();
+    }
+
+    @Test
+    void testSubtractPdps() {
+        var statusAa = makeStatus(PDP_A, POLICY_A, true, State.SUCCESS);
+        var statusAb = makeStatus(PDP_A, POLICY_B, false, State.WAITING);
+        var statusBa = makeStatus(PDP_B, POLICY_A, true, State.SUCCESS);
+        var otherGroup = makeStatus(PDP_C, POLICY_A, true, State.SUCCESS);
+        otherGroup.setPdpGroup("other-group");
+
+        // ignored while stale
+        aggregates.subtractPdps(GROUP, List.of(PDP_A), Map.of(), 1);
+        assertThat(aggregates.isStale()).isTrue();
+
+        load(statusAa, statusAb, statusBa, otherGroup);
+        long modCount = aggregates.getModCount();
+
+        Map<PdpPolicyStatus, Long> expected = Map.of(toCountKey(statusAa), 1L, toCountKey(statusAb), 1L);
+        aggregates.subtractPdps(GROUP, List.of(PDP_A, PDP_C), expected, 2);
+        assertThat(aggregates.isStale()).isFalse();
+        assertThat(aggregates.getModCount()).isNotEqualTo(modCount);
+        assertCounts(getAll().get(0), POLICY_A, 2, 0, 0);
+
+        // the records are gone, thus creating them again is consistent
+        aggregates.apply(List.of(statusAa), List.of(), List.of());
+        assertThat(aggregates.isStale()).isFalse();
+        assertCounts(getAll().get(0), POLICY_A, 3, 0, 0);
+    }
+
+    @Test
+    void testSubtractPdpsMismatch() {
+        var statusAa = makeStatus(PDP_A, POLICY_A, true, State.SUCCESS);
+
+        // DB deleted a different number of records
+        load(statusAa);
+        aggregates.subtractPdps(GROUP, List.of(PDP_A), Map.of(toCountKey(statusAa), 1L), 2);
+        assertThat(aggregates.isStale()).isTrue();
+
+        // counts differ from what was removed
+        load(statusAa);
+        aggregates.subtractPdps(GROUP, List.of(PDP_A), Map.of(toCountKey(statusAa), 2L), 1);
+        assertThat(aggregates.isStale()).isTrue();
+    }
+
+    @Test
+    void testSubtractTracksUpdates() {
+        var statusAa = makeStatus(PDP_A, POLICY_A, true, State.SUCCESS);
+        var statusAb = makeStatus(PDP_A, POLICY_B, false, State.WAITING);
+        load(statusAa, statusAb);
+
+        // move a record to another group - it must no longer be found under the old one
+        var moved = makeStatus(PDP_A, POLICY_B, false, State.SUCCESS);
+        moved.setPdpGroup("other-group");
+        aggregates.apply(List.of(), List.of(moved), List.of());
+        aggregates.apply(List.of(), List.of(), List.of(statusAa));
+
+        aggregates.subtractPdps(GROUP, List.of(PDP_A), Map.of(), 0);
+        aggregates.subtractUndeployments(GROUP, POLICY_B, Map.of(), 0);
+        assertThat(aggregates.isStale()).isFalse();
+
+        aggregates.subtractUndeployments("other-group", POLICY_B, Map.of(toCountKey(moved), 1L), 1);
+        assertThat(aggregates.isStale()).isFalse();
+
+        // everything is gone, so re-creating both records is consistent
+        aggregates.apply(List.of(statusAa, statusAb), List.of(), List.of());
+        assertThat(aggregates.isStale()).isFalse();
+        assertCounts(getAll().get(0), POLICY_A, 1, 0, 0);
+    }
+
+    @Test
+    void testSubtractUndeployments() {
+        var deployA = makeStatus(PDP_A, POLICY_A, true, State.SUCCESS);
+        var undeployB = makeStatus(PDP_A, POLICY_B, false, State.SUCCESS);
+        var undeployB2 = makeStatus(PDP_B, POLICY_B, false, State.SUCCESS);
+
+        load(deployA, undeployB, undeployB2);
+        aggregates.subtractUndeployments(GROUP, POLICY_B, Map.of(toCountKey(undeployB), 2L), 2);
+        assertThat(aggregates.isStale()).isFalse();
+        assertCounts(getAll().get(0), POLICY_A, 1, 0, 0);
+
+        // nothing left to delete
+        aggregates.subtractUndeployments(GROUP, POLICY_B, Map.of(), 0);
+        assertThat(aggregates.isStale()).isFalse();
+
+        // DB deleted a record that was not known
+        aggregates.subtractUndeployments(GROUP, POLICY_B, Map.of(), 1);
+        assertThat(aggregates.isStale()).isTrue();
+    }
+
+    @Test
+    void testGetDeploymentStatus() {
+        load(makeStatus(PDP_A, POLICY_A, true, State.SUCCESS), makeStatus(PDP_A, POLICY_B, true, State.SUCCESS));
+
+        List<PolicyStatus> result = aggregates.getDeploymentStatus(POLICY_B::equals);
+        assertThat(result).hasSize(1);
+        assertCounts(result.get(0), POLICY_B, 1, 0, 0);
+
+        // copies are returned
+        result.get(0).setSuccessCount(10);
+        assertCounts(aggregates.getDeploymentStatus(POLICY_B::equals).get(0), POLICY_B, 1, 0, 0);
+    }
+
+    private void load(PdpPolicyStatus... statuses) {
+        aggregates.load(List.of(statuses), aggregates.getModCount());
+    }
+
+    private List<PolicyStatus> getAll() {
+        return aggregates.getDeploymentStatus(policy -> true).stream()
+            .sorted(Comparator.comparing(PolicyStatus::getPolicyId)).toList();
+    }
+
+    private void assertCounts(PolicyStatus status, ToscaConceptIdentifier policy, int success, int failure,
+                    int incomplete) {
+        assertThat(status.getPolicy()).isEqualTo(policy);
+        assertThat(status.getSuccessCount()).isEqualTo(success);
+        assertThat(status.getFailureCount()).isEqualTo(failure);
+        assertThat(status.getIncompleteCount()).isEqualTo(incomplete);
+    }
+
+    private PdpPolicyStatus toCountKey(PdpPolicyStatus status) {
+        return PdpPolicyStatus.builder().pdpGroup(status.getPdpGroup()).policy(status.getPolicy())
+            .policyType(status.getPolicyType()).deploy(status.isDeploy()).state(status.getState()).build();
+    }
+
+    private PdpPolicyStatus makeStatus(String pdpId, ToscaConceptIdentifier policy, boolean deploy, State state) {
+        return PdpPolicyStatus.builder().pdpGroup(GROUP).pdpType("my-pdp-type").pdpId(pdpId).policy(policy)
+            .policyType(POLICY_TYPE).deploy(deploy).state(state).build();
+    }
+}
@@ -26,11 +26,14 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.pap.concepts.PolicyStatus;
 import org.onap.policy.models.pdp.concepts.PdpPolicyStatus;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifierOptVersion;
@@ -49,6 +52,9 @@ class PolicyStatusServiceTest extends CommonPapRestServer {
     @Autowired
     private PolicyStatusService policyStatusService;
 
+    @Autowired
+    private PolicyDeploymentAggregates deploymentAggregates;
+
     private PdpPolicyStatus.PdpPolicyStatusBuilder statusBuilder;
 
     private List<PdpPolicyStatus> statusList = new ArrayList<>();
@@ -122,6 +128,234 @@ class PolicyStatusServiceTest extends CommonPapRestServer {
         assertThat(policyStatusService.getAllPolicyStatus(GROUP_A, myOtherPolicy)).isEmpty();
     }
 
+    @Test
+    void testGetPdpPolicyStatus() {
+        assertThatThrownBy(() -> policyStatusService.getPdpPolicyStatus(null, "pdp1"))
+            .hasMessage("pdpGroup is marked non-null but is null");
+
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        assertThat(policyStatusService.getPdpPolicyStatus(GROUP_A, "pdp1")).hasSize(1).first()
+            .extracting(PdpPolicyStatus::getPolicy).isEqualTo(MY_POLICY);
+        assertThat(policyStatusService.getPdpPolicyStatus(GROUP_B, "pdp1")).isEmpty();
+    }
+
+    @Test
+    void testCountOtherPdpPolicyStatus() {
+        assertThatThrownBy(() -> policyStatusService.countOtherPdpPolicyStatus(GROUP_A, null))
+            .hasMessage("pdpId is marked non-null but is null");
+
+        statusList = new ArrayList<>(createStatusList());
+        statusList.add(statusBuilder.pdpGroup(GROUP_A).pdpId("pdp6").policy(MY_POLICY2).build());
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        Map<PdpPolicyStatus, Long> counts = policyStatusService.countOtherPdpPolicyStatus(GROUP_A, "pdp1");
+        assertThat(counts).hasSize(2);
+
+        PdpPolicyStatus key = statusBuilder.pdpGroup(GROUP_A).pdpId(null).pdpType(null).policy(MY_POLICY2).build();
+        assertThat(counts).containsEntry(key, 2L);
+        assertThat(counts.keySet()).allMatch(status -> status.getPdpId() == null)
+            .noneMatch(status -> MY_POLICY.equals(status.getPolicy()));
+    }
+
+    @Test
+    void testGetPdpPolicyStatusMultiple() {
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        assertThat(policyStatusService.getPdpPolicyStatus(GROUP_A, List.of("pdp1", "pdp2", "pdp4")))
+            .extracting(PdpPolicyStatus::getPdpId).containsExactlyInAnyOrder("pdp1", "pdp2");
+        assertThat(policyStatusService.getPdpPolicyStatus(GROUP_A, List.of())).isEmpty();
+    }
+
+    @Test
+    void testCountOtherPdpPolicyStatusMultiple() {
+        statusList = new ArrayList<>(createStatusList());
+        statusList.add(statusBuilder.pdpGroup(GROUP_A).pdpId("pdp6").policy(MY_POLICY2).build());
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        Map<PdpPolicyStatus, Long> counts = policyStatusService.countOtherPdpPolicyStatus(GROUP_A,
+            List.of("pdp1", "pdp2"));
+
+        PdpPolicyStatus key = statusBuilder.pdpGroup(GROUP_A).pdpId(null).pdpType(null).policy(MY_POLICY2).build();
+        assertThat(counts).hasSize(2).containsEntry(key, 1L);
+        assertThat(counts.keySet()).noneMatch(status -> MY_POLICY.equals(status.getPolicy()));
+
+        // nothing excluded
+        assertThat(policyStatusService.countOtherPdpPolicyStatus(GROUP_A, List.of()))
+            .isEqualTo(policyStatusService.countGroupPolicyStatus(GROUP_A));
+    }
+
+    @Test
+    void testCountPdpPolicyStatus() {
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        Map<PdpPolicyStatus, Long> counts = policyStatusService.countGroupPolicyStatus(GROUP_A);
+        assertThat(counts).hasSize(3).allSatisfy((status, count) -> assertThat(count).isEqualTo(1L));
+
+        counts = policyStatusService.countPdpPolicyStatus(GROUP_A, List.of("pdp1", "pdp2", "pdp4"));
+        assertThat(counts).hasSize(2);
+
+        assertThat(policyStatusService.countPdpPolicyStatus(GROUP_A, List.of())).isEmpty();
+    }
+
+    @Test
+    void testDeletePdpPolicyStatus() {
+        statusList = new ArrayList<>(createStatusList());
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        assertThat(policyStatusService.deletePdpPolicyStatus(GROUP_A, List.of(), Map.of())).isZero();
+
+        // load the aggregates
+        assertThat(policyStatusService.getDeploymentStatus(MY_POLICY::equals)).hasSize(1).first()
+            .extracting(PolicyStatus::getSuccessCount).isEqualTo(2);
+
+        // pdp4 is in a different group
+        List<String> pdpIds = List.of("pdp1", "pdp2", "pdp4");
+        Map<PdpPolicyStatus, Long> expected = policyStatusService.countPdpPolicyStatus(GROUP_A, pdpIds);
+        assertThat(policyStatusService.deletePdpPolicyStatus(GROUP_A, pdpIds, expected)).isEqualTo(2);
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A)).hasSize(1);
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_B)).hasSize(2);
+
+        // the deleted records are subtracted from the aggregates, rather than reloading them
+        assertThat(deploymentAggregates.isStale()).isFalse();
+        assertThat(policyStatusService.getDeploymentStatus(MY_POLICY::equals)).hasSize(1).first()
+            .extracting(PolicyStatus::getSuccessCount).isEqualTo(1);
+
+        PdpPolicyStatus undeploy = statusBuilder.pdpGroup(GROUP_A).pdpId("pdp6").policy(MY_POLICY2).deploy(false)
+            .build();
+        policyStatusService.cudPolicyStatus(List.of(undeploy), null, null);
+
+        expected = new HashMap<>(policyStatusService.countGroupPolicyStatus(GROUP_A));
+        expected.keySet().removeIf(status -> status.isDeploy() || !MY_POLICY2.equals(status.getPolicy()));
+        assertThat(policyStatusService.deleteUndeploymentPolicyStatus(GROUP_A, MY_POLICY2, expected)).isEqualTo(1);
+        assertThat(deploymentAggregates.isStale()).isFalse();
+
+        assertThat(policyStatusService.deleteUndeploymentPolicyStatus(GROUP_A, MY_POLICY2, Map.of())).isZero();
+        assertThat(deploymentAggregates.isStale()).isFalse();
+
+        // counts that do not match what was deleted - aggregates must be reloaded
+        assertThat(policyStatusService.deletePdpPolicyStatus(GROUP_A, List.of("pdp3"), Map.of())).isEqualTo(1);
+        assertThat(deploymentAggregates.isStale()).isTrue();
+
+        // only delete the records that remain
+        statusList.removeIf(status -> GROUP_A.equals(status.getPdpGroup()));
+    }
+
+    @Test
+    void testGetDeploymentStatus() {
+        assertThat(policyStatusService.getDeploymentStatus(policy -> true)).isEmpty();
+
+        // aggregates are updated as the records are created, updated, and deleted
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        List<PolicyStatus> result = policyStatusService.getDeploymentStatus(MY_POLICY::equals);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getSuccessCount()).isEqualTo(2);
+
+        PdpPolicyStatus failed = statusBuilder.pdpGroup(GROUP_A).pdpId("pdp1").policy(MY_POLICY)
+            .state(PdpPolicyStatus.State.FAILURE).build();
+        policyStatusService.cudPolicyStatus(null, List.of(failed), null);
+
+        result = policyStatusService.getDeploymentStatus(MY_POLICY::equals);
+        assertThat(result.get(0).getSuccessCount()).isEqualTo(1);
+        assertThat(result.get(0).getFailureCount()).isEqualTo(1);
+
+        assertThat(policyStatusService.getDeploymentStatus(policy -> true)).hasSize(3);
+    }
+
+    @Test
+    void testCudPolicyStatusManyInGroup() {
+        statusList = new ArrayList<>(createStatusList());
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        // several records of group A are changed at once, along with one of group B
+        PdpPolicyStatus failed1 = statusBuilder.pdpGroup(GROUP_A).pdpId("pdp1").policy(MY_POLICY)
+            .state(PdpPolicyStatus.State.FAILURE).build();
+        PdpPolicyStatus failed2 = statusBuilder.pdpGroup(GROUP_A).pdpId("pdp2").policy(MY_POLICY2)
+            .state(PdpPolicyStatus.State.FAILURE).build();
+        PdpPolicyStatus failed4 = statusBuilder.pdpGroup(GROUP_B).pdpId("pdp4").policy(MY_POLICY)
+            .state(PdpPolicyStatus.State.FAILURE).build();
+        PdpPolicyStatus deleted = statusList.get(2);
+
+        policyStatusService.cudPolicyStatus(null, List.of(failed1, failed2, failed4), List.of(deleted));
+        statusList.remove(deleted);
+
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A)).hasSize(2)
+            .allMatch(status -> status.getState() == PdpPolicyStatus.State.FAILURE);
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_B)).extracting(PdpPolicyStatus::getState)
+            .containsExactlyInAnyOrder(PdpPolicyStatus.State.FAILURE, PdpPolicyStatus.State.SUCCESS);
+    }
+
+    @Test
+    void testGetPolicyStatusPage() {
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        // ordered by policy name, then version, then PDP
+        List<PdpPolicyStatus> page = policyStatusService.getPolicyStatusPage(null, "", null, null, 2);
+        assertThat(page).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp1", "pdp4");
+
+        page = policyStatusService.getPolicyStatusPage(null, "", MY_POLICY, "pdp4", 2);
+        assertThat(page).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp3", "pdp2");
+
+        page = policyStatusService.getPolicyStatusPage(null, "", MY_POLICY2, "pdp2", 2);
+        assertThat(page).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp5");
+
+        page = policyStatusService.getPolicyStatusPage(GROUP_A, "", null, null, 2);
+        assertThat(page).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp1", "pdp3");
+
+        page = policyStatusService.getPolicyStatusPage(GROUP_A, "", page.get(1).getPolicy(), "pdp3", 2);
+        assertThat(page).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp2");
+
+        page = policyStatusService.getPolicyStatusPage(null, MY_POLICY2.getName(), null, null, 10);
+        assertThat(page).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp2", "pdp5");
+    }
+
+    @Test
+    void testStreamPolicyStatus() {
+        assertThatThrownBy(() -> policyStatusService.streamPolicyStatus(null, "", null))
+            .hasMessage("consumer is marked non-null but is null");
+
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        List<PdpPolicyStatus> result = new ArrayList<>();
+        policyStatusService.streamPolicyStatus(null, "", result::add);
+        assertThat(result).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp1", "pdp4", "pdp3", "pdp2",
+            "pdp5");
+
+        result.clear();
+        policyStatusService.streamPolicyStatus(GROUP_B, "", result::add);
+        assertThat(result).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp4", "pdp5");
+
+        result.clear();
+        policyStatusService.streamPolicyStatus(null, MY_POLICY2.getName(), result::add);
+        assertThat(result).extracting(PdpPolicyStatus::getPdpId).containsExactly("pdp2", "pdp5");
+    }
+
+    @Test
+    void testGetGroupPolicyStatusWithPrefix() {
+        assertThatThrownBy(() -> policyStatusService.getGroupPolicyStatus(GROUP_A, null))
+            .hasMessage("namePrefix is marked non-null but is null");
+
+        statusList = createStatusList();
+        policyStatusService.cudPolicyStatus(statusList, null, null);
+
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "")).hasSize(3);
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "MyPolicy")).hasSize(3);
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "MyPolicyB")).hasSize(1);
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "Other")).isEmpty();
+
+        // LIKE wildcards in the prefix are literal
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "My_olicy")).isEmpty();
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "My%")).isEmpty();
+        assertThat(policyStatusService.getGroupPolicyStatus(GROUP_A, "My!")).isEmpty();
+    }
+
     @Test
     void testCudPolicyStatus() {
         assertThatCode(() -> policyStatusService.cudPolicyStatus(null, null, null))
@@ -0,0 +1,156 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+
+class SubGroupPolicyCacheTest {
+    private static final String GROUP1 = "group-1";
+    private static final String GROUP2 = "group-2";
+    private static final String PDP_TYPE = "my-type";
+    private static final String VERSION = "1.0.0";
+
+    private SubGroupPolicyCache cache;
+    private AtomicInteger resolveCount;
+    private Function<PdpSubGroup, List<ToscaPolicy>> resolver;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        cache = new SubGroupPolicyCache();
+        resolveCount = new AtomicInteger();
+
+        resolver = subGroup -> {
+            resolveCount.incrementAndGet();
+            return subGroup.getPolicies().stream().map(this::makePolicy).toList();
+        };
+    }
+
+    @Test
+    void testGetPolicies() {
+        PdpSubGroup subGroup = makeSubGroup("policy-a", "policy-b");
+
+        List<ToscaPolicy> policies = cache.getPolicies(GROUP1, subGroup, resolver);
+        assertThat(policies).hasSize(2);
+        assertThat(resolveCount.get()).isEqualTo(1);
+
+        // reused
+        List<ToscaPolicy> policies2 = cache.getPolicies(GROUP1, makeSubGroup("policy-a", "policy-b"), resolver);
+        assertThat(policies2).isEqualTo(policies).isNotSameAs(policies);
+        assertThat(resolveCount.get()).isEqualTo(1);
+
+        // the returned list may be modified without affecting the cache
+        policies2.clear();
+        assertThat(cache.getPolicies(GROUP1, subGroup, resolver)).hasSize(2);
+        assertThat(resolveCount.get()).isEqualTo(1);
+
+        // different group - resolved again
+        cache.getPolicies(GROUP2, subGroup, resolver);
+        assertThat(resolveCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetPoliciesListChanged() {
+        cache.getPolicies(GROUP1, makeSubGroup("policy-a"), resolver);
+
+        List<ToscaPolicy> policies = cache.getPolicies(GROUP1, makeSubGroup("policy-a", "policy-c"), resolver);
+        assertThat(policies).hasSize(2);
+        assertThat(resolveCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetPoliciesNullList() {
+        PdpSubGroup subGroup = makeSubGroup();
+        subGroup.setPolicies(null);
+
+        cache.getPolicies(GROUP1, subGroup, sub -> {
+            resolveCount.incrementAndGet();
+            return new ArrayList<>();
+        });
+        assertThat(resolveCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidate() {
+        PdpSubGroup subGroup = makeSubGroup("policy-a");
+        cache.getPolicies(GROUP1, subGroup, resolver);
+        cache.getPolicies(GROUP2, subGroup, resolver);
+
+        cache.invalidate(GROUP1);
+
+        cache.getPolicies(GROUP1, subGroup, resolver);
+        assertThat(resolveCount.get()).isEqualTo(3);
+
+        // other group still cached
+        cache.getPolicies(GROUP2, subGroup, resolver);
+        assertThat(resolveCount.get()).isEqualTo(3);
+
+        cache.invalidateAll();
+        cache.getPolicies(GROUP2, subGroup, resolver);
+        assertThat(resolveCount.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testInvalidateWhileResolving() {
+        PdpSubGroup subGroup = makeSubGroup("policy-a");
+
+        // invalidated while the policies are being resolved - should not be cached
+        cache.getPolicies(GROUP1, subGroup, sub -> {
+            cache.invalidate(GROUP1);
+            return resolver.apply(sub);
+        });
+
+        cache.getPolicies(GROUP1, subGroup, resolver);
+        assertThat(resolveCount.get()).isEqualTo(2);
+    }
+
+    private PdpSubGroup makeSubGroup(String... policyNames) {
+        var subGroup = new PdpSubGroup();
+        subGroup.setPdpType(PDP_TYPE);
+
+        List<ToscaConceptIdentifier> policies = new ArrayList<>();
+        for (String name : policyNames) {
+            policies.add(new ToscaConceptIdentifier(name, VERSION));
+        }
+        subGroup.setPolicies(policies);
+
+        return subGroup;
+    }
+
+    private ToscaPolicy makePolicy(ToscaConceptIdentifier ident) {
+        var policy = new ToscaPolicy();
+        policy.setName(ident.getName());
+        policy.setVersion(ident.getVersion());
+        return policy;
+    }
+}
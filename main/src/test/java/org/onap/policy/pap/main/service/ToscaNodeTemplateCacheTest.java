@@ -0,0 +1,178 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
+import org.onap.policy.pap.main.parameters.CommonTestData;
+
+class ToscaNodeTemplateCacheTest {
+    private static final String VERSION = "1.0.0";
+    private static final PfConceptKey KEY1 = new PfConceptKey("metadata-1", VERSION);
+    private static final PfConceptKey KEY2 = new PfConceptKey("metadata-2", VERSION);
+    private static final PfConceptKey KEY3 = new PfConceptKey("metadata-3", VERSION);
+    private static final int MAX_ENTRIES = 2;
+    private static final long EXPIRE_MS = 1000L;
+
+    private MeterRegistry meterRegistry;
+    private long currentTimeMs;
+    private int loadCount;
+    private Function<PfConceptKey, ToscaNodeTemplate> loader;
+    private ToscaNodeTemplateCache cache;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        currentTimeMs = 10000L;
+        loadCount = 0;
+
+        loader = key -> {
+            ++loadCount;
+            var nodeTemplate = new ToscaNodeTemplate();
+            nodeTemplate.setName(key.getName());
+            nodeTemplate.setVersion(key.getVersion());
+            nodeTemplate.setMetadata(new HashMap<>());
+            nodeTemplate.getMetadata().put("model", key.getName());
+            return nodeTemplate;
+        };
+
+        cache = new MyCache();
+    }
+
+    @Test
+    void testGet() {
+        assertThat(cache.get(KEY1, loader).getName()).isEqualTo(KEY1.getName());
+        assertThat(cache.get(KEY1, loader).getName()).isEqualTo(KEY1.getName());
+        assertThat(cache.get(KEY2, loader).getName()).isEqualTo(KEY2.getName());
+        assertThat(cache.get(KEY1, loader).getName()).isEqualTo(KEY1.getName());
+
+        assertThat(loadCount).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+
+        assertThat(getCount("hit")).isEqualTo(2.0);
+        assertThat(getCount("miss")).isEqualTo(2.0);
+        assertThat(meterRegistry.get("pap_node_template_cache_size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void testGetReturnsCopies() {
+        cache.get(KEY1, loader).getMetadata().put("extra", "value");
+        assertThat(cache.get(KEY1, loader).getMetadata()).doesNotContainKey("extra");
+    }
+
+    @Test
+    void testGetExpired() {
+        cache.get(KEY1, loader);
+
+        currentTimeMs += EXPIRE_MS - 1;
+        cache.get(KEY1, loader);
+        assertThat(loadCount).isEqualTo(1);
+
+        currentTimeMs += 1;
+        cache.get(KEY1, loader);
+        assertThat(loadCount).isEqualTo(2);
+    }
+
+    @Test
+    void testGetEvictsLeastRecentlyUsed() {
+        cache.get(KEY1, loader);
+        cache.get(KEY2, loader);
+
+        // KEY1 is now the most recently used
+        cache.get(KEY1, loader);
+
+        cache.get(KEY3, loader);
+        assertThat(cache.size()).isEqualTo(MAX_ENTRIES);
+        assertThat(loadCount).isEqualTo(3);
+
+        cache.get(KEY1, loader);
+        assertThat(loadCount).isEqualTo(3);
+
+        cache.get(KEY2, loader);
+        assertThat(loadCount).isEqualTo(4);
+    }
+
+    @Test
+    void testGetLoaderException() {
+        Function<PfConceptKey, ToscaNodeTemplate> failingLoader = key -> {
+            throw new IllegalStateException("expected exception");
+        };
+
+        assertThatIllegalStateException().isThrownBy(() -> cache.get(KEY1, failingLoader));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testClear() {
+        cache.get(KEY1, loader);
+        cache.clear();
+        assertThat(cache.size()).isZero();
+
+        cache.get(KEY1, loader);
+        assertThat(loadCount).isEqualTo(2);
+
+        // cleared while loading - should not be cached
+        cache.clear();
+        cache.get(KEY1, key -> {
+            cache.clear();
+            return loader.apply(key);
+        });
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testConstructorFromParameters() {
+        var params = new CommonTestData().getPapParameterGroup(1);
+        params.getPdpParameters().setNodeTemplateCacheMaxEntries(1);
+
+        cache = new ToscaNodeTemplateCache(new SimpleMeterRegistry(), params);
+        cache.get(KEY1, loader);
+        cache.get(KEY2, loader);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private double getCount(String result) {
+        return meterRegistry.get("pap_node_template_cache_gets").tag("result", result).counter().count();
+    }
+
+    private class MyCache extends ToscaNodeTemplateCache {
+        public MyCache() {
+            super(meterRegistry, MAX_ENTRIES, EXPIRE_MS);
+        }
+
+        @Override
+        protected long currentTimeMs() {
+            return currentTimeMs;
+        }
+    }
+}
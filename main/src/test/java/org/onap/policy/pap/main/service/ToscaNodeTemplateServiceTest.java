@@ -24,11 +24,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -51,7 +51,6 @@ class ToscaNodeTemplateServiceTest {
     @Mock
     private ToscaNodeTemplateRepository nodeTemplateRepository;
 
-    @InjectMocks
     private ToscaNodeTemplateService nodeTemplateService;
 
     private ToscaNodeTemplate nodeTemplate = new ToscaNodeTemplate();
@@ -66,6 +65,8 @@ class ToscaNodeTemplateServiceTest {
     @BeforeEach
     void setup() throws CoderException {
         autoCloseable = MockitoAnnotations.openMocks(this);
+        nodeTemplateService = new ToscaNodeTemplateService(nodeTemplateRepository,
+            new ToscaNodeTemplateCache(new SimpleMeterRegistry(), 10, 60000L));
         coder.decode(ResourceUtils.getResourceAsString("e2e/policyMetadataSet.yaml"),
                 ToscaServiceTemplate.class).getToscaTopologyTemplate().getNodeTemplates()
             .forEach((key, value) -> nodeTemplate = value);
@@ -92,4 +93,18 @@ class ToscaNodeTemplateServiceTest {
 
     }
 
+    @Test
+    void testGetToscaNodeTemplateCached() {
+        for (var count = 0; count < 5; ++count) {
+            assertThat(nodeTemplateService.getToscaNodeTemplate(NODE_TEMPLATE_NAME, NODE_TEMPLATE_VERSION)
+                .getMetadata()).containsEntry("policyModel", nodeTemplate.getMetadata().get("policyModel"));
+        }
+
+        Mockito.verify(nodeTemplateRepository, Mockito.times(1)).findById(Mockito.any());
+
+        // should be read again once the cache is cleared
+        nodeTemplateService.clearCache();
+        nodeTemplateService.getToscaNodeTemplate(NODE_TEMPLATE_NAME, NODE_TEMPLATE_VERSION);
+        Mockito.verify(nodeTemplateRepository, Mockito.times(2)).findById(Mockito.any());
+    }
 }
@@ -46,7 +46,13 @@ import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTypedEntityFilter;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.pap.main.parameters.CommonTestData;
+import org.onap.policy.pap.main.repository.ToscaPolicyRepository;
+import org.onap.policy.pap.main.repository.ToscaPolicyTypeRepository;
 import org.onap.policy.pap.main.repository.ToscaServiceTemplateRepository;
 
 class ToscaServiceTemplateServiceTest {
@@ -59,6 +65,9 @@ class ToscaServiceTemplateServiceTest {
 
     private static final String NAME = "name";
 
+    private static final String POLICY_NAME = "onap.restart.tca";
+    private static final String TCA_POLICY_TYPE = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+
     private static final String INVALID_VERSION_ERR_MSG =
         "parameter \"version\": value \"version\", does not match regular expression \"" + PfKey.VERSION_REGEXP + "\"";
 
@@ -68,6 +77,12 @@ class ToscaServiceTemplateServiceTest {
     @Mock
     private ToscaServiceTemplateRepository toscaRepository;
 
+    @Mock
+    private ToscaPolicyRepository policyRepository;
+
+    @Mock
+    private ToscaPolicyTypeRepository policyTypeRepository;
+
     @InjectMocks
     private ToscaServiceTemplateService toscaService;
 
@@ -76,6 +91,10 @@ class ToscaServiceTemplateServiceTest {
 
     private ToscaNodeTemplate nodeTemplate;
 
+    private long policyCount;
+
+    private long policyTypeCount;
+
     private final StandardCoder coder = new StandardYamlCoder();
 
     AutoCloseable autoCloseable;
@@ -104,10 +123,33 @@ class ToscaServiceTemplateServiceTest {
                 "metadataSetVersion", NODE_TEMPLATE_VERSION)));
         ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate(toscaPolicyType);
         serviceTemplate.setToscaTopologyTemplate(toscaPolicy.getToscaTopologyTemplate());
+        JpaToscaServiceTemplate jpaServiceTemplate = new JpaToscaServiceTemplate(serviceTemplate);
         Mockito
             .when(toscaRepository.findById(
                 new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION)))
-            .thenReturn(Optional.of(new JpaToscaServiceTemplate(serviceTemplate)));
+            .thenReturn(Optional.of(jpaServiceTemplate));
+
+        Map<PfConceptKey, JpaToscaPolicy> policies =
+            jpaServiceTemplate.getTopologyTemplate().getPolicies().getConceptMap();
+        Mockito.when(policyRepository.findById(Mockito.any()))
+            .thenAnswer(args -> Optional.ofNullable(policies.get(args.getArgument(0))));
+        Mockito.when(policyRepository.findByKeyName(Mockito.any())).thenAnswer(
+            args -> policies.values().stream().filter(policy -> policy.getKey().getName().equals(args.getArgument(0)))
+                .toList());
+        Mockito.when(policyRepository.findVersions(Mockito.any(), Mockito.any())).thenAnswer(
+            args -> policies.values().stream().filter(policy -> policy.getKey().getName().equals(args.getArgument(0)))
+                .map(policy -> policy.getKey().getVersion())
+                .filter(version -> version.startsWith(args.getArgument(1))).toList());
+
+        Map<PfConceptKey, JpaToscaPolicyType> policyTypes = jpaServiceTemplate.getPolicyTypes().getConceptMap();
+        policyCount = policies.size();
+        policyTypeCount = policyTypes.size();
+
+        Mockito.when(policyTypeRepository.findById(Mockito.any()))
+            .thenAnswer(args -> Optional.ofNullable(policyTypes.get(args.getArgument(0))));
+        Mockito.when(policyTypeRepository.findByKeyName(Mockito.any())).thenAnswer(
+            args -> policyTypes.values().stream().filter(type -> type.getKey().getName().equals(args.getArgument(0)))
+                .toList());
 
         Mockito
             .when(nodeTemplateService.getToscaNodeTemplate(NODE_TEMPLATE_NAME, NODE_TEMPLATE_VERSION))
@@ -149,6 +191,27 @@ class ToscaServiceTemplateServiceTest {
             .hasMessage("node template for onap.restart.tca:1.0.0 do not exist in the database");
     }
 
+    @Test
+    void testWithMetadataSet() {
+        List<ToscaPolicy> policies = toscaService.getPolicyList("onap.restart.tca", VERSION_1, false);
+        assertThat(policies.get(0).getMetadata()).doesNotContainKey("metadataSet");
+
+        List<ToscaPolicy> populated = toscaService.withMetadataSet(policies);
+        assertThat(populated.get(0).getMetadata()).containsEntry("metadataSet", nodeTemplate.getMetadata());
+
+        // the originals are unchanged, thus the node template is consulted again next time
+        assertThat(policies.get(0).getMetadata()).doesNotContainKey("metadataSet");
+
+        var changed = new ToscaNodeTemplate(nodeTemplate);
+        changed.setMetadata(Map.of("changed", "value"));
+        Mockito
+            .when(nodeTemplateService.getToscaNodeTemplate(NODE_TEMPLATE_NAME, NODE_TEMPLATE_VERSION))
+            .thenReturn(changed);
+
+        assertThat(toscaService.withMetadataSet(policies).get(0).getMetadata()).containsEntry("metadataSet",
+            changed.getMetadata());
+    }
+
     @Test
     void testGetPolicyTypeList() throws PfModelException {
         assertThatThrownBy(() -> toscaService.getPolicyTypeList(NAME, VERSION))
@@ -159,4 +222,90 @@ class ToscaServiceTemplateServiceTest {
         assertThat(toscaService.getPolicyTypeList("onap.policies.monitoring.cdap.tca.hi.lo.app", VERSION_1)).hasSize(2);
         assertThat(toscaService.getPolicyTypeList("onap.policies.Monitoring", VERSION_1)).hasSize(1);
     }
+
+    @Test
+    void testGetFilteredPolicyList() throws PfModelException {
+        // latest version
+        assertThat(toscaService.getFilteredPolicyList(ToscaTypedEntityFilter.<ToscaPolicy>builder()
+            .name(POLICY_NAME).version(ToscaTypedEntityFilter.LATEST_VERSION).build())).hasSize(1);
+
+        // latest version matching a prefix
+        assertThat(toscaService.getFilteredPolicyList(ToscaTypedEntityFilter.<ToscaPolicy>builder()
+            .name(POLICY_NAME).versionPrefix("1.").version(ToscaTypedEntityFilter.LATEST_VERSION).build()))
+            .hasSize(1);
+        assertThat(toscaService.getFilteredPolicyList(ToscaTypedEntityFilter.<ToscaPolicy>builder()
+            .name(POLICY_NAME).versionPrefix("2.").version(ToscaTypedEntityFilter.LATEST_VERSION).build()))
+            .isEmpty();
+
+        // the latest version is selected by the query, thus the versions are not fetched
+        Mockito.verify(policyRepository, Mockito.never()).findByKeyName(Mockito.any());
+
+        // exact version
+        assertThat(toscaService.getFilteredPolicyList(ToscaTypedEntityFilter.<ToscaPolicy>builder()
+            .name(POLICY_NAME).version(VERSION_1).build())).hasSize(1);
+    }
+
+    @Test
+    void testSnapshot() throws PfModelException {
+        Mockito.when(policyRepository.count()).thenReturn(policyCount);
+        Mockito.when(policyTypeRepository.count()).thenReturn(policyTypeCount);
+
+        // named lookups should go directly to the DB, without loading the snapshot
+        assertThat(toscaService.getPolicyList(POLICY_NAME, VERSION_1)).hasSize(1);
+        assertThat(toscaService.getPolicyList(POLICY_NAME, null)).hasSize(1);
+        assertThat(toscaService.getPolicyTypeList(TCA_POLICY_TYPE, VERSION_1)).hasSize(2);
+        assertThat(toscaService.getPolicyTypeList(TCA_POLICY_TYPE, null)).hasSize(2);
+        Mockito.verify(toscaRepository, Mockito.never()).findById(Mockito.any());
+
+        // other lookups should load the snapshot
+        List<ToscaPolicy> policies = toscaService.getPolicyList(null, null);
+        assertThat(policies).hasSize(1);
+        assertThat(toscaService.getPolicyTypeList(null, null)).hasSize(2);
+        Mockito.verify(toscaRepository, Mockito.times(1)).findById(Mockito.any());
+
+        // changes to the returned policies should not affect the snapshot
+        policies.get(0).getMetadata().put("extra", "value");
+        assertThat(toscaService.getPolicyList(null, null).get(0).getMetadata()).doesNotContainKey("extra");
+
+        // named lookups should not validate the snapshot
+        Mockito.clearInvocations(policyRepository, policyTypeRepository);
+        assertThat(toscaService.getPolicyList(POLICY_NAME, VERSION_1)).hasSize(1);
+        assertThat(toscaService.getPolicyTypeList(TCA_POLICY_TYPE, VERSION_1)).hasSize(2);
+        Mockito.verify(policyRepository, Mockito.never()).count();
+        Mockito.verify(policyTypeRepository, Mockito.never()).count();
+
+        // policy count changed - should reload
+        Mockito.when(policyRepository.count()).thenReturn(policyCount + 1);
+        assertThat(toscaService.getPolicyList(null, null)).hasSize(1);
+        Mockito.verify(toscaRepository, Mockito.times(2)).findById(Mockito.any());
+
+        // counts back in sync with the reloaded snapshot - should be reused
+        Mockito.when(policyRepository.count()).thenReturn(policyCount);
+        assertThat(toscaService.getPolicyList(null, null)).hasSize(1);
+        Mockito.verify(toscaRepository, Mockito.times(2)).findById(Mockito.any());
+
+        // policy type count changed - should reload
+        Mockito.when(policyTypeRepository.count()).thenReturn(policyTypeCount - 1);
+        assertThat(toscaService.getPolicyTypeList(null, null)).hasSize(2);
+        Mockito.verify(toscaRepository, Mockito.times(3)).findById(Mockito.any());
+
+        Mockito.when(policyTypeRepository.count()).thenReturn(policyTypeCount);
+        assertThat(toscaService.getPolicyTypeList(null, null)).hasSize(2);
+        Mockito.verify(toscaRepository, Mockito.times(3)).findById(Mockito.any());
+
+        // snapshot too old - should reload, even though nothing changed
+        var params = new CommonTestData().getPapParameterGroup(1);
+        params.getPdpParameters().setServiceTemplateSnapshotMaxAgeMs(-1L);
+        toscaService.setParameterGroup(params);
+        assertThat(toscaService.getPolicyTypeList(null, null)).hasSize(2);
+        Mockito.verify(toscaRepository, Mockito.times(4)).findById(Mockito.any());
+    }
+
+    @Test
+    void testSnapshotNoServiceTemplate() throws PfModelException {
+        Mockito.when(toscaRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+
+        assertThat(toscaService.getPolicyList(null, null)).isEmpty();
+        assertThat(toscaService.getPolicyTypeList(null, null)).isEmpty();
+    }
 }
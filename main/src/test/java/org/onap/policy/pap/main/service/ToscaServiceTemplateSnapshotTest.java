@@ -0,0 +1,167 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.pap.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaEntity;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+class ToscaServiceTemplateSnapshotTest {
+    private static final String POLICY_NAME = "onap.restart.tca";
+    private static final String MONITORING_TYPE = "onap.policies.Monitoring";
+    private static final String TCA_TYPE = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String DERIVED_TYPE = "onap.policies.monitoring.Derived";
+    private static final String ORPHAN_TYPE = "onap.policies.Orphan";
+    private static final String VERSION_1 = "1.0.0";
+    private static final long LOADED_MS = 1000L;
+
+    private final StandardCoder coder = new StandardYamlCoder();
+
+    private JpaToscaServiceTemplate jpaServiceTemplate;
+    private ToscaServiceTemplateSnapshot snapshot;
+
+    /**
+     * Sets up.
+     *
+     * @throws CoderException if the service template cannot be decoded
+     */
+    @BeforeEach
+    void setUp() throws CoderException {
+        ToscaServiceTemplate serviceTemplate =
+            coder.decode(ResourceUtils.getResourceAsString("e2e/monitoring.policy-type.yaml"),
+                ToscaServiceTemplate.class);
+        ToscaServiceTemplate policyTemplate =
+            coder.decode(ResourceUtils.getResourceAsString("e2e/monitoring.policy.yaml"),
+                ToscaServiceTemplate.class);
+        serviceTemplate.setToscaTopologyTemplate(policyTemplate.getToscaTopologyTemplate());
+
+        // add more versions of the policy, out of order
+        ToscaPolicy policy = serviceTemplate.getToscaTopologyTemplate().getPolicies().get(0).get(POLICY_NAME);
+        List<Map<String, ToscaPolicy>> policies = new ArrayList<>();
+        for (String version : List.of("10.0.0", VERSION_1, "2.0.0")) {
+            var newPolicy = new ToscaPolicy(policy);
+            newPolicy.setVersion(version);
+            policies.add(Map.of(POLICY_NAME, newPolicy));
+        }
+        serviceTemplate.getToscaTopologyTemplate().setPolicies(policies);
+
+        serviceTemplate.getPolicyTypes().put(DERIVED_TYPE, makePolicyType(DERIVED_TYPE, TCA_TYPE));
+        serviceTemplate.getPolicyTypes().put(ORPHAN_TYPE, makePolicyType(ORPHAN_TYPE, "onap.policies.Unknown"));
+
+        jpaServiceTemplate = new JpaToscaServiceTemplate(serviceTemplate);
+        snapshot = new ToscaServiceTemplateSnapshot(jpaServiceTemplate, LOADED_MS);
+    }
+
+    @Test
+    void testMatches() {
+        long policyCount = jpaServiceTemplate.getTopologyTemplate().getPolicies().getConceptMap().size();
+        long policyTypeCount = jpaServiceTemplate.getPolicyTypes().getConceptMap().size();
+
+        assertThat(snapshot.matches(policyCount, policyTypeCount, LOADED_MS)).isTrue();
+        assertThat(snapshot.matches(policyCount, policyTypeCount, LOADED_MS - 1)).isTrue();
+
+        // too old
+        assertThat(snapshot.matches(policyCount, policyTypeCount, LOADED_MS + 1)).isFalse();
+
+        // counts differ
+        assertThat(snapshot.matches(policyCount - 1, policyTypeCount, LOADED_MS)).isFalse();
+        assertThat(snapshot.matches(policyCount, policyTypeCount + 1, LOADED_MS)).isFalse();
+    }
+
+    @Test
+    void testGetPolicies() {
+        assertThat(versionsOf(snapshot.getPolicies(POLICY_NAME, null))).containsExactly(VERSION_1, "2.0.0", "10.0.0");
+        assertThat(versionsOf(snapshot.getPolicies(null, null))).containsExactly(VERSION_1, "2.0.0", "10.0.0");
+        assertThat(versionsOf(snapshot.getPolicies(POLICY_NAME, "2.0.0"))).containsExactly("2.0.0");
+        assertThat(versionsOf(snapshot.getPolicies(null, "2.0.0"))).containsExactly("2.0.0");
+
+        assertThat(snapshot.getPolicies(POLICY_NAME, "3.0.0")).isEmpty();
+        assertThat(snapshot.getPolicies("unknown", VERSION_1)).isEmpty();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> snapshot.getPolicies(POLICY_NAME, "bad-version"));
+    }
+
+    @Test
+    void testGetPoliciesReturnsCopies() {
+        ToscaPolicy policy = snapshot.getPolicies(POLICY_NAME, VERSION_1).get(0);
+        policy.getMetadata().put("extra", "value");
+
+        assertThat(snapshot.getPolicies(POLICY_NAME, VERSION_1).get(0).getMetadata()).doesNotContainKey("extra");
+    }
+
+    @Test
+    void testGetPolicyTypes() {
+        assertThat(namesOf(snapshot.getPolicyTypes(MONITORING_TYPE, VERSION_1))).containsExactly(MONITORING_TYPE);
+        assertThat(namesOf(snapshot.getPolicyTypes(TCA_TYPE, VERSION_1))).containsExactly(MONITORING_TYPE,
+            TCA_TYPE);
+        assertThat(namesOf(snapshot.getPolicyTypes(DERIVED_TYPE, null))).containsExactly(MONITORING_TYPE,
+            DERIVED_TYPE, TCA_TYPE);
+
+        // parent is not in the template
+        assertThat(namesOf(snapshot.getPolicyTypes(ORPHAN_TYPE, VERSION_1))).containsExactly(ORPHAN_TYPE);
+
+        // ancestors appear only once
+        assertThat(namesOf(snapshot.getPolicyTypes(null, null))).containsExactly(MONITORING_TYPE, ORPHAN_TYPE,
+            DERIVED_TYPE, TCA_TYPE);
+
+        assertThat(snapshot.getPolicyTypes("unknown", VERSION_1)).isEmpty();
+    }
+
+    @Test
+    void testVersionOrder() {
+        assertThat(List.of("10.0.0", "2.0.0", "1.10.0", "1.2.0", "1.2.10", "1.2.3").stream()
+            .sorted(ToscaServiceTemplateSnapshot.VERSION_ORDER).toList())
+            .containsExactly("1.2.0", "1.2.3", "1.2.10", "1.10.0", "2.0.0", "10.0.0");
+
+        // not numeric - compared as strings
+        assertThat(ToscaServiceTemplateSnapshot.VERSION_ORDER.compare("abc", "abd")).isNegative();
+    }
+
+    private ToscaPolicyType makePolicyType(String name, String parentName) {
+        var policyType = new ToscaPolicyType();
+        policyType.setName(name);
+        policyType.setVersion(VERSION_1);
+        policyType.setDerivedFrom(parentName);
+        return policyType;
+    }
+
+    private List<String> versionsOf(List<? extends ToscaEntity> entities) {
+        return entities.stream().map(ToscaEntity::getVersion).toList();
+    }
+
+    private List<String> namesOf(List<? extends ToscaEntity> entities) {
+        return entities.stream().map(ToscaEntity::getName).toList();
+    }
+}